@@ -1,10 +1,23 @@
+import graph.batch.BatchAnalyzer;
+import graph.batch.BatchReport;
+import graph.io.ResultWriter;
 import graph.scc.*;
 import graph.topo.*;
 import graph.dagsp.*;
 import graph.model.Graph;
 import graph.metrics.Metrics;
+import graph.metrics.PhaseStats;
+import graph.shard.ShardedAnalyzer;
+import graph.shard.ShardedResult;
+import graph.util.AnalysisBudget;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
 
 public class Main {
@@ -12,6 +25,12 @@ public class Main {
         try {
             System.out.println("=== Smart City Scheduling System ===");
 
+            String batchInput = optionValue(args, "--batch", null);
+            if (batchInput != null) {
+                runBatch(args, batchInput);
+                return;
+            }
+
             // Step 1: Generate datasets
             System.out.println("\nStep 1: Generating datasets...");
             boolean datasetsGenerated = generateDatasetsSafely();
@@ -27,8 +46,37 @@ public class Main {
             System.out.println("✓ Graph loaded: " + graph.getVertexCount() + " vertices, " +
                     graph.getEdges().size() + " edges");
 
-            // Step 3: Run analysis
-            runCompleteAnalysis(graph);
+            AnalysisBudget budget = analysisBudget(optionValue(args, "--deadline-ms", null));
+            String shards = optionValue(args, "--shards", null);
+            if (shards != null) {
+                for (String option : new String[]{"--scc", "--reduce", "--order"}) {
+                    if (hasFlag(args, option)) {
+                        throw new IllegalArgumentException(option + " cannot be combined with --shards");
+                    }
+                }
+            }
+
+            // Step 3: Run analysis, streaming full results to a file when --out/--format is given
+            Map<String, Metrics> stageMetrics = new LinkedHashMap<>();
+            try (ResultWriter writer = openResultWriter(args)) {
+                if (shards != null) {
+                    runSharded(graph, Integer.parseInt(shards), writer, budget, stageMetrics);
+                } else {
+                    SCCAlgorithm sccAlgorithm = sccAlgorithm(optionValue(args, "--scc", "tarjan")).withBudget(budget);
+                    runCompleteAnalysis(graph, writer, sccAlgorithm, hasFlag(args, "--reduce"),
+                            optionValue(args, "--order", "fifo"), budget, stageMetrics);
+                }
+                if (writer != null) {
+                    System.out.println("✓ Results written: " + writer.getBytesWritten() + " bytes");
+                }
+            }
+
+            // Machine-readable per-stage metrics, including the phase tree
+            String metricsOut = optionValue(args, "--metrics-out", null);
+            if (metricsOut != null) {
+                writeMetricsJson(stageMetrics, Paths.get(metricsOut));
+                System.out.println("✓ Metrics written to " + metricsOut);
+            }
 
         } catch (Exception e) {
             System.err.println("Fatal error: " + e.getMessage());
@@ -36,6 +84,61 @@ public class Main {
         }
     }
 
+    // Usage: --batch <dir|manifest> [--threads N] [--io-threads N] [--out results.jsonl]
+    private static void runBatch(String[] args, String batchInput) throws Exception {
+        int threads = Integer.parseInt(optionValue(args, "--threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int ioThreads = Integer.parseInt(optionValue(args, "--io-threads",
+                String.valueOf(Math.max(1, threads / 2))));
+        Path output = Paths.get(optionValue(args, "--out", "batch_results.jsonl"));
+
+        List<Path> files = BatchAnalyzer.resolveInputs(Paths.get(batchInput));
+        System.out.println("Batch mode: " + files.size() + " graphs, " + threads + " compute / "
+                + ioThreads + " I/O threads -> " + output);
+
+        BatchReport report = new BatchAnalyzer(threads, ioThreads).run(files, output);
+        System.out.println("✓ " + report);
+    }
+
+    // Usage: [--format json|csv|binary] [--out results.json]
+    private static ResultWriter openResultWriter(String[] args) throws IOException {
+        String format = optionValue(args, "--format", null);
+        String out = optionValue(args, "--out", null);
+        if (format == null && out == null) {
+            return null;
+        }
+        ResultWriter.Format resultFormat = ResultWriter.Format.fromName(format != null ? format : "json");
+        if (out == null) {
+            out = "results." + (resultFormat == ResultWriter.Format.BINARY ? "bin" : resultFormat.name().toLowerCase(Locale.ROOT));
+        }
+        System.out.println("Writing " + resultFormat + " results to " + out);
+        return ResultWriter.open(resultFormat, Paths.get(out));
+    }
+
+    private static void writeMetricsJson(Map<String, Metrics> stageMetrics, Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Metrics> stage : stageMetrics.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(stage.getKey()).append("\":").append(stage.getValue().toJson());
+        }
+        Files.write(file, json.append("}\n").toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String optionValue(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private static boolean hasFlag(String[] args, String name) {
+        return Arrays.asList(args).contains(name);
+    }
+
     private static boolean generateDatasetsSafely() {
         try {
             util.DatasetGenerator.generateAllDatasets();
@@ -107,26 +210,57 @@ public class Main {
         return graph;
     }
 
-    private static void runCompleteAnalysis(Graph graph) {
+    static void runCompleteAnalysis(Graph graph, ResultWriter writer, SCCAlgorithm sccAlgorithm,
+                                            boolean reduce, String order, AnalysisBudget budget,
+                                            Map<String, Metrics> stageMetrics) {
         try {
             // 1. SCC Detection
             System.out.println("\n" + "=".repeat(50));
             System.out.println("1. STRONGLY CONNECTED COMPONENTS ANALYSIS");
             System.out.println("=".repeat(50));
 
-            TarjanSCC sccFinder = new TarjanSCC();
-            SCCResult sccResult = sccFinder.findSCCs(graph);
+            // Undirected graphs take the union-find fast path; their SCCs are the connected components
+            SCCResult sccResult = graph.isDirected()
+                    ? sccAlgorithm.findSCCs(graph)
+                    : new ConnectedComponents().withBudget(budget).findComponents(graph);
 
+            stageMetrics.put("scc", sccResult.getMetrics());
             List<List<Integer>> sccs = sccResult.getSccs();
-            System.out.println("✓ Found " + sccs.size() + " SCCs:");
-            for (int i = 0; i < sccs.size(); i++) {
-                System.out.println("  Component " + i + ": " + sccs.get(i) + " (size: " + sccs.get(i).size() + ")");
+            if (writer != null) {
+                writer.writeSCCs(sccResult);
+                System.out.println("✓ Found " + sccs.size() + " SCCs");
+            } else {
+                System.out.println("✓ Found " + sccs.size() + " SCCs:");
+                for (int i = 0; i < sccs.size(); i++) {
+                    System.out.println("  Component " + i + ": " + sccs.get(i) + " (size: " + sccs.get(i).size() + ")");
+                }
+            }
+
+            if (!sccResult.isComplete()) {
+                System.out.println("Stopped early (" + sccResult.getStatus()
+                        + "): only complete components are listed");
+                printPerformanceMetrics(stageMetrics);
+                return;
             }
 
             Graph condensationGraph = sccResult.getCondensationGraph();
             System.out.println("✓ Condensation graph: " + condensationGraph.getVertexCount() +
                     " nodes, " + condensationGraph.getEdges().size() + " edges");
 
+            // Optional: drop implied edges while keeping critical-path lengths intact. The reduction keeps
+            // longest paths only, so shortest paths still run on the full condensation.
+            Graph fullCondensation = condensationGraph;
+            if (reduce && condensationGraph.getVertexCount() > 0) {
+                ReductionResult reduction = new TransitiveReduction().withBudget(budget).reduce(condensationGraph);
+                condensationGraph = reduction.getReducedGraph();
+                System.out.printf("✓ Transitive reduction: removed %d of %d edges (%.1f%%)%n",
+                        reduction.getRemovedEdgeCount(), reduction.getOriginalEdgeCount(),
+                        reduction.getReductionRatio() * 100);
+                if (!reduction.isComplete()) {
+                    System.out.println("Stopped early (" + reduction.getStatus() + "): some implied edges remain");
+                }
+            }
+
             // 2. Topological Sort
             System.out.println("\n" + "=".repeat(50));
             System.out.println("2.TOPOLOGICAL ORDERING");
@@ -134,17 +268,28 @@ public class Main {
 
             if (condensationGraph.getVertexCount() > 0) {
                 try {
-                    KahnsAlgorithm topoSort = new KahnsAlgorithm();
-                    TopoResult topoResult = topoSort.topologicalSort(condensationGraph);
+                    TopoResult topoResult = topologicalSort(condensationGraph, order, budget);
+                    stageMetrics.put("topo", topoResult.getMetrics());
 
-                    System.out.println("✓Topological order: " + topoResult.getTopologicalOrder());
+                    if (writer != null) {
+                        writer.writeTopologicalOrder(topoResult);
+                        System.out.println("✓Topological order of " + topoResult.getTopologicalOrder().size() + " components");
+                    } else {
+                        System.out.println("✓Topological order: " + topoResult.getTopologicalOrder());
+                    }
+                    if (!topoResult.isComplete()) {
+                        System.out.println("Stopped early (" + topoResult.getStatus() + "): the order is a prefix");
+                        printPerformanceMetrics(stageMetrics);
+                        return;
+                    }
 
                     // 3. Path Analysis
                     System.out.println("\n" + "=".repeat(50));
                     System.out.println("3. PATH ANALYSIS");
                     System.out.println("=".repeat(50));
 
-                    runPathAnalysis(condensationGraph, topoResult, sccs, graph.getSource());
+                    runPathAnalysis(fullCondensation, condensationGraph, topoResult, sccs, graph.getSource(),
+                            writer, budget, stageMetrics);
 
                 } catch (IllegalArgumentException e) {
                     System.out.println("Cannot perform topological sort: " + e.getMessage());
@@ -155,7 +300,7 @@ public class Main {
             }
 
             // Print performance metrics
-            printPerformanceMetrics(sccResult.getMetrics());
+            printPerformanceMetrics(stageMetrics);
 
             System.out.println("\n" + "=".repeat(50));
             System.out.println("ANALYSIS COMPLETED SUCCESSFULLY!");
@@ -167,9 +312,78 @@ public class Main {
         }
     }
 
-    private static void runPathAnalysis(Graph condensationGraph, TopoResult topoResult,
-                                        List<List<Integer>> sccs, int originalSource) {
-        DAGShortestPath pathFinder = new DAGShortestPath();
+    // Usage: --shards N (one worker JVM per vertex range, merged by this process; no shortest paths)
+    private static void runSharded(Graph graph, int shards, ResultWriter writer, AnalysisBudget budget,
+                                   Map<String, Metrics> stageMetrics) throws IOException, InterruptedException {
+        Path workDir = Files.createTempDirectory("shards");
+        try {
+            ShardedResult result = ShardedAnalyzer.processes(shards, workDir).withBudget(budget).analyze(graph);
+            stageMetrics.put("sharded", result.getMetrics());
+            if (writer != null) {
+                writer.writeSCCs(result.getSccResult());
+                writer.writeTopologicalOrder(result.getTopoResult());
+                writer.writeCriticalPath(result.getCriticalPath());
+            }
+            System.out.println("\n" + "=".repeat(50));
+            System.out.println("SHARDED ANALYSIS (" + result.getShardCount() + " worker processes)");
+            System.out.println("=".repeat(50));
+            System.out.println("✓ Found " + result.getSccResult().getSccs().size() + " SCCs");
+            System.out.println("✓ Topological order: " + result.getTopoResult().getTopologicalOrder());
+            System.out.println("✓ Critical path: " + result.getCriticalPath().getCriticalPath()
+                    + " (length " + result.getCriticalPath().getMaxDistance() + ")");
+            System.out.printf("✓ Communication: %d B to workers, %d B back, %d boundary edges%n",
+                    result.getBytesToWorkers(), result.getBytesFromWorkers(), result.getBoundaryEdges());
+            if (!result.isComplete()) {
+                System.out.println("Stopped early (" + budget.getStatus() + "): results are partial");
+            }
+        } finally {
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    // Usage: --scc tarjan|pearce|kosaraju|auto
+    private static SCCAlgorithm sccAlgorithm(String name) {
+        switch (name) {
+            case "tarjan":
+                return new TarjanSCC();
+            case "pearce":
+                return new PearceSCC();
+            case "kosaraju":
+                return new KosarajuSCC();
+            case "auto":
+                return new SCCSelector();
+            default:
+                throw new IllegalArgumentException("Unknown SCC engine '" + name
+                        + "', expected tarjan, pearce, kosaraju or auto");
+        }
+    }
+
+    // Usage: --deadline-ms N (one budget shared by every stage; engines return partial results on expiry)
+    private static AnalysisBudget analysisBudget(String deadlineMillis) {
+        return deadlineMillis == null ? AnalysisBudget.unlimited()
+                : AnalysisBudget.withTimeout(Duration.ofMillis(Long.parseLong(deadlineMillis)));
+    }
+
+    // Usage: --order fifo|lex|critical (ready-queue policy for the emitted order)
+    private static TopoResult topologicalSort(Graph graph, String order, AnalysisBudget budget) {
+        switch (order) {
+            case "lex":
+                return new PriorityTopologicalSort().withBudget(budget).topologicalSort(graph);
+            case "critical":
+                return new PriorityTopologicalSort().withBudget(budget).criticalFirst(graph);
+            case "fifo":
+                return new KahnsAlgorithm().withBudget(budget).topologicalSort(graph);
+            default:
+                throw new IllegalArgumentException("Unknown order '" + order + "', expected fifo, lex or critical");
+        }
+    }
+
+    // The topological order of the reduced graph is valid for the full one: reduction keeps reachability
+    private static void runPathAnalysis(Graph condensationGraph, Graph criticalGraph, TopoResult topoResult,
+                                        List<List<Integer>> sccs, int originalSource,
+                                        ResultWriter writer, AnalysisBudget budget,
+                                        Map<String, Metrics> stageMetrics) throws IOException {
+        DAGShortestPath pathFinder = new DAGShortestPath().withBudget(budget);
 
         // Map original source to component
         int sourceComponent = mapVertexToComponent(originalSource, sccs);
@@ -182,25 +396,37 @@ public class Main {
         );
 
         int[] dist = shortestResult.getDistances();
-        for (int i = 0; i < dist.length; i++) {
-            if (dist[i] != Integer.MAX_VALUE) {
-                System.out.println("  To component " + i + ": " + dist[i]);
-            } else {
-                System.out.println("  To component " + i + ": unreachable");
+        if (writer != null) {
+            writer.writeShortestPaths(shortestResult, sourceComponent);
+            System.out.println("  " + dist.length + " distances written");
+        } else {
+            for (int i = 0; i < dist.length; i++) {
+                if (dist[i] != Integer.MAX_VALUE) {
+                    System.out.println("  To component " + i + ": " + dist[i]);
+                } else {
+                    System.out.println("  To component " + i + ": unreachable");
+                }
             }
         }
 
         // Critical path (longest path)
         System.out.println("CRITICAL PATH ANALYSIS:");
         CriticalPathResult criticalResult = pathFinder.findCriticalPath(
-                condensationGraph, topoResult.getTopologicalOrder()
+                criticalGraph, topoResult.getTopologicalOrder()
         );
 
-        System.out.println("Critical path: " + criticalResult.getCriticalPath());
+        if (writer != null) {
+            writer.writeCriticalPath(criticalResult);
+        } else {
+            System.out.println("Critical path: " + criticalResult.getCriticalPath());
+        }
         System.out.println("Critical path length: " + criticalResult.getMaxDistance());
+        if (!shortestResult.isComplete() || !criticalResult.isComplete()) {
+            System.out.println("Stopped early (" + budget.getStatus() + "): distances are bounds, not exact");
+        }
 
-        // Print path metrics
-        printPathMetrics(shortestResult.getMetrics(), criticalResult.getMetrics());
+        // Both searches ran on the same engine, so they share one Metrics instance
+        stageMetrics.put("paths", shortestResult.getMetrics());
     }
 
     private static int mapVertexToComponent(int vertex, List<List<Integer>> sccs) {
@@ -212,19 +438,28 @@ public class Main {
         return 0; // Default to first component
     }
 
-    private static void printPerformanceMetrics(Metrics sccMetrics) {
+    private static void printPerformanceMetrics(Map<String, Metrics> stageMetrics) {
         System.out.println("\n" + "=".repeat(50));
         System.out.println("PERFORMANCE METRICS");
         System.out.println("=".repeat(50));
-        System.out.println("SCC Detection:");
-        System.out.println("  Time: " + (sccMetrics.getElapsedTime() / 1_000_000.0) + " ms");
-        System.out.println("  Operations: " + sccMetrics.getAllOperationCounts());
+        for (Map.Entry<String, Metrics> stage : stageMetrics.entrySet()) {
+            Metrics metrics = stage.getValue();
+            System.out.println(stage.getKey() + ":");
+            System.out.println("  Time: " + (metrics.getElapsedTime() / 1_000_000.0) + " ms");
+            System.out.println("  Operations: " + metrics.getAllOperationCounts());
+            for (PhaseStats phase : metrics.getPhases()) {
+                printPhase(phase, "  ");
+            }
+        }
     }
 
-    private static void printPathMetrics(Metrics shortestMetrics, Metrics criticalMetrics) {
-        System.out.println("Shortest Path:");
-        System.out.println("  Time: " + (shortestMetrics.getElapsedTime() / 1_000_000.0) + " ms");
-        System.out.println("Critical Path:");
-        System.out.println("  Time: " + (criticalMetrics.getElapsedTime() / 1_000_000.0) + " ms");
+    // Wall vs CPU time tells compute-bound phases from ones stalled on GC or I/O
+    private static void printPhase(PhaseStats phase, String indent) {
+        System.out.printf("%s- %-18s wall %8.3f ms  cpu %8.3f ms  alloc %10d B  gc %d (%d ms)%n",
+                indent, phase.getName(), phase.getWallNanos() / 1_000_000.0, phase.getCpuNanos() / 1_000_000.0,
+                phase.getAllocatedBytes(), phase.getGcCount(), phase.getGcMillis());
+        for (PhaseStats child : phase.getChildren()) {
+            printPhase(child, indent + "  ");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,194 @@
+package graph.batch;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.io.BinaryEdgeFormat;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.ConnectedComponents;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import graph.topo.TopoResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyses many graph files in parallel. Loading runs on a dedicated I/O pool so parsing the
+ * next files overlaps with analysis of earlier ones; per-graph summaries are streamed as JSON
+ * lines in completion order by a single writer thread.
+ */
+public class BatchAnalyzer {
+    private final int computeThreads;
+    private final int ioThreads;
+    private final int maxInFlight;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public BatchAnalyzer(int computeThreads) {
+        this(computeThreads, Math.max(1, computeThreads / 2));
+    }
+
+    public BatchAnalyzer(int computeThreads, int ioThreads) {
+        if (computeThreads < 1 || ioThreads < 1) {
+            throw new IllegalArgumentException("Thread counts must be positive");
+        }
+        this.computeThreads = computeThreads;
+        this.ioThreads = ioThreads;
+        // Bound loaded-but-unanalysed graphs so thousands of files never sit in memory at once
+        this.maxInFlight = 2 * (computeThreads + ioThreads);
+    }
+
+    /**
+     * Expands a directory (all *.json and *.bin files, sorted by name) or a manifest file
+     * (one path per line, relative to the manifest, '#' starts a comment).
+     */
+    public static List<Path> resolveInputs(Path input) throws IOException {
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> files = Files.list(input)) {
+                return files.filter(p -> p.toString().endsWith(".json") || p.toString().endsWith(".bin"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+        Path base = input.toAbsolutePath().getParent();
+        List<Path> files = new ArrayList<>();
+        for (String line : Files.readAllLines(input, StandardCharsets.UTF_8)) {
+            String entry = line.trim();
+            if (!entry.isEmpty() && !entry.startsWith("#")) {
+                files.add(base.resolve(entry));
+            }
+        }
+        return files;
+    }
+
+    public BatchReport run(List<Path> files, Path output) throws IOException, InterruptedException {
+        ExecutorService ioPool = Executors.newFixedThreadPool(ioThreads, named("batch-io"));
+        ExecutorService computePool = Executors.newFixedThreadPool(computeThreads, named("batch-compute"));
+        ExecutorService writerPool = Executors.newSingleThreadExecutor(named("batch-writer"));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger analyzed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong vertices = new AtomicLong();
+        AtomicLong edges = new AtomicLong();
+        List<CompletableFuture<Void>> pending = new ArrayList<>(files.size());
+
+        long start = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (Path file : files) {
+                inFlight.acquire();
+                GraphSummary summary = new GraphSummary(file.toString());
+                CompletableFuture<Void> job = CompletableFuture
+                        .supplyAsync(() -> load(file, summary), ioPool)
+                        .thenAcceptAsync(graph -> analyze(graph, summary), computePool)
+                        .handle((ignored, error) -> {
+                            if (error != null) {
+                                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                                summary.setError(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                                failed.incrementAndGet();
+                            } else {
+                                analyzed.incrementAndGet();
+                                vertices.addAndGet(summary.getVertices());
+                                edges.addAndGet(summary.getEdges());
+                            }
+                            return summary;
+                        })
+                        .thenAcceptAsync(result -> {
+                            try {
+                                writer.write(mapper.writeValueAsString(result));
+                                writer.newLine();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            } finally {
+                                inFlight.release();
+                            }
+                        }, writerPool);
+                pending.add(job);
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        } finally {
+            ioPool.shutdownNow();
+            computePool.shutdownNow();
+            writerPool.shutdownNow();
+        }
+
+        return new BatchReport(analyzed.get(), failed.get(), vertices.get(), edges.get(),
+                System.nanoTime() - start);
+    }
+
+    private Graph load(Path file, GraphSummary summary) {
+        long start = System.nanoTime();
+        try {
+            Graph graph = file.toString().endsWith(".bin") ? readBinary(file) : mapper.readValue(file.toFile(), Graph.class);
+            summary.setLoadMs((System.nanoTime() - start) / 1_000_000.0);
+            return graph;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Graph readBinary(Path file) throws IOException {
+        try (BinaryEdgeFormat.Reader reader = BinaryEdgeFormat.reader(file)) {
+            List<Edge> edges = new ArrayList<>((int) Math.min(reader.getEdgeCount(), Integer.MAX_VALUE - 8));
+            while (reader.next()) {
+                edges.add(new Edge(reader.u(), reader.v(), reader.w()));
+            }
+            return new Graph(reader.getVertexCount(), edges, true);
+        }
+    }
+
+    private static void analyze(Graph graph, GraphSummary summary) {
+        summary.setVertices(graph.getVertexCount());
+        summary.setEdges(graph.getEdges().size());
+
+        SCCResult sccResult = graph.isDirected()
+                ? new TarjanSCC().findSCCs(graph)
+                : new ConnectedComponents(1).findComponents(graph);
+        summary.setSccMs(sccResult.getMetrics().getElapsedTime() / 1_000_000.0);
+        summary.setSccCount(sccResult.getSccs().size());
+        int largest = 0;
+        for (List<Integer> scc : sccResult.getSccs()) {
+            largest = Math.max(largest, scc.size());
+        }
+        summary.setLargestScc(largest);
+
+        Graph condensation = sccResult.getCondensationGraph();
+        summary.setCondensationVertices(condensation.getVertexCount());
+        summary.setCondensationEdges(condensation.getEdges().size());
+        if (condensation.getVertexCount() == 0) {
+            return;
+        }
+
+        TopoResult topoResult = new KahnsAlgorithm().topologicalSort(condensation);
+        summary.setTopoMs(topoResult.getMetrics().getElapsedTime() / 1_000_000.0);
+
+        CriticalPathResult critical = new DAGShortestPath()
+                .findCriticalPath(condensation, topoResult.getTopologicalOrder());
+        summary.setPathMs(critical.getMetrics().getElapsedTime() / 1_000_000.0);
+        summary.setCriticalPathLength(critical.getMaxDistance());
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package graph.batch;
+
+/**
+ * Aggregate throughput of one {@link BatchAnalyzer} run.
+ */
+public class BatchReport {
+    private final int graphsAnalyzed;
+    private final int graphsFailed;
+    private final long totalVertices;
+    private final long totalEdges;
+    private final long elapsedNanos;
+
+    public BatchReport(int graphsAnalyzed, int graphsFailed, long totalVertices,
+                       long totalEdges, long elapsedNanos) {
+        this.graphsAnalyzed = graphsAnalyzed;
+        this.graphsFailed = graphsFailed;
+        this.totalVertices = totalVertices;
+        this.totalEdges = totalEdges;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Getters
+    public int getGraphsAnalyzed() { return graphsAnalyzed; }
+    public int getGraphsFailed() { return graphsFailed; }
+    public long getTotalVertices() { return totalVertices; }
+    public long getTotalEdges() { return totalEdges; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getGraphsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (graphsAnalyzed + graphsFailed) * 1e9 / elapsedNanos;
+    }
+
+    public double getEdgesPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalEdges * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d graphs (%d failed) in %.1f ms: %.1f graphs/sec, %.0f edges/sec",
+                graphsAnalyzed + graphsFailed, graphsFailed, elapsedNanos / 1_000_000.0,
+                getGraphsPerSecond(), getEdgesPerSecond());
+    }
+}
@@ -0,0 +1,60 @@
+package graph.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Per-graph outcome written as one JSON line by {@link BatchAnalyzer}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"file", "vertices", "edges", "sccCount", "largestScc",
+        "condensationVertices", "condensationEdges", "criticalPathLength",
+        "loadMs", "sccMs", "topoMs", "pathMs", "error"})
+public class GraphSummary {
+    private final String file;
+    private int vertices;
+    private long edges;
+    private int sccCount;
+    private int largestScc;
+    private int condensationVertices;
+    private int condensationEdges;
+    private Integer criticalPathLength;
+    private double loadMs;
+    private double sccMs;
+    private double topoMs;
+    private double pathMs;
+    private String error;
+
+    public GraphSummary(String file) {
+        this.file = file;
+    }
+
+    // Getters
+    public String getFile() { return file; }
+    public int getVertices() { return vertices; }
+    public long getEdges() { return edges; }
+    public int getSccCount() { return sccCount; }
+    public int getLargestScc() { return largestScc; }
+    public int getCondensationVertices() { return condensationVertices; }
+    public int getCondensationEdges() { return condensationEdges; }
+    public Integer getCriticalPathLength() { return criticalPathLength; }
+    public double getLoadMs() { return loadMs; }
+    public double getSccMs() { return sccMs; }
+    public double getTopoMs() { return topoMs; }
+    public double getPathMs() { return pathMs; }
+    public String getError() { return error; }
+
+    // Setters used while the graph moves through the pipeline
+    void setVertices(int vertices) { this.vertices = vertices; }
+    void setEdges(long edges) { this.edges = edges; }
+    void setSccCount(int sccCount) { this.sccCount = sccCount; }
+    void setLargestScc(int largestScc) { this.largestScc = largestScc; }
+    void setCondensationVertices(int condensationVertices) { this.condensationVertices = condensationVertices; }
+    void setCondensationEdges(int condensationEdges) { this.condensationEdges = condensationEdges; }
+    void setCriticalPathLength(Integer criticalPathLength) { this.criticalPathLength = criticalPathLength; }
+    void setLoadMs(double loadMs) { this.loadMs = loadMs; }
+    void setSccMs(double sccMs) { this.sccMs = sccMs; }
+    void setTopoMs(double topoMs) { this.topoMs = topoMs; }
+    void setPathMs(double pathMs) { this.pathMs = pathMs; }
+    void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,205 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.Edge;
+import graph.model.Graph;
+import java.util.*;
+
+/**
+ * Result of {@link ChainContraction}: the smaller graph to run {@link DAGShortestPath} on, plus what is
+ * needed to translate its results back to original vertex ids. Expansion is lazy: a single distance
+ * costs O(1) and a single path costs its own length, so callers that only need a few targets never
+ * materialise per-vertex arrays. {@link #expand(ShortestPathResult)} and
+ * {@link #expand(CriticalPathResult)} do the full translation when it is wanted.
+ * <p>
+ * Distances use the same sentinels as {@link DAGShortestPath}: {@code Integer.MAX_VALUE} (shortest) or
+ * {@code Integer.MIN_VALUE} (longest) for unreachable vertices.
+ */
+public class ContractedGraph {
+    private final Graph graph;
+    private final int originalVertexCount;
+    private final int[] anchorOf;
+    private final int[] original;
+    private final int[] chainOf;
+    private final int[] prefix;
+    private final int[] slot;
+    private final int[] chainOffset;
+    private final int[] chainVertex;
+    private final int[] chainStart;
+    private final int[] edgeChain;
+    private final Metrics metrics;
+
+    // Incoming contracted edges, built on the first path expansion
+    private int[] inStart;
+    private int[] inEdge;
+
+    ContractedGraph(Graph graph, int originalVertexCount, int[] anchorOf, int[] original, int[] chainOf,
+                    int[] prefix, int[] slot, int[] chainOffset, int[] chainVertex, int[] chainStart,
+                    int[] edgeChain, Metrics metrics) {
+        this.graph = graph;
+        this.originalVertexCount = originalVertexCount;
+        this.anchorOf = anchorOf;
+        this.original = original;
+        this.chainOf = chainOf;
+        this.prefix = prefix;
+        this.slot = slot;
+        this.chainOffset = chainOffset;
+        this.chainVertex = chainVertex;
+        this.chainStart = chainStart;
+        this.edgeChain = edgeChain;
+        this.metrics = metrics;
+    }
+
+    /** Contracted id of an original vertex, or -1 if it was folded into a chain. */
+    public int getContractedVertex(int vertex) { return anchorOf[vertex]; }
+
+    public int getOriginalVertex(int contractedVertex) { return original[contractedVertex]; }
+
+    public boolean isContracted(int vertex) { return anchorOf[vertex] == -1; }
+
+    public int getChainCount() { return chainStart.length; }
+
+    /** Distance of any original vertex, given the distances computed on the contracted graph. */
+    public int distance(int[] contractedDistances, int vertex) {
+        int chain = chainOf[vertex];
+        if (chain == -1) {
+            return contractedDistances[anchorOf[vertex]];
+        }
+        int base = contractedDistances[chainStart[chain]];
+        return isUnreachable(base) ? base : base + prefix[vertex];
+    }
+
+    public int[] expandDistances(int[] contractedDistances) {
+        int[] distances = new int[originalVertexCount];
+        for (int v = 0; v < originalVertexCount; v++) {
+            distances[v] = distance(contractedDistances, v);
+        }
+        return distances;
+    }
+
+    /** Original-id path ending at {@code vertex}, or an empty list if it was not reached. */
+    public List<Integer> path(int[] contractedDistances, int[] contractedPredecessors, int vertex) {
+        List<Integer> path = new ArrayList<>();
+        int c;
+        int chain = chainOf[vertex];
+        if (chain == -1) {
+            c = anchorOf[vertex];
+        } else {
+            c = chainStart[chain];
+            for (int i = slot[vertex]; i >= chainOffset[chain]; i--) {
+                path.add(chainVertex[i]);
+            }
+        }
+        if (isUnreachable(contractedDistances[c])) {
+            return new ArrayList<>();
+        }
+
+        while (true) {
+            path.add(original[c]);
+            int p = contractedPredecessors[c];
+            if (p == -1) {
+                break;
+            }
+            int via = edgeChain[incomingEdge(contractedDistances, p, c)];
+            if (via != -1) {
+                for (int i = chainOffset[via + 1] - 1; i >= chainOffset[via]; i--) {
+                    path.add(chainVertex[i]);
+                }
+            }
+            c = p;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public ShortestPathResult expand(ShortestPathResult result) {
+        return new ShortestPathResult(expandDistances(result.getDistances()),
+                expandPredecessors(result.getDistances(), result.getPredecessors()), result.getMetrics(),
+                result.getStatus());
+    }
+
+    public CriticalPathResult expand(CriticalPathResult result) {
+        int[] distances = expandDistances(result.getDistances());
+        int maxDistance = Integer.MIN_VALUE;
+        int end = -1;
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] > maxDistance) {
+                maxDistance = distances[v];
+                end = v;
+            }
+        }
+        List<Integer> path = end == -1 ? new ArrayList<>()
+                : path(result.getDistances(), result.getPredecessors(), end);
+        return new CriticalPathResult(path, maxDistance, distances,
+                expandPredecessors(result.getDistances(), result.getPredecessors()), result.getMetrics(),
+                result.getStatus());
+    }
+
+    private int[] expandPredecessors(int[] contractedDistances, int[] contractedPredecessors) {
+        int[] predecessors = new int[originalVertexCount];
+        for (int v = 0; v < originalVertexCount; v++) {
+            int chain = chainOf[v];
+            if (chain != -1) {
+                int i = slot[v];
+                predecessors[v] = isUnreachable(contractedDistances[chainStart[chain]]) ? -1
+                        : i == chainOffset[chain] ? original[chainStart[chain]] : chainVertex[i - 1];
+                continue;
+            }
+            int c = anchorOf[v];
+            int p = contractedPredecessors[c];
+            if (p == -1) {
+                predecessors[v] = -1;
+            } else {
+                int via = edgeChain[incomingEdge(contractedDistances, p, c)];
+                predecessors[v] = via == -1 ? original[p] : chainVertex[chainOffset[via + 1] - 1];
+            }
+        }
+        return predecessors;
+    }
+
+    /** The contracted edge {@code p -> c} whose weight explains {@code c}'s distance. */
+    private int incomingEdge(int[] contractedDistances, int p, int c) {
+        if (inStart == null) {
+            buildIncoming();
+        }
+        int fallback = -1;
+        List<Edge> edges = graph.getEdges();
+        for (int k = inStart[c]; k < inStart[c + 1]; k++) {
+            Edge edge = edges.get(inEdge[k]);
+            if (edge.getU() == p) {
+                if (contractedDistances[p] + edge.getW() == contractedDistances[c]) {
+                    return inEdge[k];
+                }
+                fallback = inEdge[k];
+            }
+        }
+        return fallback;
+    }
+
+    private void buildIncoming() {
+        List<Edge> edges = graph.getEdges();
+        int[] start = new int[graph.getVertexCount() + 1];
+        for (Edge edge : edges) {
+            start[edge.getV() + 1]++;
+        }
+        for (int c = 0; c < graph.getVertexCount(); c++) {
+            start[c + 1] += start[c];
+        }
+        int[] fill = Arrays.copyOf(start, graph.getVertexCount());
+        int[] incoming = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            incoming[fill[edges.get(e).getV()]++] = e;
+        }
+        inEdge = incoming;
+        inStart = start;
+    }
+
+    private static boolean isUnreachable(int distance) {
+        return distance == Integer.MAX_VALUE || distance == Integer.MIN_VALUE;
+    }
+
+    // Getters
+    public Graph getGraph() { return graph; }
+    public int getOriginalVertexCount() { return originalVertexCount; }
+    public Metrics getMetrics() { return metrics; }
+}
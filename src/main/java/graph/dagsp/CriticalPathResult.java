@@ -1,22 +1,35 @@
 package graph.dagsp;
 
 import graph.metrics.Metrics;
+import graph.util.AnalysisStatus;
 import java.util.List;
 
+/**
+ * Longest-path result. When the analysis stopped early ({@link #getStatus()} is not COMPLETE) the
+ * distances are lower bounds and the critical path is the longest path found so far: a real path of
+ * the reported length, but possibly not the longest one.
+ */
 public class CriticalPathResult {
     private final List<Integer> criticalPath;
     private final int maxDistance;
     private final int[] distances;
     private final int[] predecessors;
     private final Metrics metrics;
+    private final AnalysisStatus status;
 
     public CriticalPathResult(List<Integer> criticalPath, int maxDistance,
                               int[] distances, int[] predecessors, Metrics metrics) {
+        this(criticalPath, maxDistance, distances, predecessors, metrics, AnalysisStatus.COMPLETE);
+    }
+
+    public CriticalPathResult(List<Integer> criticalPath, int maxDistance, int[] distances, int[] predecessors,
+                              Metrics metrics, AnalysisStatus status) {
         this.criticalPath = criticalPath;
         this.maxDistance = maxDistance;
         this.distances = distances;
         this.predecessors = predecessors;
         this.metrics = metrics;
+        this.status = status;
     }
 
     // Getters
@@ -25,4 +38,6 @@ public class CriticalPathResult {
     public int[] getDistances() { return distances; }
     public int[] getPredecessors() { return predecessors; }
     public Metrics getMetrics() { return metrics; }
+    public AnalysisStatus getStatus() { return status; }
+    public boolean isComplete() { return status == AnalysisStatus.COMPLETE; }
 }
\ No newline at end of file
@@ -1,107 +1,256 @@
 package graph.dagsp;
 
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
 import graph.model.Graph;
 import graph.metrics.Metrics;
+import graph.util.AnalysisBudget;
+import graph.util.AnalysisStatus;
 import java.util.*;
 
 public class DAGShortestPath {
+    private AnalysisBudget budget;
     private Metrics metrics;
 
     public DAGShortestPath() {
         this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    /** Stops relaxing once {@code budget} runs out; results then carry bounds rather than exact distances. */
+    public DAGShortestPath withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
     }
 
     public ShortestPathResult findShortestPaths(Graph graph, List<Integer> topologicalOrder, int source) {
-        metrics.startTimer();
+        metrics.startPhase("shortest paths");
+        metrics.describePhase(graph.getVertexCount(), graph.getEdges().size());
+        try {
+            return relaxShortest(buildAdjacency(graph), topologicalOrder, source);
+        } finally {
+            metrics.endPhase();
+        }
+    }
 
-        int n = graph.getVertexCount();
-        int[] dist = new int[n];
-        int[] prev = new int[n];
+    public ShortestPathResult findShortestPaths(AdjacencyGraph graph, List<Integer> topologicalOrder, int source) {
+        metrics.startPhase("shortest paths");
+        metrics.describePhase(graph);
+        try {
+            return relaxShortest(graph, topologicalOrder, source);
+        } finally {
+            metrics.endPhase();
+        }
+    }
 
-        Arrays.fill(dist, Integer.MAX_VALUE);
-        Arrays.fill(prev, -1);
-        dist[source] = 0;
+    private CSRGraph buildAdjacency(Graph graph) {
+        metrics.startPhase("adjacency build");
+        try {
+            return CSRGraph.from(graph);
+        } finally {
+            metrics.endPhase();
+        }
+    }
 
-        Map<Integer, List<graph.model.Edge>> adj = graph.getWeightedAdjacencyList();
+    private ShortestPathResult relaxShortest(AdjacencyGraph graph, List<Integer> topologicalOrder, int source) {
+        metrics.startTimer();
+        metrics.startPhase("relaxation");
+        try {
+            int n = graph.getVertexCount();
+            int[] dist = new int[n];
+            int[] prev = new int[n];
 
-        // Process vertices in topological order
-        for (int u : topologicalOrder) {
-            metrics.incrementOperation("Vertex processing");
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            Arrays.fill(prev, -1);
+            dist[source] = 0;
 
-            if (dist[u] != Integer.MAX_VALUE) {
-                for (graph.model.Edge edge : adj.get(u)) {
-                    metrics.incrementOperation("Edge relaxation");
-                    int v = edge.getV();
-                    int weight = edge.getW();
+            EdgeCursor cursor = graph.newCursor();
+            long edgeRelaxations = 0;
 
-                    if (dist[u] + weight < dist[v]) {
-                        dist[v] = dist[u] + weight;
-                        prev[v] = u;
+            // Process vertices in topological order
+            boolean stopped = false;
+            long vertices = 0;
+            relaxation:
+            for (int u : topologicalOrder) {
+                // Unreachable vertices relax no edges, so the vertex count polls the budget as well
+                if (budget.check(vertices++)) {
+                    stopped = true;
+                    break;
+                }
+                if (dist[u] != Integer.MAX_VALUE) {
+                    cursor.reset(u);
+                    while (cursor.next()) {
+                        if (budget.check(++edgeRelaxations)) {
+                            stopped = true;
+                            break relaxation;
+                        }
+                        int v = cursor.target();
+                        int weight = cursor.weight();
+
+                        if (dist[u] + weight < dist[v]) {
+                            dist[v] = dist[u] + weight;
+                            prev[v] = u;
+                        }
                     }
                 }
             }
-        }
 
-        metrics.stopTimer();
-        return new ShortestPathResult(dist, prev, metrics);
+            metrics.addOperations("Vertex processing", topologicalOrder.size());
+            metrics.addOperations("Edge relaxation", edgeRelaxations);
+            return new ShortestPathResult(dist, prev, metrics, stopped ? budget.getStatus() : AnalysisStatus.COMPLETE);
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
+        }
     }
 
     public CriticalPathResult findCriticalPath(Graph graph, List<Integer> topologicalOrder) {
+        metrics.startPhase("critical path");
+        metrics.describePhase(graph.getVertexCount(), graph.getEdges().size());
+        try {
+            return findCriticalPath(buildAdjacency(graph), topologicalOrder, findSource(graph));
+        } finally {
+            metrics.endPhase();
+        }
+    }
+
+    public CriticalPathResult findCriticalPath(AdjacencyGraph graph, List<Integer> topologicalOrder) {
+        metrics.startPhase("critical path");
+        metrics.describePhase(graph);
+        try {
+            return findCriticalPath(graph, topologicalOrder, findSource(graph));
+        } finally {
+            metrics.endPhase();
+        }
+    }
+
+    private CriticalPathResult findCriticalPath(AdjacencyGraph graph, List<Integer> topologicalOrder, int source) {
         metrics.startTimer();
+        try {
+            int n = graph.getVertexCount();
+            int[] dist = new int[n];
+            int[] prev = new int[n];
 
-        int n = graph.getVertexCount();
-        int[] dist = new int[n];
-        int[] prev = new int[n];
+            Arrays.fill(dist, Integer.MIN_VALUE);
+            Arrays.fill(prev, -1);
+            dist[source] = 0;
 
-        Arrays.fill(dist, Integer.MIN_VALUE);
-        Arrays.fill(prev, -1);
+            boolean stopped = relaxLongest(graph, topologicalOrder, dist, prev);
 
-        // Find source with 0 in-degree
-        int source = findSource(graph);
-        dist[source] = 0;
+            // Find the critical path (longest path)
+            int maxDist = Integer.MIN_VALUE;
+            int endVertex = -1;
+            for (int i = 0; i < n; i++) {
+                if (dist[i] > maxDist) {
+                    maxDist = dist[i];
+                    endVertex = i;
+                }
+            }
 
-        Map<Integer, List<graph.model.Edge>> adj = graph.getWeightedAdjacencyList();
+            List<Integer> criticalPath = reconstructPath(prev, endVertex);
+            return new CriticalPathResult(criticalPath, maxDist, dist, prev, metrics,
+                    stopped ? budget.getStatus() : AnalysisStatus.COMPLETE);
+        } finally {
+            metrics.stopTimer();
+        }
+    }
 
-        // Process vertices in topological order for longest path
-        for (int u : topologicalOrder) {
-            metrics.incrementOperation("Vertex processing");
+    // Returns true if the budget ran out before every reachable edge was relaxed
+    private boolean relaxLongest(AdjacencyGraph graph, List<Integer> topologicalOrder, int[] dist, int[] prev) {
+        metrics.startPhase("relaxation");
+        try {
+            EdgeCursor cursor = graph.newCursor();
+            long edgeRelaxations = 0;
 
-            if (dist[u] != Integer.MIN_VALUE) {
-                for (graph.model.Edge edge : adj.get(u)) {
-                    metrics.incrementOperation("Edge relaxation");
-                    int v = edge.getV();
-                    int weight = edge.getW();
+            // Process vertices in topological order for longest path
+            boolean stopped = false;
+            long vertices = 0;
+            relaxation:
+            for (int u : topologicalOrder) {
+                if (budget.check(vertices++)) {
+                    stopped = true;
+                    break;
+                }
+                if (dist[u] != Integer.MIN_VALUE) {
+                    cursor.reset(u);
+                    while (cursor.next()) {
+                        if (budget.check(++edgeRelaxations)) {
+                            stopped = true;
+                            break relaxation;
+                        }
+                        int v = cursor.target();
+                        int weight = cursor.weight();
 
-                    if (dist[u] + weight > dist[v]) {
-                        dist[v] = dist[u] + weight;
-                        prev[v] = u;
+                        if (dist[u] + weight > dist[v]) {
+                            dist[v] = dist[u] + weight;
+                            prev[v] = u;
+                        }
                     }
                 }
             }
+            metrics.addOperations("Vertex processing", topologicalOrder.size());
+            metrics.addOperations("Edge relaxation", edgeRelaxations);
+            return stopped;
+        } finally {
+            metrics.endPhase();
         }
+    }
+
+    public int[] computeBottomLevels(Graph graph, List<Integer> topologicalOrder) {
+        return computeBottomLevels(CSRGraph.from(graph), topologicalOrder);
+    }
 
-        // Find the critical path (longest path)
-        int maxDist = Integer.MIN_VALUE;
-        int endVertex = -1;
-        for (int i = 0; i < n; i++) {
-            if (dist[i] > maxDist) {
-                maxDist = dist[i];
-                endVertex = i;
+    /**
+     * Bottom level of every vertex: the longest weighted path from it to any sink, 0 for sinks.
+     * This is the remaining critical-path length once the vertex is ready, the usual list-scheduling priority.
+     */
+    public int[] computeBottomLevels(AdjacencyGraph graph, List<Integer> topologicalOrder) {
+        metrics.startPhase("bottom levels");
+        metrics.describePhase(graph);
+        try {
+            int[] bottom = new int[graph.getVertexCount()];
+            EdgeCursor cursor = graph.newCursor();
+            long edgeRelaxations = 0;
+            for (int i = topologicalOrder.size() - 1; i >= 0; i--) {
+                int u = topologicalOrder.get(i);
+                int best = 0;
+                cursor.reset(u);
+                while (cursor.next()) {
+                    edgeRelaxations++;
+                    best = Math.max(best, cursor.weight() + bottom[cursor.target()]);
+                }
+                bottom[u] = best;
             }
+            metrics.addOperations("Edge relaxation", edgeRelaxations);
+            return bottom;
+        } finally {
+            metrics.endPhase();
         }
-
-        List<Integer> criticalPath = reconstructPath(prev, endVertex);
-        metrics.stopTimer();
-
-        return new CriticalPathResult(criticalPath, maxDist, dist, prev, metrics);
     }
 
+    // Find source with 0 in-degree
     private int findSource(Graph graph) {
         int[] inDegree = new int[graph.getVertexCount()];
         for (graph.model.Edge edge : graph.getEdges()) {
             inDegree[edge.getV()]++;
         }
+        return firstZero(inDegree);
+    }
+
+    private int findSource(AdjacencyGraph graph) {
+        int[] inDegree = new int[graph.getVertexCount()];
+        EdgeCursor cursor = graph.newCursor();
+        for (int u = 0; u < inDegree.length; u++) {
+            cursor.reset(u);
+            while (cursor.next()) {
+                inDegree[cursor.target()]++;
+            }
+        }
+        return firstZero(inDegree);
+    }
 
+    private static int firstZero(int[] inDegree) {
         for (int i = 0; i < inDegree.length; i++) {
             if (inDegree[i] == 0) {
                 return i;
@@ -118,4 +267,4 @@ public class DAGShortestPath {
         Collections.reverse(path);
         return path;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package graph.dagsp;
+
+/**
+ * Duration distribution of one task (edge) for {@link MonteCarloCriticalPath}.
+ * Triangular is the usual three-point (optimistic, most likely, pessimistic) estimate.
+ */
+public final class Distribution {
+    enum Kind { FIXED, UNIFORM, TRIANGULAR }
+
+    private final Kind kind;
+    private final double min;
+    private final double mode;
+    private final double max;
+
+    private Distribution(Kind kind, double min, double mode, double max) {
+        if (!(min <= mode && mode <= max)) {
+            throw new IllegalArgumentException("Expected min <= mode <= max but got " + min + ", " + mode + ", " + max);
+        }
+        this.kind = kind;
+        this.min = min;
+        this.mode = mode;
+        this.max = max;
+    }
+
+    public static Distribution fixed(double duration) {
+        return new Distribution(Kind.FIXED, duration, duration, duration);
+    }
+
+    public static Distribution uniform(double min, double max) {
+        return new Distribution(Kind.UNIFORM, min, (min + max) / 2, max);
+    }
+
+    public static Distribution triangular(double min, double mode, double max) {
+        return new Distribution(Kind.TRIANGULAR, min, mode, max);
+    }
+
+    // Getters
+    Kind getKind() { return kind; }
+    public double getMin() { return min; }
+    public double getMode() { return mode; }
+    public double getMax() { return max; }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case FIXED: return "fixed(" + min + ")";
+            case UNIFORM: return "uniform(" + min + ", " + max + ")";
+            default: return "triangular(" + min + ", " + mode + ", " + max + ")";
+        }
+    }
+}
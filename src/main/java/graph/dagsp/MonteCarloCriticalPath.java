@@ -0,0 +1,250 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.Graph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Critical-path analysis when task (edge) durations are random rather than the fixed {@link graph.model.Edge} weights.
+ * Edges are put in topological order once; each sample is then a single longest-path sweep over flat arrays.
+ * Samples are processed in blocks with structure-of-arrays scratch ({@code finish[vertex * block + sample]}),
+ * so the per-edge inner loop walks contiguous samples and is friendly to the JIT's loop unrolling and
+ * vectorisation. Blocks run in parallel, each with its own split of the random stream, so results only
+ * depend on the seed and not on the thread count.
+ * <p>
+ * Every task may start at time 0 once its predecessors are done; the completion time of a sample is the
+ * latest finish over all vertices.
+ */
+public class MonteCarloCriticalPath {
+    private static final int MAX_BLOCK = 64;
+    private static final int SCRATCH_ENTRIES = 1 << 22;
+
+    private final TopoOrderedEdges edges;
+    private final Distribution.Kind[] kinds;
+    private final double[] min;
+    private final double[] mode;
+    private final double[] max;
+    private final int parallelism;
+    private Metrics metrics;
+
+    /** Uses the edge weights as fixed durations; override individual edges via {@link #MonteCarloCriticalPath(Graph, List, List)}. */
+    public MonteCarloCriticalPath(Graph graph, List<Integer> topologicalOrder) {
+        this(graph, topologicalOrder, fixedDurations(graph), Runtime.getRuntime().availableProcessors());
+    }
+
+    /** @param durations one distribution per edge, in the order of {@link Graph#getEdges()} */
+    public MonteCarloCriticalPath(Graph graph, List<Integer> topologicalOrder, List<Distribution> durations) {
+        this(graph, topologicalOrder, durations, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MonteCarloCriticalPath(Graph graph, List<Integer> topologicalOrder, List<Distribution> durations,
+                                  int parallelism) {
+        if (durations.size() != graph.getEdges().size()) {
+            throw new IllegalArgumentException("Expected " + graph.getEdges().size()
+                    + " duration distributions but got " + durations.size());
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.edges = TopoOrderedEdges.of(graph, topologicalOrder);
+        this.parallelism = parallelism;
+        this.metrics = new Metrics();
+
+        int m = edges.edgeCount;
+        this.kinds = new Distribution.Kind[m];
+        this.min = new double[m];
+        this.mode = new double[m];
+        this.max = new double[m];
+        for (int e = 0; e < m; e++) {
+            Distribution distribution = durations.get(edges.edgeIndex[e]);
+            kinds[e] = distribution.getKind();
+            min[e] = distribution.getMin();
+            mode[e] = distribution.getMode();
+            max[e] = distribution.getMax();
+        }
+    }
+
+    /** Three-point estimate of {@code weight * (1 - spread)}, {@code weight}, {@code weight * (1 + spread)} for every edge. */
+    public static List<Distribution> triangularAround(Graph graph, double spread) {
+        List<Distribution> durations = new ArrayList<>(graph.getEdges().size());
+        for (graph.model.Edge edge : graph.getEdges()) {
+            double w = edge.getW();
+            durations.add(Distribution.triangular(w - Math.abs(w) * spread, w, w + Math.abs(w) * spread));
+        }
+        return durations;
+    }
+
+    private static List<Distribution> fixedDurations(Graph graph) {
+        List<Distribution> durations = new ArrayList<>(graph.getEdges().size());
+        for (graph.model.Edge edge : graph.getEdges()) {
+            durations.add(Distribution.fixed(edge.getW()));
+        }
+        return durations;
+    }
+
+    public MonteCarloResult simulate(int samples, long seed) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        metrics.startTimer();
+        int n = edges.vertexCount;
+        int block = Math.max(1, Math.min(MAX_BLOCK, SCRATCH_ENTRIES / Math.max(1, n)));
+        int blocks = (samples + block - 1) / block;
+
+        // Split the streams up front so block b always sees the same randomness
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            streams[b] = root.split();
+        }
+
+        double[] completionTimes = new double[samples];
+        long[] edgeHits = new long[edges.edgeCount];
+        long[] vertexHits = new long[n];
+        AtomicInteger nextBlock = new AtomicInteger();
+        Runnable worker = () -> {
+            Worker scratch = new Worker(n, block);
+            int b;
+            while ((b = nextBlock.getAndIncrement()) < blocks) {
+                int first = b * block;
+                scratch.run(streams[b], first, Math.min(block, samples - first), completionTimes);
+            }
+            synchronized (edgeHits) {
+                for (int e = 0; e < edgeHits.length; e++) {
+                    edgeHits[e] += scratch.edgeHits[e];
+                }
+                for (int v = 0; v < n; v++) {
+                    vertexHits[v] += scratch.vertexHits[v];
+                }
+            }
+        };
+
+        int workers = Math.min(parallelism, blocks);
+        if (workers == 1) {
+            worker.run();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>();
+                for (int i = 0; i < workers; i++) {
+                    tasks.add(pool.submit(worker));
+                }
+                for (ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        double[] edgeCriticality = new double[edges.edgeCount];
+        for (int e = 0; e < edges.edgeCount; e++) {
+            edgeCriticality[edges.edgeIndex[e]] = (double) edgeHits[e] / samples;
+        }
+        double[] vertexCriticality = new double[n];
+        for (int v = 0; v < n; v++) {
+            vertexCriticality[v] = (double) vertexHits[v] / samples;
+        }
+
+        metrics.addOperations("Samples", samples);
+        metrics.addOperations("Edge relaxation", (long) samples * edges.edgeCount);
+        metrics.stopTimer();
+        return new MonteCarloResult(completionTimes, edgeCriticality, vertexCriticality, metrics);
+    }
+
+    /** Per-thread scratch, laid out vertex-major with one lane per sample in the block. */
+    private final class Worker {
+        private final int block;
+        private final double[] finish;
+        private final int[] predecessor;
+        private final double[] duration;
+        private final double[] latest;
+        private final int[] latestVertex;
+        private final long[] edgeHits = new long[edges.edgeCount];
+        private final long[] vertexHits;
+
+        Worker(int n, int block) {
+            this.block = block;
+            this.finish = new double[n * block];
+            this.predecessor = new int[n * block];
+            this.duration = new double[block];
+            this.latest = new double[block];
+            this.latestVertex = new int[block];
+            this.vertexHits = new long[n];
+        }
+
+        void run(SplittableRandom random, int firstSample, int lanes, double[] completionTimes) {
+            int n = edges.vertexCount;
+            Arrays.fill(finish, 0, n * block, 0.0);
+            Arrays.fill(predecessor, 0, n * block, -1);
+
+            int[] source = edges.source;
+            int[] target = edges.target;
+            for (int e = 0; e < edges.edgeCount; e++) {
+                sample(e, random, lanes);
+                int ub = source[e] * block;
+                int vb = target[e] * block;
+                for (int s = 0; s < lanes; s++) {
+                    double candidate = finish[ub + s] + duration[s];
+                    if (candidate > finish[vb + s]) {
+                        finish[vb + s] = candidate;
+                        predecessor[vb + s] = e;
+                    }
+                }
+            }
+
+            Arrays.fill(latest, 0, lanes, Double.NEGATIVE_INFINITY);
+            for (int v = 0; v < n; v++) {
+                int vb = v * block;
+                for (int s = 0; s < lanes; s++) {
+                    if (finish[vb + s] > latest[s]) {
+                        latest[s] = finish[vb + s];
+                        latestVertex[s] = v;
+                    }
+                }
+            }
+
+            // Walk each sample's critical chain back from its latest-finishing vertex
+            for (int s = 0; s < lanes; s++) {
+                completionTimes[firstSample + s] = latest[s];
+                int v = latestVertex[s];
+                int e;
+                while ((e = predecessor[v * block + s]) != -1) {
+                    vertexHits[v]++;
+                    edgeHits[e]++;
+                    v = source[e];
+                }
+                vertexHits[v]++;
+            }
+        }
+
+        private void sample(int e, SplittableRandom random, int lanes) {
+            double a = min[e];
+            double c = mode[e];
+            double b = max[e];
+            switch (kinds[e]) {
+                case FIXED:
+                    Arrays.fill(duration, 0, lanes, a);
+                    break;
+                case UNIFORM:
+                    for (int s = 0; s < lanes; s++) {
+                        duration[s] = a + (b - a) * random.nextDouble();
+                    }
+                    break;
+                default:
+                    // Inverse CDF of the triangular distribution
+                    double range = b - a;
+                    double split = range == 0 ? 0 : (c - a) / range;
+                    for (int s = 0; s < lanes; s++) {
+                        double u = random.nextDouble();
+                        duration[s] = u < split
+                                ? a + Math.sqrt(u * range * (c - a))
+                                : b - Math.sqrt((1 - u) * range * (b - c));
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import java.util.Arrays;
+
+public class MonteCarloResult {
+    private final double[] completionTimes;
+    private final double[] sortedCompletionTimes;
+    private final double[] edgeCriticality;
+    private final double[] vertexCriticality;
+    private final Metrics metrics;
+
+    public MonteCarloResult(double[] completionTimes, double[] edgeCriticality,
+                            double[] vertexCriticality, Metrics metrics) {
+        this.completionTimes = completionTimes;
+        this.sortedCompletionTimes = completionTimes.clone();
+        Arrays.sort(sortedCompletionTimes);
+        this.edgeCriticality = edgeCriticality;
+        this.vertexCriticality = vertexCriticality;
+        this.metrics = metrics;
+    }
+
+    /** Nearest-rank percentile of the project completion time, {@code percentile} in [0, 100]. */
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be within [0, 100]");
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedCompletionTimes.length);
+        return sortedCompletionTimes[Math.max(0, rank - 1)];
+    }
+
+    public double getMean() {
+        double sum = 0;
+        for (double time : completionTimes) {
+            sum += time;
+        }
+        return sum / completionTimes.length;
+    }
+
+    public double getStandardDeviation() {
+        double mean = getMean();
+        double sum = 0;
+        for (double time : completionTimes) {
+            sum += (time - mean) * (time - mean);
+        }
+        return Math.sqrt(sum / completionTimes.length);
+    }
+
+    // Getters
+    public int getSampleCount() { return completionTimes.length; }
+    public double[] getCompletionTimes() { return completionTimes; }
+    /** Fraction of samples in which each edge (indexed as in the graph's edge list) lay on the critical path. */
+    public double[] getEdgeCriticality() { return edgeCriticality; }
+    public double[] getVertexCriticality() { return vertexCriticality; }
+    public Metrics getMetrics() { return metrics; }
+}
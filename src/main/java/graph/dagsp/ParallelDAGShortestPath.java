@@ -0,0 +1,253 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+import graph.util.AnalysisStatus;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Single-source DAG paths relaxed one topological level at a time. Vertices in the same level have no
+ * edges between them, so each level is processed concurrently; every vertex pulls from its in-edges
+ * over a reverse CSR and writes only its own slot, leaving no write races. Levels narrower than
+ * {@link #PARALLEL_THRESHOLD} run sequentially since task overhead would dominate.
+ * Results, including predecessors on ties, equal those of {@link DAGShortestPath}.
+ */
+public class ParallelDAGShortestPath {
+    static final int PARALLEL_THRESHOLD = 2048;
+    private static final int MIN_CHUNK = 512;
+
+    private final int parallelism;
+    private AnalysisBudget budget;
+    private Metrics metrics;
+
+    public ParallelDAGShortestPath() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelDAGShortestPath(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    /**
+     * Stops pulling once {@code budget} runs out. Levels already finished are exact; later vertices stay
+     * unreached, so distances are bounds as with {@link DAGShortestPath#withBudget}.
+     */
+    public ParallelDAGShortestPath withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public ShortestPathResult findShortestPaths(Graph graph, List<Integer> topologicalOrder, int source) {
+        return findShortestPaths(CSRGraph.from(graph), topologicalOrder, source);
+    }
+
+    public ShortestPathResult findShortestPaths(AdjacencyGraph graph, List<Integer> topologicalOrder, int source) {
+        metrics.startTimer();
+        try {
+            int[] dist = new int[graph.getVertexCount()];
+            int[] prev = new int[graph.getVertexCount()];
+            boolean stopped = relax(graph, topologicalOrder, source, false, dist, prev);
+            return new ShortestPathResult(dist, prev, metrics,
+                    stopped ? budget.getStatus() : AnalysisStatus.COMPLETE);
+        } finally {
+            metrics.stopTimer();
+        }
+    }
+
+    public CriticalPathResult findCriticalPath(Graph graph, List<Integer> topologicalOrder) {
+        return findCriticalPath(CSRGraph.from(graph), topologicalOrder);
+    }
+
+    /** Longest path from the first zero in-degree vertex, as {@link DAGShortestPath#findCriticalPath} does. */
+    public CriticalPathResult findCriticalPath(AdjacencyGraph graph, List<Integer> topologicalOrder) {
+        metrics.startTimer();
+        try {
+            int n = graph.getVertexCount();
+            int[] dist = new int[n];
+            int[] prev = new int[n];
+            boolean stopped = relax(graph, topologicalOrder, -1, true, dist, prev);
+
+            int maxDist = Integer.MIN_VALUE;
+            int endVertex = -1;
+            for (int i = 0; i < n; i++) {
+                if (dist[i] > maxDist) {
+                    maxDist = dist[i];
+                    endVertex = i;
+                }
+            }
+            List<Integer> path = new ArrayList<>();
+            for (int v = endVertex; v != -1; v = prev[v]) {
+                path.add(v);
+            }
+            Collections.reverse(path);
+            return new CriticalPathResult(path, maxDist, dist, prev, metrics,
+                    stopped ? budget.getStatus() : AnalysisStatus.COMPLETE);
+        } finally {
+            metrics.stopTimer();
+        }
+    }
+
+    /**
+     * @param source start vertex, or -1 to use the first zero in-degree vertex
+     * @return true if the budget ran out first
+     */
+    private boolean relax(AdjacencyGraph graph, List<Integer> topologicalOrder, int source, boolean longest,
+                          int[] dist, int[] prev) {
+        int n = graph.getVertexCount();
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[topologicalOrder.get(i)] = i;
+        }
+
+        // Level = longest hop distance from any root; a counting sort keeps topological order inside a level
+        int[] inDegree = new int[n];
+        int levels = n == 0 ? 0 : 1;
+        AtomicBoolean stopped = new AtomicBoolean();
+        int[] levelStart;
+        int[] byLevel;
+        CSRGraph reverse;
+        metrics.startPhase("levels");
+        try {
+            int[] level = new int[n];
+            EdgeCursor cursor = graph.newCursor();
+            long scanned = 0;
+            levelScan:
+            for (int u : topologicalOrder) {
+                if (budget.check(++scanned)) {
+                    stopped.set(true);
+                    break;
+                }
+                cursor.reset(u);
+                while (cursor.next()) {
+                    if (budget.check(++scanned)) {
+                        stopped.set(true);
+                        break levelScan;
+                    }
+                    int v = cursor.target();
+                    inDegree[v]++;
+                    if (level[u] + 1 > level[v]) {
+                        level[v] = level[u] + 1;
+                        levels = Math.max(levels, level[v] + 1);
+                    }
+                }
+            }
+            levelStart = new int[levels + 1];
+            for (int v = 0; v < n; v++) {
+                levelStart[level[v] + 1]++;
+            }
+            for (int l = 0; l < levels; l++) {
+                levelStart[l + 1] += levelStart[l];
+            }
+            int[] fill = Arrays.copyOf(levelStart, levels);
+            byLevel = new int[n];
+            for (int u : topologicalOrder) {
+                byLevel[fill[level[u]]++] = u;
+            }
+            reverse = CSRGraph.reverseOf(graph);
+        } finally {
+            metrics.endPhase();
+        }
+
+        if (source == -1) {
+            source = 0; // fallback
+            for (int v = 0; v < n; v++) {
+                if (inDegree[v] == 0) {
+                    source = v;
+                    break;
+                }
+            }
+        }
+        int unreached = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        Arrays.fill(dist, unreached);
+        Arrays.fill(prev, -1);
+        if (n > 0) {
+            dist[source] = 0;
+        }
+
+        final int root = source;
+        long parallelLevels = 0;
+        ForkJoinPool pool = parallelism > 1 && !stopped.get() ? new ForkJoinPool(parallelism) : null;
+        metrics.startPhase("relaxation");
+        try {
+            for (int l = 0; l < levels && !stopped.get(); l++) {
+                int from = levelStart[l];
+                int to = levelStart[l + 1];
+                int width = to - from;
+                if (pool == null || width < PARALLEL_THRESHOLD) {
+                    pull(reverse, byLevel, from, to, root, longest, rank, dist, prev, stopped);
+                    continue;
+                }
+                parallelLevels++;
+                int chunks = Math.min(parallelism * 4, width / MIN_CHUNK);
+                budget.await(pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c ->
+                        pull(reverse, byLevel, from + (int) ((long) width * c / chunks),
+                                from + (int) ((long) width * (c + 1) / chunks), root, longest, rank, dist, prev,
+                                stopped))));
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            metrics.endPhase();
+        }
+
+        metrics.addOperations("Vertex processing", n);
+        metrics.addOperations("Edge relaxation", reverse.getEdgeCount());
+        metrics.addOperations("Levels", levels);
+        metrics.addOperations("Parallel levels", parallelLevels);
+        return stopped.get();
+    }
+
+    /**
+     * Pulls the best candidate over each vertex's in-edges. On equal candidates the predecessor earliest in
+     * topological order wins, which is the one the sequential push sweep would have kept.
+     */
+    private void pull(CSRGraph reverse, int[] byLevel, int from, int to, int source, boolean longest,
+                      int[] rank, int[] dist, int[] prev, AtomicBoolean stopped) {
+        int unreached = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            // Positions in byLevel and in the reverse CSR both grow by one per step, so either can poll
+            if (budget.check(i)) {
+                stopped.set(true);
+                return;
+            }
+            int v = byLevel[i];
+            if (v == source) {
+                continue;
+            }
+            int best = unreached;
+            int bestPrev = -1;
+            for (int e = reverse.edgeStart(v); e < reverse.edgeEnd(v); e++) {
+                if (budget.check(e)) {
+                    stopped.set(true);
+                    return;
+                }
+                int u = reverse.target(e);
+                int du = dist[u];
+                if (du == unreached) {
+                    continue;
+                }
+                int candidate = du + reverse.weight(e);
+                boolean better = longest ? candidate > best : candidate < best;
+                if (better || (candidate == best && bestPrev != -1 && rank[u] < rank[bestPrev])) {
+                    best = candidate;
+                    bestPrev = u;
+                }
+            }
+            dist[v] = best;
+            prev[v] = bestPrev;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import java.util.*;
+
+/**
+ * Answers repeated source-to-target queries on one DAG without sweeping the whole topological order.
+ * Construction computes topological ranks and the reverse CSR once. Each query then relaxes only
+ * the vertices that are both descendants of the source and ancestors of the target, which all lie
+ * between the two ranks. Scratch arrays are reused across queries, so an instance is not thread-safe.
+ */
+public class PointToPointQuery {
+    private final AdjacencyGraph graph;
+    private final CSRGraph reverse;
+    private final int[] rank;
+    private final EdgeCursor cursor;
+    private final Metrics metrics;
+
+    // Scratch state, invalidated by bumping the stamp instead of clearing
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private final int[] distStamp;
+    private final int[] dist;
+    private final int[] prev;
+    private final int[] queue;
+    private int stamp;
+
+    public PointToPointQuery(Graph graph, List<Integer> topologicalOrder) {
+        this(CSRGraph.from(graph), topologicalOrder);
+    }
+
+    public PointToPointQuery(AdjacencyGraph graph, List<Integer> topologicalOrder) {
+        int n = graph.getVertexCount();
+        if (topologicalOrder.size() != n) {
+            throw new IllegalArgumentException("Topological order must cover every vertex");
+        }
+        this.graph = graph;
+        this.reverse = CSRGraph.reverseOf(graph);
+        this.rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[topologicalOrder.get(i)] = i;
+        }
+        this.cursor = graph.newCursor();
+        this.metrics = new Metrics();
+        this.forwardStamp = new int[n];
+        this.backwardStamp = new int[n];
+        this.distStamp = new int[n];
+        this.dist = new int[n];
+        this.prev = new int[n];
+        this.queue = new int[n];
+    }
+
+    public PointToPointResult shortestPath(int source, int target) {
+        return query(source, target, false);
+    }
+
+    /** Longest (critical) delay from source to target, e.g. the slack-free lag between two jobs. */
+    public PointToPointResult longestPath(int source, int target) {
+        return query(source, target, true);
+    }
+
+    private PointToPointResult query(int source, int target, boolean longest) {
+        metrics.startTimer();
+        if (source == target) {
+            metrics.stopTimer();
+            return new PointToPointResult(source, target, 0, Collections.singletonList(source), 1, metrics);
+        }
+        if (rank[source] > rank[target]) {
+            return unreachable(source, target, longest);
+        }
+        if (++stamp == Integer.MAX_VALUE) {
+            resetStamps();
+        }
+
+        int[] cone = collectCone(source, target);
+        if (cone.length == 0) {
+            return unreachable(source, target, longest);
+        }
+
+        long edgeRelaxations = 0;
+        distStamp[source] = stamp;
+        dist[source] = 0;
+        prev[source] = -1;
+        for (int u : cone) {
+            if (distStamp[u] != stamp) {
+                continue;
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (backwardStamp[v] != stamp) {
+                    continue;
+                }
+                edgeRelaxations++;
+                int candidate = dist[u] + cursor.weight();
+                if (distStamp[v] != stamp || (longest ? candidate > dist[v] : candidate < dist[v])) {
+                    distStamp[v] = stamp;
+                    dist[v] = candidate;
+                    prev[v] = u;
+                }
+            }
+        }
+        metrics.addOperations("Vertex processing", cone.length);
+        metrics.addOperations("Edge relaxation", edgeRelaxations);
+
+        List<Integer> path = new ArrayList<>();
+        for (int v = target; v != -1; v = prev[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+        metrics.stopTimer();
+        return new PointToPointResult(source, target, dist[target], path, cone.length, metrics);
+    }
+
+    /**
+     * Marks descendants of source with rank at most rank(target), then ancestors of target among
+     * them. Returns the intersection sorted by topological rank, or an empty array if unreachable.
+     */
+    private int[] collectCone(int source, int target) {
+        int maxRank = rank[target];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        forwardStamp[source] = stamp;
+        while (head < tail) {
+            cursor.reset(queue[head++]);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (forwardStamp[v] != stamp && rank[v] <= maxRank) {
+                    forwardStamp[v] = stamp;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        metrics.addOperations("Forward cone", tail);
+        if (forwardStamp[target] != stamp) {
+            return new int[0];
+        }
+
+        head = 0;
+        tail = 0;
+        queue[tail++] = target;
+        backwardStamp[target] = stamp;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int e = reverse.edgeStart(v); e < reverse.edgeEnd(v); e++) {
+                int u = reverse.target(e);
+                if (forwardStamp[u] == stamp && backwardStamp[u] != stamp) {
+                    backwardStamp[u] = stamp;
+                    queue[tail++] = u;
+                }
+            }
+        }
+        metrics.addOperations("Backward cone", tail);
+
+        long[] keys = new long[tail];
+        for (int i = 0; i < tail; i++) {
+            keys[i] = ((long) rank[queue[i]] << 32) | queue[i];
+        }
+        Arrays.sort(keys);
+        int[] cone = new int[tail];
+        for (int i = 0; i < tail; i++) {
+            cone[i] = (int) keys[i];
+        }
+        return cone;
+    }
+
+    private PointToPointResult unreachable(int source, int target, boolean longest) {
+        metrics.stopTimer();
+        int distance = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        return new PointToPointResult(source, target, distance, Collections.emptyList(), 0, metrics);
+    }
+
+    private void resetStamps() {
+        Arrays.fill(forwardStamp, 0);
+        Arrays.fill(backwardStamp, 0);
+        Arrays.fill(distStamp, 0);
+        stamp = 1;
+    }
+}
@@ -0,0 +1,32 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import java.util.List;
+
+public class PointToPointResult {
+    private final int source;
+    private final int target;
+    private final int distance;
+    private final List<Integer> path;
+    private final int verticesProcessed;
+    private final Metrics metrics;
+
+    public PointToPointResult(int source, int target, int distance, List<Integer> path,
+                              int verticesProcessed, Metrics metrics) {
+        this.source = source;
+        this.target = target;
+        this.distance = distance;
+        this.path = path;
+        this.verticesProcessed = verticesProcessed;
+        this.metrics = metrics;
+    }
+
+    // Getters
+    public int getSource() { return source; }
+    public int getTarget() { return target; }
+    public int getDistance() { return distance; }
+    public List<Integer> getPath() { return path; }
+    public boolean isReachable() { return !path.isEmpty(); }
+    public int getVerticesProcessed() { return verticesProcessed; }
+    public Metrics getMetrics() { return metrics; }
+}
@@ -0,0 +1,190 @@
+package graph.dagsp;
+
+import graph.metrics.Metrics;
+import graph.model.Graph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates many alternative weight assignments ("what-if" scenarios) on one fixed DAG structure.
+ * The topology is sorted once; each call transposes the S weight vectors into an edge-major matrix
+ * ({@code weight[edge * S + scenario]}) and sweeps the edges once per block of scenarios, so every edge's
+ * endpoints are loaded once and its weights for the block are contiguous. Blocks run in parallel.
+ * Results match running {@link DAGShortestPath} once per scenario, including tie-breaking.
+ */
+public class ScenarioBatch {
+    private static final int BLOCK = 32;
+
+    private final TopoOrderedEdges edges;
+    private final int parallelism;
+    private final int criticalSource;
+    private Metrics metrics;
+
+    public ScenarioBatch(Graph graph, List<Integer> topologicalOrder) {
+        this(graph, topologicalOrder, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ScenarioBatch(Graph graph, List<Integer> topologicalOrder, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.edges = TopoOrderedEdges.of(graph, topologicalOrder);
+        this.parallelism = parallelism;
+        this.criticalSource = findSource(edges);
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * @param weights one row per scenario, each holding a weight per edge in the order of {@link Graph#getEdges()}
+     */
+    public ShortestPathResult[] shortestPaths(int[][] weights, int source) {
+        if (source < 0 || source >= edges.vertexCount) {
+            throw new IllegalArgumentException("Source " + source + " out of range");
+        }
+        metrics.startTimer();
+        int[][][] out = sweep(weights, source, false);
+        ShortestPathResult[] results = new ShortestPathResult[weights.length];
+        for (int s = 0; s < weights.length; s++) {
+            results[s] = new ShortestPathResult(out[0][s], out[1][s], metrics);
+        }
+        metrics.stopTimer();
+        return results;
+    }
+
+    /** Longest path from the first zero in-degree vertex, as {@link DAGShortestPath#findCriticalPath} does. */
+    public CriticalPathResult[] criticalPaths(int[][] weights) {
+        metrics.startTimer();
+        int[][][] out = sweep(weights, criticalSource, true);
+        CriticalPathResult[] results = new CriticalPathResult[weights.length];
+        for (int s = 0; s < weights.length; s++) {
+            int[] dist = out[0][s];
+            int[] prev = out[1][s];
+            int maxDist = Integer.MIN_VALUE;
+            int endVertex = -1;
+            for (int v = 0; v < dist.length; v++) {
+                if (dist[v] > maxDist) {
+                    maxDist = dist[v];
+                    endVertex = v;
+                }
+            }
+            List<Integer> path = new ArrayList<>();
+            for (int v = endVertex; v != -1; v = prev[v]) {
+                path.add(v);
+            }
+            Collections.reverse(path);
+            results[s] = new CriticalPathResult(path, maxDist, dist, prev, metrics);
+        }
+        metrics.stopTimer();
+        return results;
+    }
+
+    /** Returns {distances, predecessors}, each indexed by scenario. */
+    private int[][][] sweep(int[][] weights, int source, boolean longest) {
+        int scenarios = weights.length;
+        int m = edges.edgeCount;
+        for (int[] row : weights) {
+            if (row.length != m) {
+                throw new IllegalArgumentException("Each scenario needs " + m + " edge weights but got " + row.length);
+            }
+        }
+
+        long cells = (long) m * scenarios;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Weight matrix of " + m + " edges x " + scenarios
+                    + " scenarios exceeds the maximum array size; evaluate the scenarios in smaller batches");
+        }
+
+        // Edge-major transpose in topological edge order
+        int[] matrix = new int[(int) cells];
+        for (int s = 0; s < scenarios; s++) {
+            int[] row = weights[s];
+            for (int e = 0; e < m; e++) {
+                matrix[e * scenarios + s] = row[edges.edgeIndex[e]];
+            }
+        }
+
+        int[][][] out = new int[2][scenarios][];
+        int blocks = (scenarios + BLOCK - 1) / BLOCK;
+        if (parallelism == 1 || blocks <= 1) {
+            for (int b = 0; b < blocks; b++) {
+                sweepBlock(matrix, scenarios, b * BLOCK, Math.min(BLOCK, scenarios - b * BLOCK), source, longest, out);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b ->
+                        sweepBlock(matrix, scenarios, b * BLOCK, Math.min(BLOCK, scenarios - b * BLOCK),
+                                source, longest, out))).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        metrics.addOperations("Scenarios", scenarios);
+        metrics.addOperations("Edge relaxation", cells);
+        return out;
+    }
+
+    private void sweepBlock(int[] matrix, int stride, int first, int lanes, int source, boolean longest,
+                            int[][][] out) {
+        int n = edges.vertexCount;
+        int unreached = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int[] dist = new int[n * lanes];
+        int[] prev = new int[n * lanes];
+        Arrays.fill(dist, unreached);
+        Arrays.fill(prev, -1);
+        Arrays.fill(dist, source * lanes, source * lanes + lanes, 0);
+
+        int[] src = edges.source;
+        int[] dst = edges.target;
+        for (int e = 0; e < edges.edgeCount; e++) {
+            int u = src[e];
+            int ub = u * lanes;
+            int vb = dst[e] * lanes;
+            int wb = e * stride + first;
+            if (longest) {
+                for (int s = 0; s < lanes; s++) {
+                    int du = dist[ub + s];
+                    if (du != unreached && du + matrix[wb + s] > dist[vb + s]) {
+                        dist[vb + s] = du + matrix[wb + s];
+                        prev[vb + s] = u;
+                    }
+                }
+            } else {
+                for (int s = 0; s < lanes; s++) {
+                    int du = dist[ub + s];
+                    if (du != unreached && du + matrix[wb + s] < dist[vb + s]) {
+                        dist[vb + s] = du + matrix[wb + s];
+                        prev[vb + s] = u;
+                    }
+                }
+            }
+        }
+
+        // Scatter the block back into one array per scenario
+        for (int s = 0; s < lanes; s++) {
+            int[] d = new int[n];
+            int[] p = new int[n];
+            for (int v = 0; v < n; v++) {
+                d[v] = dist[v * lanes + s];
+                p[v] = prev[v * lanes + s];
+            }
+            out[0][first + s] = d;
+            out[1][first + s] = p;
+        }
+    }
+
+    private static int findSource(TopoOrderedEdges edges) {
+        int[] inDegree = new int[edges.vertexCount];
+        for (int e = 0; e < edges.edgeCount; e++) {
+            inDegree[edges.target[e]]++;
+        }
+        for (int v = 0; v < inDegree.length; v++) {
+            if (inDegree[v] == 0) {
+                return v;
+            }
+        }
+        return 0; // fallback
+    }
+}
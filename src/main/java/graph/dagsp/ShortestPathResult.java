@@ -1,20 +1,33 @@
 package graph.dagsp;
 
 import graph.metrics.Metrics;
+import graph.util.AnalysisStatus;
 
+/**
+ * Single-source shortest distances. When the analysis stopped early ({@link #getStatus()} is not
+ * COMPLETE) each distance is an upper bound realised by its predecessor chain.
+ */
 public class ShortestPathResult {
     private final int[] distances;
     private final int[] predecessors;
     private final Metrics metrics;
+    private final AnalysisStatus status;
 
     public ShortestPathResult(int[] distances, int[] predecessors, Metrics metrics) {
+        this(distances, predecessors, metrics, AnalysisStatus.COMPLETE);
+    }
+
+    public ShortestPathResult(int[] distances, int[] predecessors, Metrics metrics, AnalysisStatus status) {
         this.distances = distances;
         this.predecessors = predecessors;
         this.metrics = metrics;
+        this.status = status;
     }
 
     // Getters
     public int[] getDistances() { return distances; }
     public int[] getPredecessors() { return predecessors; }
     public Metrics getMetrics() { return metrics; }
+    public AnalysisStatus getStatus() { return status; }
+    public boolean isComplete() { return status == AnalysisStatus.COMPLETE; }
 }
\ No newline at end of file
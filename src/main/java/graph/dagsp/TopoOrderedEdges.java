@@ -0,0 +1,68 @@
+package graph.dagsp;
+
+import graph.model.Edge;
+import graph.model.Graph;
+import java.util.List;
+
+/**
+ * A DAG's edges flattened into parallel arrays and ordered by the topological rank of their source.
+ * Relaxing the arrays front to back is a valid longest/shortest path sweep, so engines that run many
+ * sweeps over the same structure (samples, scenarios) sort once here and then only stream arrays.
+ * {@link #edgeIndex} maps each position back to the edge's index in {@link Graph#getEdges()}.
+ */
+final class TopoOrderedEdges {
+    final int vertexCount;
+    final int edgeCount;
+    final int[] source;
+    final int[] target;
+    final int[] weight;
+    final int[] edgeIndex;
+
+    private TopoOrderedEdges(int vertexCount, int[] source, int[] target, int[] weight, int[] edgeIndex) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = source.length;
+        this.source = source;
+        this.target = target;
+        this.weight = weight;
+        this.edgeIndex = edgeIndex;
+    }
+
+    static TopoOrderedEdges of(Graph graph, List<Integer> topologicalOrder) {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("Path sweeps require a directed acyclic graph");
+        }
+        int n = graph.getVertexCount();
+        if (topologicalOrder.size() != n) {
+            throw new IllegalArgumentException("Topological order must cover every vertex");
+        }
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[topologicalOrder.get(i)] = i;
+        }
+
+        // Stable counting sort of edges by source rank
+        List<Edge> edges = graph.getEdges();
+        int m = edges.size();
+        int[] start = new int[n + 1];
+        for (Edge edge : edges) {
+            start[rank[edge.getU()] + 1]++;
+        }
+        for (int r = 0; r < n; r++) {
+            start[r + 1] += start[r];
+        }
+
+        int[] source = new int[m];
+        int[] target = new int[m];
+        int[] weight = new int[m];
+        int[] edgeIndex = new int[m];
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            int slot = start[rank[edge.getU()]]++;
+            source[slot] = edge.getU();
+            target[slot] = edge.getV();
+            weight[slot] = edge.getW();
+            edgeIndex[slot] = i;
+        }
+        return new TopoOrderedEdges(n, source, target, weight, edgeIndex);
+    }
+}
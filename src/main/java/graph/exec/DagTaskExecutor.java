@@ -0,0 +1,270 @@
+package graph.exec;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.CycleDetector;
+import graph.topo.CyclicGraphException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Runs one task per vertex as soon as all of its predecessors have finished.
+ * Each vertex carries an atomic count of unfinished predecessors; the task that brings a successor's count
+ * to zero schedules it. In work-stealing mode newly ready vertices are forked onto the finishing worker's
+ * own deque, so dependent chains stay on one core while idle workers steal the rest. Virtual-thread mode
+ * (JDK 21+) gives every task its own virtual thread, which suits tasks that mostly block on I/O.
+ * <p>
+ * The graph is checked for cycles with {@link TarjanSCC} before anything runs. If a task throws, no
+ * further vertices are scheduled, in-flight tasks are allowed to finish and the first failure is rethrown.
+ */
+public class DagTaskExecutor {
+    public enum Mode { WORK_STEALING, VIRTUAL_THREADS }
+
+    private final Mode mode;
+    private final int parallelism;
+    private Metrics metrics;
+
+    private DagTaskExecutor(Mode mode, int parallelism) {
+        this.mode = mode;
+        this.parallelism = parallelism;
+        this.metrics = new Metrics();
+    }
+
+    public static DagTaskExecutor workStealing() {
+        return workStealing(Runtime.getRuntime().availableProcessors());
+    }
+
+    public static DagTaskExecutor workStealing(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        return new DagTaskExecutor(Mode.WORK_STEALING, parallelism);
+    }
+
+    /** @throws UnsupportedOperationException when the running JDK has no virtual threads */
+    public static DagTaskExecutor virtualThreads() {
+        if (!isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer");
+        }
+        return new DagTaskExecutor(Mode.VIRTUAL_THREADS, Integer.MAX_VALUE);
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public ExecutionReport execute(Graph graph, VertexTask task) throws InterruptedException, ExecutionException {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("Task dependencies must form a directed graph");
+        }
+        return execute(CSRGraph.from(graph), task);
+    }
+
+    public ExecutionReport execute(AdjacencyGraph graph, VertexTask task)
+            throws InterruptedException, ExecutionException {
+        metrics.startTimer();
+        Run run;
+        long wallNanos;
+        try {
+            metrics.startPhase("cycle check");
+            int[] inDegree;
+            try {
+                inDegree = checkAcyclic(graph);
+            } finally {
+                metrics.endPhase();
+            }
+
+            metrics.startPhase("execution");
+            try {
+                run = new Run(graph, task, inDegree);
+                long start = System.nanoTime();
+                if (mode == Mode.WORK_STEALING) {
+                    ForkJoinPool pool = new ForkJoinPool(parallelism);
+                    try {
+                        run.start(pool, null);
+                        run.await();
+                    } finally {
+                        pool.shutdown();
+                    }
+                } else {
+                    ExecutorService executor = newVirtualThreadExecutor();
+                    try {
+                        run.start(null, executor);
+                        run.await();
+                    } finally {
+                        executor.shutdown();
+                    }
+                }
+                wallNanos = System.nanoTime() - start;
+            } finally {
+                metrics.endPhase();
+            }
+
+            metrics.addOperations("Tasks executed", run.completed.sum());
+            metrics.addOperations("Edge processing", graph.getEdgeCount());
+        } finally {
+            metrics.stopTimer();
+        }
+
+        Throwable failure = run.failure.get();
+        if (failure != null) {
+            throw new ExecutionException("Task failed, " + run.completed.sum() + " of "
+                    + graph.getVertexCount() + " tasks completed", failure);
+        }
+        return new ExecutionReport(mode, run.completed.sum(), wallNanos, run.taskNanos.sum(),
+                run.queueNanos.sum(), run.dispatchNanos.sum(), run.peakRunning.get(), metrics);
+    }
+
+    /** Rejects cyclic graphs up front and returns the in-degrees the run starts from. */
+    private static int[] checkAcyclic(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        int[] inDegree = new int[n];
+        boolean selfLoop = false;
+        EdgeCursor cursor = graph.newCursor();
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.next()) {
+                inDegree[cursor.target()]++;
+                selfLoop |= cursor.target() == u;
+            }
+        }
+
+        SCCResult sccs = new TarjanSCC().findSCCs(graph);
+        int cyclicVertices = 0;
+        for (List<Integer> scc : sccs.getSccs()) {
+            if (scc.size() > 1) {
+                cyclicVertices += scc.size();
+            }
+        }
+        if (cyclicVertices > 0 || selfLoop) {
+            List<Integer> cycle = new CycleDetector().findCycles(graph, 1).get(0);
+            throw new CyclicGraphException(cycle, Math.max(cyclicVertices, 1));
+        }
+        return inDegree;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+    }
+
+    /** State of one execution, shared by all tasks. */
+    private static final class Run {
+        private final AdjacencyGraph graph;
+        private final VertexTask task;
+        private final AtomicIntegerArray remaining;
+        private final int[] roots;
+        private final long[] readyAt;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peakRunning = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder taskNanos = new LongAdder();
+        private final LongAdder queueNanos = new LongAdder();
+        private final LongAdder dispatchNanos = new LongAdder();
+        private ForkJoinPool pool;
+        private ExecutorService executor;
+
+        Run(AdjacencyGraph graph, VertexTask task, int[] inDegree) {
+            this.graph = graph;
+            this.task = task;
+            this.remaining = new AtomicIntegerArray(inDegree);
+            this.roots = IntStream.range(0, inDegree.length).filter(v -> inDegree[v] == 0).toArray();
+            this.readyAt = new long[inDegree.length];
+        }
+
+        void start(ForkJoinPool pool, ExecutorService executor) {
+            this.pool = pool;
+            this.executor = executor;
+            // Hold one extra count so the run cannot finish while roots are still being submitted.
+            // Roots come from the initial in-degrees: live counters may already reach zero for successors.
+            inFlight.incrementAndGet();
+            for (int v : roots) {
+                schedule(v);
+            }
+            release();
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+        }
+
+        // Fork only from this run's own workers; a caller on another pool's worker would get the task instead
+        private void schedule(int vertex) {
+            inFlight.incrementAndGet();
+            readyAt[vertex] = System.nanoTime();
+            if (pool == null) {
+                executor.execute(() -> runVertex(vertex));
+            } else if (ForkJoinTask.getPool() == pool) {
+                ForkJoinTask.adapt(() -> runVertex(vertex)).fork();
+            } else {
+                pool.execute(() -> runVertex(vertex));
+            }
+        }
+
+        private void runVertex(int vertex) {
+            long started = System.nanoTime();
+            queueNanos.add(started - readyAt[vertex]);
+            try {
+                if (failure.get() == null) {
+                    int now = running.incrementAndGet();
+                    peakRunning.accumulateAndGet(now, Math::max);
+                    try {
+                        task.run(vertex);
+                        completed.increment();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    long finished = System.nanoTime();
+                    taskNanos.add(finished - started);
+
+                    if (failure.get() == null) {
+                        EdgeCursor cursor = graph.newCursor();
+                        cursor.reset(vertex);
+                        while (cursor.next()) {
+                            if (remaining.decrementAndGet(cursor.target()) == 0) {
+                                schedule(cursor.target());
+                            }
+                        }
+                    }
+                    dispatchNanos.add(System.nanoTime() - finished);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (inFlight.decrementAndGet() == 0) {
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package graph.exec;
+
+import graph.metrics.Metrics;
+
+public class ExecutionReport {
+    private final DagTaskExecutor.Mode mode;
+    private final long taskCount;
+    private final long wallNanos;
+    private final long taskNanos;
+    private final long queueNanos;
+    private final long dispatchNanos;
+    private final int peakConcurrency;
+    private final Metrics metrics;
+
+    public ExecutionReport(DagTaskExecutor.Mode mode, long taskCount, long wallNanos, long taskNanos,
+                           long queueNanos, long dispatchNanos, int peakConcurrency, Metrics metrics) {
+        this.mode = mode;
+        this.taskCount = taskCount;
+        this.wallNanos = wallNanos;
+        this.taskNanos = taskNanos;
+        this.queueNanos = queueNanos;
+        this.dispatchNanos = dispatchNanos;
+        this.peakConcurrency = peakConcurrency;
+        this.metrics = metrics;
+    }
+
+    public double getTasksPerSecond() {
+        return wallNanos == 0 ? 0 : taskCount * 1e9 / wallNanos;
+    }
+
+    public double getMeanTaskNanos() {
+        return taskCount == 0 ? 0 : (double) taskNanos / taskCount;
+    }
+
+    /** Mean time a ready task waited in a queue before a thread picked it up. */
+    public double getMeanQueueDelayNanos() {
+        return taskCount == 0 ? 0 : (double) queueNanos / taskCount;
+    }
+
+    /** Mean time spent after a task finished on counter updates and scheduling its successors. */
+    public double getMeanDispatchNanos() {
+        return taskCount == 0 ? 0 : (double) dispatchNanos / taskCount;
+    }
+
+    public double getMeanSchedulingOverheadNanos() {
+        return getMeanQueueDelayNanos() + getMeanDispatchNanos();
+    }
+
+    // Getters
+    public DagTaskExecutor.Mode getMode() { return mode; }
+    public long getTaskCount() { return taskCount; }
+    public long getWallNanos() { return wallNanos; }
+    public int getPeakConcurrency() { return peakConcurrency; }
+    public Metrics getMetrics() { return metrics; }
+
+    @Override
+    public String toString() {
+        return String.format("%d tasks in %.1f ms (%.0f tasks/sec, %s, peak %d concurrent), "
+                        + "mean task %.1f us, queue delay %.1f us, dispatch %.1f us",
+                taskCount, wallNanos / 1_000_000.0, getTasksPerSecond(), mode, peakConcurrency,
+                getMeanTaskNanos() / 1000, getMeanQueueDelayNanos() / 1000, getMeanDispatchNanos() / 1000);
+    }
+}
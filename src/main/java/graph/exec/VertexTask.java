@@ -0,0 +1,7 @@
+package graph.exec;
+
+/** Work attached to one vertex of a dependency DAG, run by {@link DagTaskExecutor}. */
+@FunctionalInterface
+public interface VertexTask {
+    void run(int vertex) throws Exception;
+}
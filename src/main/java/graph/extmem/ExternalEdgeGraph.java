@@ -0,0 +1,166 @@
+package graph.extmem;
+
+import graph.io.BinaryEdgeFormat;
+import graph.model.AdjacencyGraph;
+import graph.model.CacheStatistics;
+import graph.model.EdgeCursor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Semi-external adjacency over a source-sorted binary edge file.
+ * Only the CSR offsets (one long per vertex) stay in memory; edges are paged in
+ * fixed-size blocks through an LRU cache bounded by the memory budget. Cursors address edges
+ * by position and go back through the cache, so an evicted block is never kept alive by a
+ * cursor: deep DFS stacks holding one cursor per level stay within the budget.
+ * Not thread-safe: cursors of one graph share the block cache.
+ */
+public class ExternalEdgeGraph implements AdjacencyGraph, CacheStatistics, Closeable {
+    private static final int BLOCK_EDGES = 4096;
+    private static final int BLOCK_BYTES = BLOCK_EDGES * BinaryEdgeFormat.RECORD_BYTES;
+    // targets and weights arrays of one cached block
+    private static final int CACHED_BLOCK_BYTES = BLOCK_EDGES * 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final int vertexCount;
+    private final long[] offsets;
+    private final Map<Long, Block> cache;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(BLOCK_BYTES);
+    // Most recently used block, shared by all cursors; at most one block beyond the cache limit
+    private long lastBlockId = -1;
+    private Block lastBlock;
+    private long bytesRead;
+    private long cacheHits;
+    private long cacheMisses;
+
+    public ExternalEdgeGraph(Path sortedEdgeFile, long[] offsets, long cacheBytes) throws IOException {
+        this.channel = FileChannel.open(sortedEdgeFile, StandardOpenOption.READ);
+        this.vertexCount = offsets.length - 1;
+        this.offsets = offsets;
+        int maxBlocks = (int) Math.max(2, Math.min(1 << 20, cacheBytes / CACHED_BLOCK_BYTES));
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Block> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+
+    @Override
+    public int getVertexCount() { return vertexCount; }
+
+    @Override
+    public long getEdgeCount() { return offsets[vertexCount]; }
+
+    @Override
+    public int outDegree(int u) { return (int) (offsets[u + 1] - offsets[u]); }
+
+    @Override
+    public EdgeCursor newCursor() { return new Cursor(); }
+
+    public long getBytesRead() { return bytesRead; }
+
+    @Override
+    public long getCacheHits() { return cacheHits; }
+
+    @Override
+    public long getCacheMisses() { return cacheMisses; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Block block(long id) {
+        if (id == lastBlockId) {
+            cacheHits++;
+            return lastBlock;
+        }
+        Block block = cache.get(id);
+        if (block != null) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+            block = load(id);
+            cache.put(id, block);
+        }
+        lastBlockId = id;
+        lastBlock = block;
+        return block;
+    }
+
+    private Block load(long id) {
+        long first = id * BLOCK_EDGES;
+        int count = (int) Math.min(BLOCK_EDGES, getEdgeCount() - first);
+        long position = BinaryEdgeFormat.HEADER_BYTES + first * BinaryEdgeFormat.RECORD_BYTES;
+        readBuffer.clear().limit(count * BinaryEdgeFormat.RECORD_BYTES);
+        try {
+            while (readBuffer.hasRemaining()) {
+                int read = channel.read(readBuffer, position + readBuffer.position());
+                if (read < 0) {
+                    throw new IOException("Truncated sorted edge file");
+                }
+                bytesRead += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read edge block " + id, e);
+        }
+        readBuffer.flip();
+
+        Block block = new Block(count);
+        for (int i = 0; i < count; i++) {
+            readBuffer.getInt(); // source is implied by the offsets
+            block.targets[i] = readBuffer.getInt();
+            block.weights[i] = readBuffer.getInt();
+        }
+        return block;
+    }
+
+    private static final class Block {
+        final int[] targets;
+        final int[] weights;
+
+        Block(int count) {
+            this.targets = new int[count];
+            this.weights = new int[count];
+        }
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private long pos;
+        private long end;
+        private int target;
+        private int weight;
+
+        @Override
+        public void reset(int u) {
+            pos = offsets[u] - 1;
+            end = offsets[u + 1];
+        }
+
+        @Override
+        public boolean next() {
+            if (++pos >= end) {
+                return false;
+            }
+            Block block = block(pos / BLOCK_EDGES);
+            int offset = (int) (pos % BLOCK_EDGES);
+            target = block.targets[offset];
+            weight = block.weights[offset];
+            return true;
+        }
+
+        @Override
+        public int target() { return target; }
+
+        @Override
+        public int weight() { return weight; }
+    }
+}
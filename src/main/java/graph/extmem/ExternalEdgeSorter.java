@@ -0,0 +1,201 @@
+package graph.extmem;
+
+import graph.io.BinaryEdgeFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorts a binary edge file by source vertex within a fixed memory budget.
+ * Sorted runs are produced in memory, spilled to disk and k-way merged. The sort is stable,
+ * so each vertex keeps its out-edges in file order, exactly like {@link graph.model.CSRGraph}.
+ */
+public class ExternalEdgeSorter {
+    // int u, v, w plus one long sort key per buffered edge
+    private static final int BYTES_PER_BUFFERED_EDGE = 3 * Integer.BYTES + Long.BYTES;
+    private static final int MIN_RUN_EDGES = 1024;
+    private static final int MIN_READ_BUFFER = 64 * BinaryEdgeFormat.RECORD_BYTES;
+
+    private final long memoryBudgetBytes;
+    private final Path tempDir;
+    private long bytesRead;
+    private long bytesWritten;
+    private int runCount;
+
+    public ExternalEdgeSorter(long memoryBudgetBytes, Path tempDir) {
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Writes the edges of {@code input} to {@code output} grouped by source vertex and
+     * returns the CSR offsets (vertexCount + 1 entries) of the sorted file.
+     */
+    public long[] sort(Path input, Path output) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        int vertexCount;
+        try {
+            try (BinaryEdgeFormat.Reader reader = BinaryEdgeFormat.reader(input)) {
+                vertexCount = reader.getVertexCount();
+                writeRuns(reader, runs);
+                bytesRead += reader.getBytesRead();
+            }
+            runCount = runs.size();
+
+            int fanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE, memoryBudgetBytes / MIN_READ_BUFFER));
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = Files.createTempFile(tempDir, "edge-run", ".bin");
+                    merge(group, run, vertexCount, null);
+                    deleteAll(group);
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+
+            long[] offsets = new long[vertexCount + 1];
+            merge(runs, output, vertexCount, offsets);
+            for (int i = 0; i < vertexCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            return offsets;
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    public long getBytesRead() { return bytesRead; }
+    public long getBytesWritten() { return bytesWritten; }
+    public int getRunCount() { return runCount; }
+
+    private void writeRuns(BinaryEdgeFormat.Reader reader, List<Path> runs) throws IOException {
+        int capacity = (int) Math.max(MIN_RUN_EDGES, Math.min(Integer.MAX_VALUE - 8,
+                Math.min(reader.getEdgeCount(), memoryBudgetBytes / BYTES_PER_BUFFERED_EDGE)));
+        int[] us = new int[capacity];
+        int[] vs = new int[capacity];
+        int[] ws = new int[capacity];
+        long[] keys = new long[capacity];
+
+        int size = 0;
+        boolean more = reader.next();
+        while (more || size > 0) {
+            while (more && size < capacity) {
+                us[size] = reader.u();
+                vs[size] = reader.v();
+                ws[size] = reader.w();
+                size++;
+                more = reader.next();
+            }
+
+            // Source in the high word, arrival index in the low word keeps the sort stable
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) us[i] << 32) | i;
+            }
+            Arrays.sort(keys, 0, size);
+
+            Path run = Files.createTempFile(tempDir, "edge-run", ".bin");
+            BinaryEdgeFormat.Writer writer = BinaryEdgeFormat.writer(run, reader.getVertexCount());
+            try (writer) {
+                for (int i = 0; i < size; i++) {
+                    int idx = (int) keys[i];
+                    writer.write(us[idx], vs[idx], ws[idx]);
+                }
+            }
+            bytesWritten += writer.getBytesWritten();
+            runs.add(run);
+            size = 0;
+        }
+    }
+
+    // Runs are merged by (source, run index) so that earlier runs win ties and order stays stable
+    private void merge(List<Path> runs, Path output, int vertexCount, long[] degrees) throws IOException {
+        int k = runs.size();
+        int bufferBytes = (int) Math.max(MIN_READ_BUFFER, Math.min(1 << 20, memoryBudgetBytes / (k + 1)));
+        BinaryEdgeFormat.Reader[] readers = new BinaryEdgeFormat.Reader[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+
+        BinaryEdgeFormat.Writer writer = BinaryEdgeFormat.writer(output, vertexCount);
+        try (writer) {
+            for (int r = 0; r < k; r++) {
+                readers[r] = BinaryEdgeFormat.reader(runs.get(r), bufferBytes);
+                if (readers[r].next()) {
+                    heap[heapSize++] = r;
+                    siftUp(heap, heapSize - 1, readers);
+                }
+            }
+
+            while (heapSize > 0) {
+                int r = heap[0];
+                BinaryEdgeFormat.Reader reader = readers[r];
+                writer.write(reader.u(), reader.v(), reader.w());
+                if (degrees != null) {
+                    degrees[reader.u() + 1]++;
+                }
+                if (!reader.next()) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, readers);
+            }
+        } finally {
+            for (BinaryEdgeFormat.Reader reader : readers) {
+                if (reader != null) {
+                    bytesRead += reader.getBytesRead();
+                    reader.close();
+                }
+            }
+        }
+        bytesWritten += writer.getBytesWritten();
+    }
+
+    private static boolean less(int a, int b, BinaryEdgeFormat.Reader[] readers) {
+        int ua = readers[a].u();
+        int ub = readers[b].u();
+        return ua < ub || (ua == ub && a < b);
+    }
+
+    private static void siftUp(int[] heap, int i, BinaryEdgeFormat.Reader[] readers) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(heap[i], heap[parent], readers)) {
+                break;
+            }
+            int tmp = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, BinaryEdgeFormat.Reader[] readers) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && less(heap[left + 1], heap[left], readers) ? left + 1 : left;
+            if (!less(heap[child], heap[i], readers)) {
+                return;
+            }
+            int tmp = heap[i];
+            heap[i] = heap[child];
+            heap[child] = tmp;
+            i = child;
+        }
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
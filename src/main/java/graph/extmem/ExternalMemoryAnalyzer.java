@@ -0,0 +1,67 @@
+package graph.extmem;
+
+import graph.metrics.Metrics;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import graph.topo.TopoResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Out-of-core SCC detection and topological sorting over binary edge files.
+ * Uses the semi-external model: per-vertex state stays in memory while edges are
+ * sorted on disk and streamed through a bounded block cache, so the results are
+ * identical to running {@link TarjanSCC} and {@link KahnsAlgorithm} in memory.
+ */
+public class ExternalMemoryAnalyzer {
+    private final long memoryBudgetBytes;
+    private final Path tempDir;
+
+    public ExternalMemoryAnalyzer(long memoryBudgetBytes, Path tempDir) {
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempDir = tempDir;
+    }
+
+    public SCCResult findSCCs(Path edgeFile) throws IOException {
+        Path sorted = Files.createTempFile(tempDir, "edges-sorted", ".bin");
+        try {
+            ExternalEdgeSorter sorter = new ExternalEdgeSorter(memoryBudgetBytes, tempDir);
+            long[] offsets = sorter.sort(edgeFile, sorted);
+            try (ExternalEdgeGraph graph = new ExternalEdgeGraph(sorted, offsets, memoryBudgetBytes)) {
+                SCCResult result = new TarjanSCC().findSCCs(graph);
+                recordIo(result.getMetrics(), sorter, graph);
+                return result;
+            }
+        } finally {
+            Files.deleteIfExists(sorted);
+        }
+    }
+
+    public TopoResult topologicalSort(Path edgeFile) throws IOException {
+        Path sorted = Files.createTempFile(tempDir, "edges-sorted", ".bin");
+        try {
+            ExternalEdgeSorter sorter = new ExternalEdgeSorter(memoryBudgetBytes, tempDir);
+            long[] offsets = sorter.sort(edgeFile, sorted);
+            try (ExternalEdgeGraph graph = new ExternalEdgeGraph(sorted, offsets, memoryBudgetBytes)) {
+                TopoResult result = new KahnsAlgorithm().topologicalSort(graph);
+                recordIo(result.getMetrics(), sorter, graph);
+                return result;
+            }
+        } finally {
+            Files.deleteIfExists(sorted);
+        }
+    }
+
+    private static void recordIo(Metrics metrics, ExternalEdgeSorter sorter, ExternalEdgeGraph graph) {
+        metrics.addOperations("I/O bytes read", sorter.getBytesRead() + graph.getBytesRead());
+        metrics.addOperations("I/O bytes written", sorter.getBytesWritten());
+        metrics.addOperations("Sort runs", sorter.getRunCount());
+        metrics.addOperations("Block cache hits", graph.getCacheHits());
+        metrics.addOperations("Block cache misses", graph.getCacheMisses());
+    }
+}
@@ -0,0 +1,173 @@
+package graph.io;
+
+import graph.model.Edge;
+import graph.model.Graph;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary edge-list format used for on-disk and inter-process edge exchange.
+ * Layout (big-endian): magic, vertex count, edge count (long), then one (u, v, w) int
+ * triple per edge. Edges are always directed; undirected graphs are written mirrored.
+ */
+public final class BinaryEdgeFormat {
+    public static final int MAGIC = 0x45444731; // "EDG1"
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 12;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private BinaryEdgeFormat() {}
+
+    public static void write(Graph graph, Path file) throws IOException {
+        try (Writer writer = writer(file, graph.getVertexCount())) {
+            for (Edge edge : graph.getEdges()) {
+                writer.write(edge.getU(), edge.getV(), edge.getW());
+                if (!graph.isDirected()) {
+                    writer.write(edge.getV(), edge.getU(), edge.getW());
+                }
+            }
+        }
+    }
+
+    public static Writer writer(Path file, int vertexCount) throws IOException {
+        return new Writer(file, vertexCount, BUFFER_BYTES);
+    }
+
+    public static Reader reader(Path file) throws IOException {
+        return new Reader(file, BUFFER_BYTES);
+    }
+
+    public static Reader reader(Path file, int bufferBytes) throws IOException {
+        return new Reader(file, bufferBytes);
+    }
+
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int vertexCount;
+        private long edgeCount;
+        private long bytesWritten;
+        private boolean closed;
+
+        private Writer(Path file, int vertexCount, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(Math.max(bufferBytes, HEADER_BYTES + RECORD_BYTES));
+            this.vertexCount = vertexCount;
+            // Header is rewritten with the final edge count on close
+            buffer.putInt(MAGIC).putInt(vertexCount).putLong(0L);
+        }
+
+        public void write(int u, int v, int w) throws IOException {
+            if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount) {
+                throw new IllegalArgumentException("Edge (" + u + ", " + v + ") out of range");
+            }
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putInt(u).putInt(v).putInt(w);
+            edgeCount++;
+        }
+
+        public long getEdgeCount() { return edgeCount; }
+        public long getBytesWritten() { return bytesWritten; }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(vertexCount).putLong(edgeCount).flip();
+                channel.write(header, 0);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int vertexCount;
+        private final long edgeCount;
+        private long remaining;
+        private long bytesRead;
+        private int u;
+        private int v;
+        private int w;
+
+        private Reader(Path file, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            int records = Math.max(1, bufferBytes / RECORD_BYTES);
+            this.buffer = ByteBuffer.allocate(Math.max(records * RECORD_BYTES, HEADER_BYTES));
+            buffer.limit(HEADER_BYTES);
+            fill(HEADER_BYTES);
+            if (buffer.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException("Not a binary edge file: " + file);
+            }
+            this.vertexCount = buffer.getInt();
+            this.edgeCount = buffer.getLong();
+            this.remaining = edgeCount;
+            buffer.clear().limit(0);
+        }
+
+        public int getVertexCount() { return vertexCount; }
+        public long getEdgeCount() { return edgeCount; }
+        public long getBytesRead() { return bytesRead; }
+
+        public boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+                long wanted = Math.min((long) buffer.capacity() / RECORD_BYTES, remaining) * RECORD_BYTES;
+                buffer.limit((int) wanted);
+                fill((int) wanted);
+            }
+            u = buffer.getInt();
+            v = buffer.getInt();
+            w = buffer.getInt();
+            remaining--;
+            return true;
+        }
+
+        public int u() { return u; }
+        public int v() { return v; }
+        public int w() { return w; }
+
+        private void fill(int limit) throws IOException {
+            while (buffer.position() < limit) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new IOException("Truncated binary edge file");
+                }
+                bytesRead += read;
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package graph.io;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.util.AnalysisStatus;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Tagged big-endian binary sections after a {@link #MAGIC} header. Every array is
+ * written as its int length followed by its int elements.
+ * <ul>
+ *   <li>{@link #TAG_SCCS}: component count, then one array per component</li>
+ *   <li>{@link #TAG_TOPO}: order array</li>
+ *   <li>{@link #TAG_SHORTEST}: source, distances (MAX_VALUE = unreachable), predecessors</li>
+ *   <li>{@link #TAG_CRITICAL}: length, path, distances (MIN_VALUE = unreachable)</li>
+ *   <li>{@link #TAG_STATUS}: last, the {@link AnalysisStatus} ordinal as an int</li>
+ * </ul>
+ */
+public class BinaryResultWriter implements ResultWriter {
+    public static final int MAGIC = 0x52455331; // "RES1"
+    public static final int TAG_SCCS = 1;
+    public static final int TAG_TOPO = 2;
+    public static final int TAG_SHORTEST = 3;
+    public static final int TAG_CRITICAL = 4;
+    public static final int TAG_STATUS = 5;
+
+    private final ChannelOutput out;
+    private AnalysisStatus status = AnalysisStatus.COMPLETE;
+
+    public BinaryResultWriter(WritableByteChannel channel) throws IOException {
+        this.out = new ChannelOutput(channel);
+        out.rawInt(MAGIC);
+    }
+
+    @Override
+    public void writeSCCs(SCCResult result) throws IOException {
+        record(result.getStatus());
+        List<List<Integer>> sccs = result.getSccs();
+        out.rawByte(TAG_SCCS);
+        out.rawInt(sccs.size());
+        for (List<Integer> scc : sccs) {
+            writeList(scc);
+        }
+    }
+
+    @Override
+    public void writeTopologicalOrder(TopoResult result) throws IOException {
+        record(result.getStatus());
+        out.rawByte(TAG_TOPO);
+        writeList(result.getTopologicalOrder());
+    }
+
+    @Override
+    public void writeShortestPaths(ShortestPathResult result, int source) throws IOException {
+        record(result.getStatus());
+        out.rawByte(TAG_SHORTEST);
+        out.rawInt(source);
+        writeArray(result.getDistances());
+        writeArray(result.getPredecessors());
+    }
+
+    @Override
+    public void writeCriticalPath(CriticalPathResult result) throws IOException {
+        record(result.getStatus());
+        out.rawByte(TAG_CRITICAL);
+        out.rawInt(result.getMaxDistance());
+        writeList(result.getCriticalPath());
+        writeArray(result.getDistances());
+    }
+
+    private void record(AnalysisStatus sectionStatus) {
+        if (status == AnalysisStatus.COMPLETE) {
+            status = sectionStatus;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() { return out.getBytesWritten(); }
+
+    @Override
+    public void close() throws IOException {
+        out.rawByte(TAG_STATUS);
+        out.rawInt(status.ordinal());
+        out.close();
+    }
+
+    private void writeList(List<Integer> values) throws IOException {
+        out.rawInt(values.size());
+        for (int value : values) {
+            out.rawInt(value);
+        }
+    }
+
+    private void writeArray(int[] values) throws IOException {
+        out.rawInt(values.length);
+        for (int value : values) {
+            out.rawInt(value);
+        }
+    }
+}
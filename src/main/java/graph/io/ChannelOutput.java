@@ -0,0 +1,112 @@
+package graph.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered byte sink over a channel. Integers are encoded straight into the buffer,
+ * as ASCII digits or raw big-endian bytes, so writers never build per-element strings.
+ */
+final class ChannelOutput implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final byte[] MIN_INT = String.valueOf(Integer.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long bytesWritten;
+
+    ChannelOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void ascii(byte[] token) throws IOException {
+        if (buffer.remaining() < token.length) {
+            flush();
+        }
+        if (token.length > buffer.capacity()) {
+            channel.write(ByteBuffer.wrap(token));
+            bytesWritten += token.length;
+            return;
+        }
+        buffer.put(token);
+    }
+
+    void ascii(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+    }
+
+    void decimal(long value) throws IOException {
+        ensure(20);
+        if (value == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Long.MIN_VALUE is not supported");
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        if (value == 0) {
+            buffer.put((byte) '0');
+            return;
+        }
+        int start = buffer.position();
+        while (value > 0) {
+            buffer.put((byte) ('0' + (int) (value % 10)));
+            value /= 10;
+        }
+        // Digits were written least significant first; reverse them in place
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte tmp = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, tmp);
+        }
+    }
+
+    void decimal(int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            ascii(MIN_INT);
+        } else {
+            decimal((long) value);
+        }
+    }
+
+    void rawInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void rawByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
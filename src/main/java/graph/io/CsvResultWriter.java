@@ -0,0 +1,119 @@
+package graph.io;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.util.AnalysisStatus;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes long-format CSV rows {@code record,key,value}: one row per SCC member, order position,
+ * distance or path vertex. Unreachable distances leave the value empty; the last row is
+ * {@code status,,<status>}.
+ */
+public class CsvResultWriter implements ResultWriter {
+    private static final byte[] HEADER = bytes("record,key,value\n");
+    private static final byte[] SCC = bytes("scc,");
+    private static final byte[] TOPO = bytes("topo,");
+    private static final byte[] SOURCE = bytes("source,,");
+    private static final byte[] DISTANCE = bytes("distance,");
+    private static final byte[] CRITICAL_LENGTH = bytes("critical_length,,");
+    private static final byte[] CRITICAL_PATH = bytes("critical_path,");
+    private static final byte[] CRITICAL_DISTANCE = bytes("critical_distance,");
+    private static final byte[] STATUS = bytes("status,,");
+
+    private final ChannelOutput out;
+    private AnalysisStatus status = AnalysisStatus.COMPLETE;
+
+    public CsvResultWriter(WritableByteChannel channel) throws IOException {
+        this.out = new ChannelOutput(channel);
+        out.ascii(HEADER);
+    }
+
+    @Override
+    public void writeSCCs(SCCResult result) throws IOException {
+        record(result.getStatus());
+        List<List<Integer>> sccs = result.getSccs();
+        for (int i = 0; i < sccs.size(); i++) {
+            for (int vertex : sccs.get(i)) {
+                row(SCC, i, vertex);
+            }
+        }
+    }
+
+    @Override
+    public void writeTopologicalOrder(TopoResult result) throws IOException {
+        record(result.getStatus());
+        List<Integer> order = result.getTopologicalOrder();
+        for (int i = 0; i < order.size(); i++) {
+            row(TOPO, i, order.get(i));
+        }
+    }
+
+    @Override
+    public void writeShortestPaths(ShortestPathResult result, int source) throws IOException {
+        record(result.getStatus());
+        out.ascii(SOURCE);
+        out.decimal(source);
+        out.ascii('\n');
+        writeDistances(DISTANCE, result.getDistances(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void writeCriticalPath(CriticalPathResult result) throws IOException {
+        record(result.getStatus());
+        out.ascii(CRITICAL_LENGTH);
+        out.decimal(result.getMaxDistance());
+        out.ascii('\n');
+        List<Integer> path = result.getCriticalPath();
+        for (int i = 0; i < path.size(); i++) {
+            row(CRITICAL_PATH, i, path.get(i));
+        }
+        writeDistances(CRITICAL_DISTANCE, result.getDistances(), Integer.MIN_VALUE);
+    }
+
+    private void record(AnalysisStatus sectionStatus) {
+        if (status == AnalysisStatus.COMPLETE) {
+            status = sectionStatus;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() { return out.getBytesWritten(); }
+
+    @Override
+    public void close() throws IOException {
+        out.ascii(STATUS);
+        out.ascii(bytes(status.name()));
+        out.ascii('\n');
+        out.close();
+    }
+
+    private void writeDistances(byte[] record, int[] distances, int unreachable) throws IOException {
+        for (int v = 0; v < distances.length; v++) {
+            out.ascii(record);
+            out.decimal(v);
+            out.ascii(',');
+            if (distances[v] != unreachable) {
+                out.decimal(distances[v]);
+            }
+            out.ascii('\n');
+        }
+    }
+
+    private void row(byte[] record, int key, int value) throws IOException {
+        out.ascii(record);
+        out.decimal(key);
+        out.ascii(',');
+        out.decimal(value);
+        out.ascii('\n');
+    }
+
+    private static byte[] bytes(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+}
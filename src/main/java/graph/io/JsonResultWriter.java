@@ -0,0 +1,143 @@
+package graph.io;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.util.AnalysisStatus;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes one JSON object with a member per section and a final {@code "status"}; unreachable distances
+ * are {@code null}.
+ */
+public class JsonResultWriter implements ResultWriter {
+    private static final byte[] NULL = bytes("null");
+
+    private final ChannelOutput out;
+    private AnalysisStatus status = AnalysisStatus.COMPLETE;
+    private boolean firstSection = true;
+
+    public JsonResultWriter(WritableByteChannel channel) throws IOException {
+        this.out = new ChannelOutput(channel);
+        out.ascii('{');
+    }
+
+    @Override
+    public void writeSCCs(SCCResult result) throws IOException {
+        record(result.getStatus());
+        section("sccs");
+        out.ascii('[');
+        List<List<Integer>> sccs = result.getSccs();
+        for (int i = 0; i < sccs.size(); i++) {
+            if (i > 0) {
+                out.ascii(',');
+            }
+            writeArray(sccs.get(i));
+        }
+        out.ascii(']');
+    }
+
+    @Override
+    public void writeTopologicalOrder(TopoResult result) throws IOException {
+        record(result.getStatus());
+        section("topologicalOrder");
+        writeArray(result.getTopologicalOrder());
+    }
+
+    @Override
+    public void writeShortestPaths(ShortestPathResult result, int source) throws IOException {
+        record(result.getStatus());
+        section("shortestPaths");
+        out.ascii(bytes("{\"source\":"));
+        out.decimal(source);
+        out.ascii(bytes(",\"distances\":"));
+        writeDistances(result.getDistances(), Integer.MAX_VALUE);
+        out.ascii(bytes(",\"predecessors\":"));
+        writeArray(result.getPredecessors());
+        out.ascii('}');
+    }
+
+    @Override
+    public void writeCriticalPath(CriticalPathResult result) throws IOException {
+        record(result.getStatus());
+        section("criticalPath");
+        out.ascii(bytes("{\"length\":"));
+        out.decimal(result.getMaxDistance());
+        out.ascii(bytes(",\"path\":"));
+        writeArray(result.getCriticalPath());
+        out.ascii(bytes(",\"distances\":"));
+        writeDistances(result.getDistances(), Integer.MIN_VALUE);
+        out.ascii('}');
+    }
+
+    private void record(AnalysisStatus sectionStatus) {
+        if (status == AnalysisStatus.COMPLETE) {
+            status = sectionStatus;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() { return out.getBytesWritten(); }
+
+    @Override
+    public void close() throws IOException {
+        section("status");
+        out.ascii(bytes("\"" + status + "\""));
+        out.ascii('}');
+        out.ascii('\n');
+        out.close();
+    }
+
+    private void section(String name) throws IOException {
+        if (!firstSection) {
+            out.ascii(',');
+        }
+        firstSection = false;
+        out.ascii(bytes("\"" + name + "\":"));
+    }
+
+    private void writeArray(List<Integer> values) throws IOException {
+        out.ascii('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.ascii(',');
+            }
+            out.decimal(values.get(i));
+        }
+        out.ascii(']');
+    }
+
+    private void writeArray(int[] values) throws IOException {
+        out.ascii('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.ascii(',');
+            }
+            out.decimal(values[i]);
+        }
+        out.ascii(']');
+    }
+
+    private void writeDistances(int[] distances, int unreachable) throws IOException {
+        out.ascii('[');
+        for (int i = 0; i < distances.length; i++) {
+            if (i > 0) {
+                out.ascii(',');
+            }
+            if (distances[i] == unreachable) {
+                out.ascii(NULL);
+            } else {
+                out.decimal(distances[i]);
+            }
+        }
+        out.ascii(']');
+    }
+
+    private static byte[] bytes(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,62 @@
+package graph.io;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Streams analysis results to a channel in one of the supported {@link Format}s.
+ * Sections may be written in any order, each at most once; {@link #close()} finishes the document and
+ * records its status: the first non-COMPLETE {@link graph.util.AnalysisStatus} of the sections written,
+ * or COMPLETE. A file without a status was not finished.
+ */
+public interface ResultWriter extends Closeable {
+
+    enum Format {
+        JSON, CSV, BINARY;
+
+        public static Format fromName(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown result format: " + name + " (json, csv, binary)");
+            }
+        }
+    }
+
+    void writeSCCs(SCCResult result) throws IOException;
+
+    void writeTopologicalOrder(TopoResult result) throws IOException;
+
+    void writeShortestPaths(ShortestPathResult result, int source) throws IOException;
+
+    void writeCriticalPath(CriticalPathResult result) throws IOException;
+
+    long getBytesWritten();
+
+    static ResultWriter open(Format format, Path file) throws IOException {
+        return create(format, FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    static ResultWriter create(Format format, WritableByteChannel channel) throws IOException {
+        switch (format) {
+            case JSON:
+                return new JsonResultWriter(channel);
+            case CSV:
+                return new CsvResultWriter(channel);
+            case BINARY:
+                return new BinaryResultWriter(channel);
+            default:
+                throw new IllegalArgumentException("Unknown result format: " + format);
+        }
+    }
+}
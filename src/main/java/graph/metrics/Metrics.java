@@ -1,13 +1,39 @@
 package graph.metrics;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graph.model.AdjacencyGraph;
+import graph.model.CacheStatistics;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import jdk.jfr.EventType;
 
+/**
+ * Elapsed time, operation counters and a tree of named phases for one engine. While a Flight Recorder
+ * recording has the {@code graph.Phase} event enabled, every phase is also committed as a
+ * {@link PhaseEvent}; with the event disabled a phase costs one flag check more than before.
+ */
 public class Metrics {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final EventType PHASE_EVENTS = EventType.getEventType(PhaseEvent.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     private long startTime;
     private long endTime;
-    private Map<String, Integer> operationCounts;
+    private Map<String, Long> operationCounts;
+
+    // Phases nest on the thread that opens them; finished top-level phases are kept in order
+    private final Deque<OpenPhase> openPhases = new ArrayDeque<>();
+    private final List<PhaseStats> phases = new ArrayList<>();
 
     public Metrics() {
         this.operationCounts = new ConcurrentHashMap<>();
@@ -26,20 +52,207 @@ public class Metrics {
     }
 
     public void incrementOperation(String operation) {
-        operationCounts.merge(operation, 1, Integer::sum);
+        operationCounts.merge(operation, 1L, Long::sum);
+    }
+
+    // Bulk variant so hot loops can count locally and publish once
+    public void addOperations(String operation, long count) {
+        operationCounts.merge(operation, count, Long::sum);
     }
 
-    public int getOperationCount(String operation) {
-        return operationCounts.getOrDefault(operation, 0);
+    public long getOperationCount(String operation) {
+        return operationCounts.getOrDefault(operation, 0L);
     }
 
-    public Map<String, Integer> getAllOperationCounts() {
+    public Map<String, Long> getAllOperationCounts() {
         return new HashMap<>(operationCounts);
     }
 
+    /**
+     * Opens a phase nested inside the currently open one, if any. Phases must be ended on the
+     * thread that started them, since CPU time and allocation are read per thread.
+     */
+    public void startPhase(String name) {
+        openPhases.push(new OpenPhase(name, openPhases.peek(), operationCounts));
+    }
+
+    /**
+     * Size of the input the innermost open phase works on, reported in its Flight Recorder event and
+     * inherited by phases nested inside it. Does nothing unless the event is being recorded.
+     */
+    public void describePhase(long vertexCount, long edgeCount) {
+        OpenPhase open = openPhases.peek();
+        if (open != null && open.event != null) {
+            open.vertexCount = vertexCount;
+            open.edgeCount = edgeCount;
+        }
+    }
+
+    /** As {@link #describePhase(long, long)}, also tracking cache hits if the graph pages through a cache. */
+    public void describePhase(AdjacencyGraph graph) {
+        OpenPhase open = openPhases.peek();
+        if (open != null && open.event != null) {
+            open.vertexCount = graph.getVertexCount();
+            open.edgeCount = graph.getEdgeCount();
+            if (graph instanceof CacheStatistics) {
+                open.watchCache((CacheStatistics) graph);
+            }
+        }
+    }
+
+    /** Closes the innermost open phase and returns its measurements. */
+    public PhaseStats endPhase() {
+        OpenPhase open = openPhases.poll();
+        if (open == null) {
+            throw new IllegalStateException("No phase is open");
+        }
+        PhaseStats stats = open.finish(operationCounts);
+        OpenPhase parent = openPhases.peek();
+        if (parent != null) {
+            parent.children.add(stats);
+        } else {
+            phases.add(stats);
+        }
+        return stats;
+    }
+
+    /** Finished top-level phases in the order they ended; nested phases hang off their parents. */
+    public List<PhaseStats> getPhases() {
+        return new ArrayList<>(phases);
+    }
+
+    /** Elapsed time, operation counts and the phase tree as a JSON object. */
+    public String toJson() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("elapsedNanos", getElapsedTime());
+        root.put("operations", getAllOperationCounts());
+        root.put("phases", phases);
+        try {
+            return JSON.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise metrics", e);
+        }
+    }
+
     public void reset() {
         operationCounts.clear();
+        openPhases.clear();
+        phases.clear();
         startTime = 0;
         endTime = 0;
     }
-}
\ No newline at end of file
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    private static long delta(long end, long start) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    private static final class OpenPhase {
+        private final String name;
+        private final long wall;
+        private final long cpu;
+        private final long allocated;
+        private final long[] gc;
+        private final List<PhaseStats> children = new ArrayList<>();
+
+        // Flight Recorder state, only filled in while the event is enabled
+        private final PhaseEvent event;
+        private String path;
+        private long vertexCount = -1;
+        private long edgeCount = -1;
+        private CacheStatistics cache;
+        private long cacheHits;
+        private long cacheMisses;
+        private Map<String, Long> operationsAtStart;
+
+        OpenPhase(String name, OpenPhase parent, Map<String, Long> operationCounts) {
+            this.name = name;
+            if (PHASE_EVENTS.isEnabled()) {
+                this.event = new PhaseEvent();
+                this.path = parent == null ? name : parent.path + "/" + name;
+                this.operationsAtStart = new HashMap<>(operationCounts);
+                if (parent != null && parent.event != null) {
+                    vertexCount = parent.vertexCount;
+                    edgeCount = parent.edgeCount;
+                    if (parent.cache != null) {
+                        watchCache(parent.cache);
+                    }
+                }
+                event.begin();
+            } else {
+                this.event = null;
+            }
+            this.gc = gcTotals();
+            this.allocated = allocatedBytes();
+            this.cpu = cpuTime();
+            this.wall = System.nanoTime();
+        }
+
+        void watchCache(CacheStatistics statistics) {
+            cache = statistics;
+            cacheHits = statistics.getCacheHits();
+            cacheMisses = statistics.getCacheMisses();
+        }
+
+        PhaseStats finish(Map<String, Long> operationCounts) {
+            long wallEnd = System.nanoTime();
+            long cpuEnd = cpuTime();
+            long allocatedEnd = allocatedBytes();
+            long[] gcEnd = gcTotals();
+            PhaseStats stats = new PhaseStats(name, wallEnd - wall, delta(cpuEnd, cpu),
+                    delta(allocatedEnd, allocated), gcEnd[0] - gc[0], gcEnd[1] - gc[1], children);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    commit(stats, operationCounts);
+                }
+            }
+            return stats;
+        }
+
+        private void commit(PhaseStats stats, Map<String, Long> operationCounts) {
+            event.phase = name;
+            event.path = path;
+            event.vertexCount = vertexCount;
+            event.edgeCount = edgeCount;
+            event.cpuTime = stats.getCpuNanos();
+            event.allocated = stats.getAllocatedBytes();
+            event.gcCount = stats.getGcCount();
+            event.cacheHits = cache == null ? -1 : cache.getCacheHits() - cacheHits;
+            event.cacheMisses = cache == null ? -1 : cache.getCacheMisses() - cacheMisses;
+            StringBuilder operations = new StringBuilder();
+            for (Map.Entry<String, Long> counter : operationCounts.entrySet()) {
+                long added = counter.getValue() - operationsAtStart.getOrDefault(counter.getKey(), 0L);
+                if (added != 0) {
+                    operations.append(operations.length() == 0 ? "" : ", ")
+                            .append(counter.getKey()).append('=').append(added);
+                }
+            }
+            event.operations = operations.toString();
+            event.commit();
+        }
+    }
+}
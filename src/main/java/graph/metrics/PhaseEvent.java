@@ -0,0 +1,55 @@
+package graph.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one {@link Metrics} phase, committed when the phase ends. The event's own
+ * start and duration place the phase on the recording's timeline next to GC and CPU samples. Counts an
+ * engine did not report are -1.
+ */
+@Name("graph.Phase")
+@Label("Algorithm Phase")
+@Category({"Graph Analysis"})
+@Description("One phase of a graph algorithm, such as adjacency build, traversal or relaxation")
+@StackTrace(false)
+final class PhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Path")
+    @Description("Enclosing phases, outermost first, separated by '/'")
+    String path;
+
+    @Label("Vertices")
+    long vertexCount;
+
+    @Label("Edges")
+    long edgeCount;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    @Label("GC Count")
+    long gcCount;
+
+    @Label("Cache Hits")
+    long cacheHits;
+
+    @Label("Cache Misses")
+    long cacheMisses;
+
+    @Label("Operations")
+    @Description("Operation counters added while the phase was open, e.g. edge traversals")
+    String operations;
+}
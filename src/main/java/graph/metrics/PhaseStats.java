@@ -0,0 +1,50 @@
+package graph.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resource usage of one named phase recorded by {@link Metrics#startPhase}/{@link Metrics#endPhase}.
+ * CPU time and allocated bytes belong to the thread that ran the phase; GC figures are JVM-wide and
+ * cover whatever collections happened while the phase was open. Unsupported measurements are -1.
+ */
+public class PhaseStats {
+    private final String name;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcMillis;
+    private final List<PhaseStats> children;
+
+    public PhaseStats(String name, long wallNanos, long cpuNanos, long allocatedBytes,
+                      long gcCount, long gcMillis, List<PhaseStats> children) {
+        this.name = name;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.children = Collections.unmodifiableList(children);
+    }
+
+    /** Wall time not spent on this thread's CPU: blocking, I/O, GC and scheduling. */
+    public long getOffCpuNanos() {
+        return cpuNanos < 0 ? -1 : Math.max(0, wallNanos - cpuNanos);
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public long getWallNanos() { return wallNanos; }
+    public long getCpuNanos() { return cpuNanos; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+    public long getGcCount() { return gcCount; }
+    public long getGcMillis() { return gcMillis; }
+    public List<PhaseStats> getChildren() { return children; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: wall %.3f ms, cpu %.3f ms, alloc %d B, gc %d (%d ms)",
+                name, wallNanos / 1_000_000.0, cpuNanos / 1_000_000.0, allocatedBytes, gcCount, gcMillis);
+    }
+}
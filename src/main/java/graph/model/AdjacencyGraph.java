@@ -0,0 +1,20 @@
+package graph.model;
+
+/**
+ * Read-only adjacency view consumed by the analysis engines.
+ * Implementations are free to keep their edges on the heap, off-heap or on disk;
+ * the engines only ever walk out-edges through an {@link EdgeCursor}.
+ */
+public interface AdjacencyGraph {
+    int getVertexCount();
+
+    long getEdgeCount();
+
+    int outDegree(int u);
+
+    /**
+     * Returns a new cursor positioned nowhere; call {@link EdgeCursor#reset(int)} before use.
+     * Cursors are not thread-safe, but several cursors may walk the same graph concurrently.
+     */
+    EdgeCursor newCursor();
+}
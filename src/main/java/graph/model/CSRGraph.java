@@ -0,0 +1,151 @@
+package graph.model;
+
+import java.util.List;
+
+/**
+ * Compressed sparse row adjacency held in primitive heap arrays.
+ * Out-edges of each vertex keep the order in which they appear in the source edge list,
+ * so traversals visit neighbours exactly as {@link Graph#getAdjacencyList()} would.
+ */
+public class CSRGraph implements AdjacencyGraph {
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    public CSRGraph(int vertexCount, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != vertexCount + 1) {
+            throw new IllegalArgumentException("Offsets must have vertexCount + 1 entries");
+        }
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CSRGraph from(Graph graph) {
+        int n = graph.getVertexCount();
+        List<Edge> edges = graph.getEdges();
+        boolean directed = graph.isDirected();
+        int m = directed ? edges.size() : edges.size() * 2;
+
+        int[] offsets = new int[n + 1];
+        for (Edge edge : edges) {
+            offsets[edge.getU() + 1]++;
+            if (!directed) {
+                offsets[edge.getV() + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (Edge edge : edges) {
+            int slot = next[edge.getU()]++;
+            targets[slot] = edge.getV();
+            weights[slot] = edge.getW();
+            if (!directed) {
+                slot = next[edge.getV()]++;
+                targets[slot] = edge.getU();
+                weights[slot] = edge.getW();
+            }
+        }
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    /** Snapshot of any adjacency as heap arrays, keeping each vertex's out-edge order. */
+    public static CSRGraph copyOf(AdjacencyGraph graph) {
+        if (graph instanceof CSRGraph) {
+            return (CSRGraph) graph;
+        }
+        int n = graph.getVertexCount();
+        EdgeCursor cursor = graph.newCursor();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[(int) graph.getEdgeCount()];
+        int[] weights = new int[targets.length];
+        int slot = 0;
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.next()) {
+                targets[slot] = cursor.target();
+                weights[slot++] = cursor.weight();
+            }
+            offsets[u + 1] = slot;
+        }
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    /** Builds the transpose: every edge u -> v of {@code graph} becomes v -> u with the same weight. */
+    public static CSRGraph reverseOf(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        int m = (int) graph.getEdgeCount();
+        EdgeCursor cursor = graph.newCursor();
+
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.next()) {
+                offsets[cursor.target() + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.next()) {
+                int slot = next[cursor.target()]++;
+                targets[slot] = u;
+                weights[slot] = cursor.weight();
+            }
+        }
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    @Override
+    public int getVertexCount() { return vertexCount; }
+
+    @Override
+    public long getEdgeCount() { return targets.length; }
+
+    @Override
+    public int outDegree(int u) { return offsets[u + 1] - offsets[u]; }
+
+    @Override
+    public EdgeCursor newCursor() { return new Cursor(); }
+
+    // Direct array access for engines that want to index edges themselves
+    public int edgeStart(int u) { return offsets[u]; }
+    public int edgeEnd(int u) { return offsets[u + 1]; }
+    public int target(int e) { return targets[e]; }
+    public int weight(int e) { return weights[e]; }
+
+    private final class Cursor implements EdgeCursor {
+        private int pos;
+        private int end;
+
+        @Override
+        public void reset(int u) {
+            pos = offsets[u] - 1;
+            end = offsets[u + 1];
+        }
+
+        @Override
+        public boolean next() { return ++pos < end; }
+
+        @Override
+        public int target() { return targets[pos]; }
+
+        @Override
+        public int weight() { return weights[pos]; }
+    }
+}
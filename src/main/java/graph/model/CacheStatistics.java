@@ -0,0 +1,11 @@
+package graph.model;
+
+/**
+ * Implemented by adjacencies that page edges through a cache, so phase metrics can report how the
+ * cache behaved while an engine walked them. Counters are cumulative over the graph's lifetime.
+ */
+public interface CacheStatistics {
+    long getCacheHits();
+
+    long getCacheMisses();
+}
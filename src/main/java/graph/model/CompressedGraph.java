@@ -0,0 +1,186 @@
+package graph.model;
+
+import java.util.Arrays;
+
+/**
+ * Byte-compressed adjacency for memory-bound graphs.
+ * Each vertex's out-edges are sorted by target and stored as varint deltas: the first target
+ * relative to the vertex itself (zig-zag, so nearby ids stay one byte), the rest as gaps to the
+ * previous target. Weights follow each target as zig-zag varints. Engines decode through
+ * {@link EdgeCursor} without materialising neighbour lists; note that sorting means
+ * neighbours are visited in ascending id order rather than input order.
+ */
+public class CompressedGraph implements AdjacencyGraph {
+    private final int vertexCount;
+    private final int[] offsets;
+    private final byte[] data;
+    private final long edgeCount;
+
+    private CompressedGraph(int vertexCount, int[] offsets, byte[] data, long edgeCount) {
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.data = data;
+        this.edgeCount = edgeCount;
+    }
+
+    public static CompressedGraph from(Graph graph) {
+        return from(CSRGraph.from(graph));
+    }
+
+    public static CompressedGraph from(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        int[] offsets = new int[n + 1];
+        ByteSink sink = new ByteSink((int) Math.min(Integer.MAX_VALUE - 8, graph.getEdgeCount() * 2 + 16));
+        EdgeCursor cursor = graph.newCursor();
+        long[] keys = new long[16];
+        long edgeCount = 0;
+
+        for (int u = 0; u < n; u++) {
+            offsets[u] = sink.size();
+            int degree = 0;
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (degree == keys.length) {
+                    keys = Arrays.copyOf(keys, degree * 2);
+                }
+                // Target in the high word, weight with flipped sign bit so signed weights sort too
+                keys[degree++] = ((long) cursor.target() << 32) | ((cursor.weight() ^ Integer.MIN_VALUE) & 0xffffffffL);
+            }
+            Arrays.sort(keys, 0, degree);
+
+            int previous = u;
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (keys[i] >>> 32);
+                int weight = (int) keys[i] ^ Integer.MIN_VALUE;
+                if (i == 0) {
+                    sink.writeVarint(zigZag(target - previous));
+                } else {
+                    sink.writeVarint(target - previous);
+                }
+                sink.writeVarint(zigZag(weight));
+                previous = target;
+            }
+            edgeCount += degree;
+        }
+        offsets[n] = sink.size();
+        return new CompressedGraph(n, offsets, sink.toArray(), edgeCount);
+    }
+
+    @Override
+    public int getVertexCount() { return vertexCount; }
+
+    @Override
+    public long getEdgeCount() { return edgeCount; }
+
+    /** Decodes the vertex's run; degrees are not stored separately to keep the encoding small. */
+    @Override
+    public int outDegree(int u) {
+        EdgeCursor cursor = newCursor();
+        cursor.reset(u);
+        int degree = 0;
+        while (cursor.next()) {
+            degree++;
+        }
+        return degree;
+    }
+
+    @Override
+    public EdgeCursor newCursor() { return new Cursor(); }
+
+    /** Heap bytes of the encoded adjacency, including the per-vertex offsets. */
+    public long getCompressedBytes() {
+        return (long) data.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    /** Heap bytes an equivalent {@link CSRGraph} would need. */
+    public long getUncompressedBytes() {
+        return (long) offsets.length * Integer.BYTES + edgeCount * 2 * Integer.BYTES;
+    }
+
+    public double getBitsPerEdge() {
+        return edgeCount == 0 ? 0 : data.length * 8.0 / edgeCount;
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int pos;
+        private int end;
+        private int previous;
+        private boolean first;
+        private int target;
+        private int weight;
+
+        @Override
+        public void reset(int u) {
+            pos = offsets[u];
+            end = offsets[u + 1];
+            previous = u;
+            first = true;
+        }
+
+        @Override
+        public boolean next() {
+            if (pos >= end) {
+                return false;
+            }
+            int gap = readVarint();
+            target = first ? previous + unZigZag(gap) : previous + gap;
+            weight = unZigZag(readVarint());
+            previous = target;
+            first = false;
+            return true;
+        }
+
+        @Override
+        public int target() { return target; }
+
+        @Override
+        public int weight() { return weight; }
+
+        private int readVarint() {
+            int b = data[pos++];
+            if (b >= 0) {
+                return b;
+            }
+            int value = b & 0x7f;
+            int shift = 7;
+            do {
+                b = data[pos++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private static final class ByteSink {
+        private byte[] buffer;
+        private int size;
+
+        ByteSink(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeVarint(int value) {
+            if (size + 5 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, (int) Math.min(Integer.MAX_VALUE - 8, buffer.length * 2L));
+            }
+            while ((value & ~0x7f) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        int size() { return size; }
+
+        byte[] toArray() { return Arrays.copyOf(buffer, size); }
+    }
+}
@@ -0,0 +1,327 @@
+package graph.model;
+
+import graph.metrics.Metrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Collects edges from many producer threads without a shared lock and freezes them into a {@link CSRGraph}.
+ * Each producer thread appends to its own primitive buffers; {@link #freeze()} concatenates them,
+ * sorts by source with a parallel LSD radix sort, and removes duplicate {@code (u, v)} pairs keeping the
+ * smallest weight. Since producer interleaving is arbitrary, frozen out-edges are ordered by target
+ * rather than by arrival.
+ * <p>
+ * {@code freeze()} must happen-after every {@code addEdge} call, e.g. by joining the producer threads or
+ * awaiting their futures first. Adding after freezing fails with {@link IllegalStateException}.
+ */
+public class ConcurrentGraphBuilder {
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MIN_CHUNK = 1 << 15;
+    private static final int VERTEX_BLOCK = 1 << 12;
+
+    private final int vertexCount;
+    private final boolean directed;
+    private final int parallelism;
+    private final Queue<EdgeBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<EdgeBuffer> localBuffer;
+    private volatile boolean frozen;
+    private Metrics metrics;
+
+    public ConcurrentGraphBuilder(int vertexCount, boolean directed) {
+        this(vertexCount, directed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ConcurrentGraphBuilder(int vertexCount, boolean directed, int parallelism) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.vertexCount = vertexCount;
+        this.directed = directed;
+        this.parallelism = parallelism;
+        this.localBuffer = ThreadLocal.withInitial(() -> {
+            EdgeBuffer buffer = new EdgeBuffer();
+            buffers.add(buffer);
+            return buffer;
+        });
+        this.metrics = new Metrics();
+    }
+
+    /** Safe to call from any number of threads concurrently. */
+    public void addEdge(int u, int v, int w) {
+        if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount) {
+            throw new IllegalArgumentException("Edge (" + u + ", " + v + ") out of range");
+        }
+        if (frozen) {
+            throw new IllegalStateException("Builder is already frozen");
+        }
+        localBuffer.get().add(u, v, w);
+    }
+
+    public CSRGraph freeze() {
+        if (frozen) {
+            throw new IllegalStateException("Builder is already frozen");
+        }
+        frozen = true;
+        metrics.startTimer();
+        List<EdgeBuffer> parts = new ArrayList<>(buffers);
+        buffers.clear();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long ingested = 0;
+            for (EdgeBuffer buffer : parts) {
+                ingested += buffer.size;
+            }
+            long total = directed ? ingested : ingested * 2;
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many edges for a heap CSR graph: " + total);
+            }
+            int m = (int) total;
+            int[] source = new int[m];
+            int[] target = new int[m];
+            int[] weight = new int[m];
+            metrics.startPhase("gather");
+            try {
+                gather(pool, parts, source, target, weight);
+            } finally {
+                metrics.endPhase();
+            }
+            // Producer threads keep their buffers through the ThreadLocal, so drop the arrays now
+            release(parts);
+
+            metrics.startPhase("radix sort");
+            try {
+                int[][] sorted = radixSortBySource(pool, source, target, weight);
+                source = sorted[0];
+                target = sorted[1];
+                weight = sorted[2];
+            } finally {
+                metrics.endPhase();
+            }
+
+            int[] start = new int[vertexCount + 1];
+            int[] degree = new int[vertexCount];
+            metrics.startPhase("dedupe");
+            try {
+                dedupe(pool, source, target, weight, start, degree);
+            } finally {
+                metrics.endPhase();
+            }
+
+            CSRGraph graph;
+            metrics.startPhase("compact");
+            try {
+                graph = compact(pool, target, weight, start, degree);
+            } finally {
+                metrics.endPhase();
+            }
+
+            metrics.addOperations("Edges ingested", ingested);
+            metrics.addOperations("Duplicate edges removed", m - graph.getEdgeCount());
+            return graph;
+        } finally {
+            release(parts);
+            pool.shutdown();
+            metrics.stopTimer();
+        }
+    }
+
+    private static void release(List<EdgeBuffer> parts) {
+        for (EdgeBuffer buffer : parts) {
+            buffer.release();
+        }
+    }
+
+    private void gather(ForkJoinPool pool, List<EdgeBuffer> parts, int[] source, int[] target, int[] weight) {
+        int[] offset = new int[parts.size() + 1];
+        for (int i = 0; i < parts.size(); i++) {
+            offset[i + 1] = offset[i] + parts.get(i).size;
+        }
+        int mirror = offset[parts.size()];
+        parallel(pool, parts.size(), i -> {
+            EdgeBuffer buffer = parts.get(i);
+            System.arraycopy(buffer.source, 0, source, offset[i], buffer.size);
+            System.arraycopy(buffer.target, 0, target, offset[i], buffer.size);
+            System.arraycopy(buffer.weight, 0, weight, offset[i], buffer.size);
+            if (!directed) {
+                System.arraycopy(buffer.target, 0, source, mirror + offset[i], buffer.size);
+                System.arraycopy(buffer.source, 0, target, mirror + offset[i], buffer.size);
+                System.arraycopy(buffer.weight, 0, weight, mirror + offset[i], buffer.size);
+            }
+        });
+    }
+
+    /** Stable LSD radix sort on the source id, {@value #RADIX_BITS} bits per pass, chunks sorted in parallel. */
+    private int[][] radixSortBySource(ForkJoinPool pool, int[] source, int[] target, int[] weight) {
+        int m = source.length;
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, vertexCount - 1));
+        int chunks = Math.max(1, Math.min(parallelism * 4, m / MIN_CHUNK));
+        int[] nextSource = new int[m];
+        int[] nextTarget = new int[m];
+        int[] nextWeight = new int[m];
+        int[][] histogram = new int[chunks][RADIX];
+
+        for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+            final int s = shift;
+            final int[] src = source;
+            final int[] tgt = target;
+            final int[] wgt = weight;
+            final int[] outSource = nextSource;
+            final int[] outTarget = nextTarget;
+            final int[] outWeight = nextWeight;
+
+            parallel(pool, chunks, c -> {
+                int[] counts = histogram[c];
+                Arrays.fill(counts, 0);
+                for (int i = chunkStart(c, chunks, m); i < chunkStart(c + 1, chunks, m); i++) {
+                    counts[(src[i] >>> s) & (RADIX - 1)]++;
+                }
+            });
+            // Digit-major, chunk-minor prefix sums keep the sort stable
+            int position = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = histogram[c][digit];
+                    histogram[c][digit] = position;
+                    position += count;
+                }
+            }
+            parallel(pool, chunks, c -> {
+                int[] next = histogram[c];
+                for (int i = chunkStart(c, chunks, m); i < chunkStart(c + 1, chunks, m); i++) {
+                    int slot = next[(src[i] >>> s) & (RADIX - 1)]++;
+                    outSource[slot] = src[i];
+                    outTarget[slot] = tgt[i];
+                    outWeight[slot] = wgt[i];
+                }
+            });
+
+            nextSource = source;
+            nextTarget = target;
+            nextWeight = weight;
+            source = outSource;
+            target = outTarget;
+            weight = outWeight;
+        }
+        return new int[][]{source, target, weight};
+    }
+
+    /** Sorts each vertex's run by (target, weight) and keeps the first entry per target, in place. */
+    private void dedupe(ForkJoinPool pool, int[] source, int[] target, int[] weight, int[] start, int[] degree) {
+        int n = vertexCount;
+        int blocks = (n + VERTEX_BLOCK - 1) / VERTEX_BLOCK;
+        start[n] = source.length;
+        parallel(pool, blocks, b -> {
+            long[] keys = new long[16];
+            for (int u = b * VERTEX_BLOCK; u < Math.min(n, (b + 1) * VERTEX_BLOCK); u++) {
+                int from = lowerBound(source, u);
+                int to = lowerBound(source, u + 1);
+                start[u] = from;
+                int length = to - from;
+                if (length > keys.length) {
+                    keys = new long[Math.max(length, keys.length * 2)];
+                }
+                for (int i = 0; i < length; i++) {
+                    keys[i] = ((long) target[from + i] << 32) | ((weight[from + i] ^ Integer.MIN_VALUE) & 0xffffffffL);
+                }
+                Arrays.sort(keys, 0, length);
+                int kept = 0;
+                for (int i = 0; i < length; i++) {
+                    int v = (int) (keys[i] >>> 32);
+                    if (kept > 0 && target[from + kept - 1] == v) {
+                        continue;
+                    }
+                    target[from + kept] = v;
+                    weight[from + kept] = (int) keys[i] ^ Integer.MIN_VALUE;
+                    kept++;
+                }
+                degree[u] = kept;
+            }
+        });
+    }
+
+    private CSRGraph compact(ForkJoinPool pool, int[] target, int[] weight, int[] start, int[] degree) {
+        int n = vertexCount;
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + degree[u];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        int blocks = (n + VERTEX_BLOCK - 1) / VERTEX_BLOCK;
+        parallel(pool, blocks, b -> {
+            for (int u = b * VERTEX_BLOCK; u < Math.min(n, (b + 1) * VERTEX_BLOCK); u++) {
+                System.arraycopy(target, start[u], targets, offsets[u], degree[u]);
+                System.arraycopy(weight, start[u], weights, offsets[u], degree[u]);
+            }
+        });
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    private void parallel(ForkJoinPool pool, int tasks, IntConsumer body) {
+        if (parallelism == 1 || tasks <= 1) {
+            for (int i = 0; i < tasks; i++) {
+                body.accept(i);
+            }
+        } else {
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(body)).join();
+        }
+    }
+
+    private static int chunkStart(int chunk, int chunks, int length) {
+        return (int) ((long) chunk * length / chunks);
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public Metrics getMetrics() { return metrics; }
+
+    /** Append-only edge storage owned by a single producer thread. */
+    private static final class EdgeBuffer {
+        private int[] source = new int[1024];
+        private int[] target = new int[1024];
+        private int[] weight = new int[1024];
+        private int size;
+
+        void add(int u, int v, int w) {
+            if (size == source.length) {
+                int capacity = size * 2;
+                source = Arrays.copyOf(source, capacity);
+                target = Arrays.copyOf(target, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            source[size] = u;
+            target[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        void release() {
+            source = null;
+            target = null;
+            weight = null;
+            size = 0;
+        }
+    }
+}
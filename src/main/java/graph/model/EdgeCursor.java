@@ -0,0 +1,17 @@
+package graph.model;
+
+/**
+ * Forward-only iterator over the out-edges of a single vertex.
+ * A cursor is reused across vertices to keep the hot loops allocation free.
+ */
+public interface EdgeCursor {
+    /** Positions the cursor before the first out-edge of {@code u}. */
+    void reset(int u);
+
+    /** Advances to the next out-edge, returning false once the vertex is exhausted. */
+    boolean next();
+
+    int target();
+
+    int weight();
+}
@@ -0,0 +1,55 @@
+package graph.model;
+
+import java.util.Arrays;
+
+/**
+ * A set of edge edits applied atomically by {@link VersionedGraph#apply(EditBatch)}.
+ * Removals are applied before insertions, so a batch can replace an edge's weight.
+ */
+public class EditBatch {
+    int addedVertices;
+    int[] addU = new int[8];
+    int[] addV = new int[8];
+    int[] addW = new int[8];
+    int addCount;
+    int[] removeU = new int[8];
+    int[] removeV = new int[8];
+    int removeCount;
+
+    public EditBatch addVertices(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative");
+        }
+        addedVertices += count;
+        return this;
+    }
+
+    public EditBatch addEdge(int u, int v, int w) {
+        if (addCount == addU.length) {
+            addU = Arrays.copyOf(addU, addCount * 2);
+            addV = Arrays.copyOf(addV, addCount * 2);
+            addW = Arrays.copyOf(addW, addCount * 2);
+        }
+        addU[addCount] = u;
+        addV[addCount] = v;
+        addW[addCount] = w;
+        addCount++;
+        return this;
+    }
+
+    /** Removes every u -> v edge present in the base version. */
+    public EditBatch removeEdge(int u, int v) {
+        if (removeCount == removeU.length) {
+            removeU = Arrays.copyOf(removeU, removeCount * 2);
+            removeV = Arrays.copyOf(removeV, removeCount * 2);
+        }
+        removeU[removeCount] = u;
+        removeV[removeCount] = v;
+        removeCount++;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return addedVertices == 0 && addCount == 0 && removeCount == 0;
+    }
+}
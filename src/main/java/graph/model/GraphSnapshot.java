@@ -0,0 +1,90 @@
+package graph.model;
+
+/**
+ * Immutable version of a {@link VersionedGraph}. Adjacency is split into fixed-size vertex
+ * blocks; a new version only copies the blocks its edit batch touched and shares the rest,
+ * so readers can traverse a snapshot without locks while writers keep publishing.
+ */
+public final class GraphSnapshot implements AdjacencyGraph {
+    static final int BLOCK_SHIFT = 8;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private final long version;
+    private final int vertexCount;
+    private final long edgeCount;
+    final Block[] blocks;
+
+    GraphSnapshot(long version, int vertexCount, long edgeCount, Block[] blocks) {
+        this.version = version;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.blocks = blocks;
+    }
+
+    public long getVersion() { return version; }
+
+    @Override
+    public int getVertexCount() { return vertexCount; }
+
+    @Override
+    public long getEdgeCount() { return edgeCount; }
+
+    @Override
+    public int outDegree(int u) {
+        Block block = blocks[u >>> BLOCK_SHIFT];
+        int local = u & (BLOCK_SIZE - 1);
+        return block.offsets[local + 1] - block.offsets[local];
+    }
+
+    @Override
+    public EdgeCursor newCursor() { return new Cursor(); }
+
+    /** Number of adjacency blocks physically shared with another snapshot of the same graph. */
+    public int countSharedBlocks(GraphSnapshot other) {
+        int shared = 0;
+        for (int i = 0; i < Math.min(blocks.length, other.blocks.length); i++) {
+            if (blocks[i] == other.blocks[i]) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    public int getBlockCount() { return blocks.length; }
+
+    /** CSR of up to {@link #BLOCK_SIZE} consecutive vertices; never mutated once published. */
+    static final class Block {
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+
+        Block(int[] offsets, int[] targets, int[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private Block block;
+        private int pos;
+        private int end;
+
+        @Override
+        public void reset(int u) {
+            block = blocks[u >>> BLOCK_SHIFT];
+            int local = u & (BLOCK_SIZE - 1);
+            pos = block.offsets[local] - 1;
+            end = block.offsets[local + 1];
+        }
+
+        @Override
+        public boolean next() { return ++pos < end; }
+
+        @Override
+        public int target() { return block.targets[pos]; }
+
+        @Override
+        public int weight() { return block.weights[pos]; }
+    }
+}
@@ -0,0 +1,346 @@
+package graph.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CSR adjacency stored outside the Java heap, either in direct buffers or in a memory-mapped file.
+ * Only a handful of buffer headers live on the heap, so graphs with billions of edges can be
+ * analysed with a small heap and no full-GC pauses over the edge data. Storage is split into
+ * segments because a single {@link ByteBuffer} is limited to 2 GB.
+ */
+public class OffHeapGraph implements AdjacencyGraph, Closeable {
+    private static final int FINAL_SEGMENT_SHIFT = 24;   // 16M entries per segment
+    private static final int DIRECT_STAGING_SHIFT = 16;  // keep small graphs cheap to stage
+    private static final int MAPPED_STAGING_SHIFT = 24;  // keep the number of mappings low
+
+    private final int vertexCount;
+    private final LongArray offsets;
+    private final IntArray targets;
+    private final IntArray weights;
+    private final FileChannel channel;
+
+    private OffHeapGraph(int vertexCount, LongArray offsets, IntArray targets,
+                         IntArray weights, FileChannel channel) {
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.channel = channel;
+    }
+
+    public static Builder builder(int vertexCount) {
+        return new Builder(vertexCount);
+    }
+
+    public static OffHeapGraph from(Graph graph) {
+        Builder builder = builder(graph.getVertexCount()).directed(graph.isDirected());
+        for (Edge edge : graph.getEdges()) {
+            builder.addEdge(edge.getU(), edge.getV(), edge.getW());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int getVertexCount() { return vertexCount; }
+
+    @Override
+    public long getEdgeCount() { return targets.length(); }
+
+    @Override
+    public int outDegree(int u) { return (int) (offsets.get(u + 1) - offsets.get(u)); }
+
+    @Override
+    public EdgeCursor newCursor() { return new Cursor(); }
+
+    /** Bytes held outside the heap for the adjacency itself. */
+    public long getOffHeapBytes() {
+        return offsets.length() * Long.BYTES + targets.length() * Integer.BYTES * 2L;
+    }
+
+    public boolean isMemoryMapped() { return channel != null; }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private long pos;
+        private long end;
+
+        @Override
+        public void reset(int u) {
+            pos = offsets.get(u) - 1;
+            end = offsets.get(u + 1);
+        }
+
+        @Override
+        public boolean next() { return ++pos < end; }
+
+        @Override
+        public int target() { return targets.get(pos); }
+
+        @Override
+        public int weight() { return weights.get(pos); }
+    }
+
+    /**
+     * Streams edges into off-heap staging buffers and lays them out as CSR on {@link #build()}.
+     * Edges keep their insertion order within each source vertex.
+     */
+    public static class Builder {
+        private final int vertexCount;
+        private boolean directed = true;
+        private Path mappedFile;
+        private IntArray sources;
+        private IntArray destinations;
+        private IntArray edgeWeights;
+        private Path stagingFile;
+        private FileChannel stagingChannel;
+        private long size;
+
+        private Builder(int vertexCount) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("Vertex count must be non-negative");
+            }
+            this.vertexCount = vertexCount;
+        }
+
+        public Builder directed(boolean directed) {
+            this.directed = directed;
+            return this;
+        }
+
+        /** Back the final CSR with a memory-mapped file instead of direct buffers. */
+        public Builder memoryMapped(Path file) {
+            if (sources != null) {
+                throw new IllegalStateException("Storage must be chosen before adding edges");
+            }
+            this.mappedFile = file;
+            return this;
+        }
+
+        public Builder addEdge(int u, int v, int w) {
+            if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount) {
+                throw new IllegalArgumentException("Edge (" + u + ", " + v + ") out of range");
+            }
+            if (sources == null) {
+                initStaging();
+            }
+            sources.ensureCapacity(size + 1);
+            destinations.ensureCapacity(size + 1);
+            edgeWeights.ensureCapacity(size + 1);
+            sources.set(size, u);
+            destinations.set(size, v);
+            edgeWeights.set(size, w);
+            size++;
+            return this;
+        }
+
+        public OffHeapGraph build() {
+            if (sources == null) {
+                initStaging();
+            }
+            long m = directed ? size : size * 2;
+            FileChannel channel = null;
+            try {
+                SegmentAllocator allocator = SegmentAllocator.DIRECT;
+                if (mappedFile != null) {
+                    channel = FileChannel.open(mappedFile, StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+                    allocator = new MappedAllocator(channel);
+                }
+
+                LongArray offsets = LongArray.fixed(vertexCount + 1L, FINAL_SEGMENT_SHIFT, allocator);
+                IntArray targets = IntArray.fixed(m, FINAL_SEGMENT_SHIFT, allocator);
+                IntArray weights = IntArray.fixed(m, FINAL_SEGMENT_SHIFT, allocator);
+
+                for (long i = 0; i < size; i++) {
+                    offsets.increment(sources.get(i) + 1L);
+                    if (!directed) {
+                        offsets.increment(destinations.get(i) + 1L);
+                    }
+                }
+                for (long i = 0; i < vertexCount; i++) {
+                    offsets.set(i + 1, offsets.get(i + 1) + offsets.get(i));
+                }
+
+                LongArray next = LongArray.fixed(Math.max(vertexCount, 1), FINAL_SEGMENT_SHIFT,
+                        SegmentAllocator.DIRECT);
+                for (long i = 0; i < vertexCount; i++) {
+                    next.set(i, offsets.get(i));
+                }
+                for (long i = 0; i < size; i++) {
+                    int u = sources.get(i);
+                    int v = destinations.get(i);
+                    int w = edgeWeights.get(i);
+                    long slot = next.get(u);
+                    next.set(u, slot + 1);
+                    targets.set(slot, v);
+                    weights.set(slot, w);
+                    if (!directed) {
+                        slot = next.get(v);
+                        next.set(v, slot + 1);
+                        targets.set(slot, u);
+                        weights.set(slot, w);
+                    }
+                }
+                releaseStaging();
+                return new OffHeapGraph(vertexCount, offsets, targets, weights, channel);
+            } catch (IOException e) {
+                releaseStaging();
+                throw new UncheckedIOException("Failed to build off-heap graph", e);
+            }
+        }
+
+        private void initStaging() {
+            try {
+                SegmentAllocator allocator = SegmentAllocator.DIRECT;
+                int shift = DIRECT_STAGING_SHIFT;
+                if (mappedFile != null) {
+                    stagingFile = Files.createTempFile("offheap-staging", ".bin");
+                    stagingChannel = FileChannel.open(stagingFile, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+                    allocator = new MappedAllocator(stagingChannel);
+                    shift = MAPPED_STAGING_SHIFT;
+                }
+                sources = new IntArray(shift, allocator);
+                destinations = new IntArray(shift, allocator);
+                edgeWeights = new IntArray(shift, allocator);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create staging storage", e);
+            }
+        }
+
+        private void releaseStaging() {
+            sources = null;
+            destinations = null;
+            edgeWeights = null;
+            size = 0;
+            if (stagingChannel != null) {
+                try {
+                    stagingChannel.close();
+                } catch (IOException ignored) {
+                    // best effort, the file is deleted on close anyway
+                }
+                stagingChannel = null;
+            }
+        }
+    }
+
+    private interface SegmentAllocator {
+        SegmentAllocator DIRECT = bytes -> ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+
+        ByteBuffer allocate(int bytes) throws IOException;
+    }
+
+    private static final class MappedAllocator implements SegmentAllocator {
+        private final FileChannel channel;
+        private long position;
+
+        MappedAllocator(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.position = channel.size();
+        }
+
+        @Override
+        public ByteBuffer allocate(int bytes) throws IOException {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+            position += bytes;
+            return buffer.order(ByteOrder.nativeOrder());
+        }
+    }
+
+    private static final class IntArray {
+        private final int shift;
+        private final int mask;
+        private final SegmentAllocator allocator;
+        private IntBuffer[] segments = new IntBuffer[0];
+        private long capacity;
+        private long length;
+
+        IntArray(int shift, SegmentAllocator allocator) {
+            this.shift = shift;
+            this.mask = (1 << shift) - 1;
+            this.allocator = allocator;
+        }
+
+        static IntArray fixed(long length, int shift, SegmentAllocator allocator) throws IOException {
+            IntArray array = new IntArray(shift, allocator);
+            while (array.capacity < length) {
+                array.addSegment((int) Math.min(1L << shift, length - array.capacity));
+            }
+            array.length = length;
+            return array;
+        }
+
+        void ensureCapacity(long required) {
+            try {
+                while (capacity < required) {
+                    addSegment(1 << shift);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to grow off-heap storage", e);
+            }
+            length = Math.max(length, required);
+        }
+
+        private void addSegment(int entries) throws IOException {
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            segments[segments.length - 1] = allocator.allocate(entries * Integer.BYTES).asIntBuffer();
+            capacity += entries;
+        }
+
+        long length() { return length; }
+
+        int get(long i) { return segments[(int) (i >>> shift)].get((int) (i & mask)); }
+
+        void set(long i, int value) { segments[(int) (i >>> shift)].put((int) (i & mask), value); }
+    }
+
+    private static final class LongArray {
+        private final int shift;
+        private final int mask;
+        private final LongBuffer[] segments;
+        private final long length;
+
+        private LongArray(int shift, LongBuffer[] segments, long length) {
+            this.shift = shift;
+            this.mask = (1 << shift) - 1;
+            this.segments = segments;
+            this.length = length;
+        }
+
+        static LongArray fixed(long length, int shift, SegmentAllocator allocator) throws IOException {
+            int count = (int) ((length + (1L << shift) - 1) >>> shift);
+            LongBuffer[] segments = new LongBuffer[count];
+            for (int s = 0; s < count; s++) {
+                int entries = (int) Math.min(1L << shift, length - ((long) s << shift));
+                segments[s] = allocator.allocate(entries * Long.BYTES).asLongBuffer();
+            }
+            return new LongArray(shift, segments, length);
+        }
+
+        long length() { return length; }
+
+        long get(long i) { return segments[(int) (i >>> shift)].get((int) (i & mask)); }
+
+        void set(long i, long value) { segments[(int) (i >>> shift)].put((int) (i & mask), value); }
+
+        void increment(long i) { set(i, get(i) + 1); }
+    }
+}
@@ -0,0 +1,177 @@
+package graph.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Directed graph that evolves through atomically published, immutable {@link GraphSnapshot}s.
+ * Readers call {@link #snapshot()} (a single volatile read) and analyse that version for as
+ * long as they like; writers are serialised among themselves but never block readers.
+ */
+public class VersionedGraph {
+    private static final GraphSnapshot.Block EMPTY_BLOCK =
+            new GraphSnapshot.Block(new int[GraphSnapshot.BLOCK_SIZE + 1], new int[0], new int[0]);
+
+    private final AtomicReference<GraphSnapshot> current;
+    private final Object writeLock = new Object();
+
+    public VersionedGraph(int vertexCount) {
+        int blockCount = blockCount(vertexCount);
+        GraphSnapshot.Block[] blocks = new GraphSnapshot.Block[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            blocks[b] = emptyBlock();
+        }
+        this.current = new AtomicReference<>(new GraphSnapshot(0, vertexCount, 0, blocks));
+    }
+
+    public static VersionedGraph from(Graph graph) {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("Versioned graphs are directed");
+        }
+        VersionedGraph versioned = new VersionedGraph(graph.getVertexCount());
+        EditBatch batch = new EditBatch();
+        for (Edge edge : graph.getEdges()) {
+            batch.addEdge(edge.getU(), edge.getV(), edge.getW());
+        }
+        versioned.apply(batch);
+        return versioned;
+    }
+
+    public GraphSnapshot snapshot() {
+        return current.get();
+    }
+
+    /** Applies the batch on top of the latest version and publishes the result. */
+    public GraphSnapshot apply(EditBatch batch) {
+        synchronized (writeLock) {
+            GraphSnapshot base = current.get();
+            if (batch.isEmpty()) {
+                return base;
+            }
+            int n = base.getVertexCount() + batch.addedVertices;
+            validate(batch, n);
+
+            GraphSnapshot.Block[] blocks = Arrays.copyOf(base.blocks, blockCount(n));
+            for (int b = base.blocks.length; b < blocks.length; b++) {
+                blocks[b] = emptyBlock();
+            }
+
+            // Edits bucketed by the block of their source; only blocks with a non-empty bucket are rebuilt
+            int[] addStart = new int[blocks.length + 1];
+            int[] adds = bucketByBlock(batch.addU, batch.addCount, addStart);
+            int[] removeStart = new int[blocks.length + 1];
+            int[] removes = bucketByBlock(batch.removeU, batch.removeCount, removeStart);
+
+            long edgeCount = base.getEdgeCount();
+            for (int b = 0; b < blocks.length; b++) {
+                if (addStart[b] < addStart[b + 1] || removeStart[b] < removeStart[b + 1]) {
+                    GraphSnapshot.Block rebuilt = rebuild(b, blocks[b], batch,
+                            adds, addStart[b], addStart[b + 1], removes, removeStart[b], removeStart[b + 1]);
+                    edgeCount += rebuilt.targets.length - blocks[b].targets.length;
+                    blocks[b] = rebuilt;
+                }
+            }
+
+            GraphSnapshot next = new GraphSnapshot(base.getVersion() + 1, n, edgeCount, blocks);
+            current.set(next);
+            return next;
+        }
+    }
+
+    /**
+     * Counting sort of edit indices by source block, stable so adds keep their batch order. On return
+     * {@code start[b]} to {@code start[b + 1]} is block {@code b}'s range of the returned array.
+     */
+    private static int[] bucketByBlock(int[] sources, int count, int[] start) {
+        for (int i = 0; i < count; i++) {
+            start[(sources[i] >>> GraphSnapshot.BLOCK_SHIFT) + 1]++;
+        }
+        for (int b = 1; b < start.length; b++) {
+            start[b] += start[b - 1];
+        }
+        int[] next = Arrays.copyOf(start, start.length - 1);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[next[sources[i] >>> GraphSnapshot.BLOCK_SHIFT]++] = i;
+        }
+        return order;
+    }
+
+    private static GraphSnapshot.Block rebuild(int blockIndex, GraphSnapshot.Block old, EditBatch batch,
+                                               int[] adds, int addFrom, int addTo,
+                                               int[] removes, int removeFrom, int removeTo) {
+        int first = blockIndex << GraphSnapshot.BLOCK_SHIFT;
+        int size = GraphSnapshot.BLOCK_SIZE;
+
+        // Removals of this block, as (local source, target) keys
+        int removalCount = removeTo - removeFrom;
+        long[] removals = new long[removalCount];
+        for (int k = 0; k < removalCount; k++) {
+            int i = removes[removeFrom + k];
+            removals[k] = ((long) (batch.removeU[i] - first) << 32) | (batch.removeV[i] & 0xffffffffL);
+        }
+        Arrays.sort(removals);
+
+        int[] degree = new int[size + 1];
+        for (int local = 0; local < size; local++) {
+            for (int e = old.offsets[local]; e < old.offsets[local + 1]; e++) {
+                if (!removed(removals, removalCount, local, old.targets[e])) {
+                    degree[local + 1]++;
+                }
+            }
+        }
+        for (int k = addFrom; k < addTo; k++) {
+            degree[batch.addU[adds[k]] - first + 1]++;
+        }
+        for (int local = 0; local < size; local++) {
+            degree[local + 1] += degree[local];
+        }
+
+        int[] offsets = degree;
+        int[] next = Arrays.copyOf(offsets, size);
+        int[] targets = new int[offsets[size]];
+        int[] weights = new int[offsets[size]];
+        for (int local = 0; local < size; local++) {
+            for (int e = old.offsets[local]; e < old.offsets[local + 1]; e++) {
+                if (!removed(removals, removalCount, local, old.targets[e])) {
+                    int slot = next[local]++;
+                    targets[slot] = old.targets[e];
+                    weights[slot] = old.weights[e];
+                }
+            }
+        }
+        for (int k = addFrom; k < addTo; k++) {
+            int i = adds[k];
+            int slot = next[batch.addU[i] - first]++;
+            targets[slot] = batch.addV[i];
+            weights[slot] = batch.addW[i];
+        }
+        return new GraphSnapshot.Block(offsets, targets, weights);
+    }
+
+    private static boolean removed(long[] removals, int count, int local, int target) {
+        return count > 0 && Arrays.binarySearch(removals, 0, count,
+                ((long) local << 32) | (target & 0xffffffffL)) >= 0;
+    }
+
+    private static void validate(EditBatch batch, int n) {
+        for (int i = 0; i < batch.addCount; i++) {
+            if (batch.addU[i] < 0 || batch.addU[i] >= n || batch.addV[i] < 0 || batch.addV[i] >= n) {
+                throw new IllegalArgumentException("Edge (" + batch.addU[i] + ", " + batch.addV[i] + ") out of range");
+            }
+        }
+        for (int i = 0; i < batch.removeCount; i++) {
+            if (batch.removeU[i] < 0 || batch.removeU[i] >= n) {
+                throw new IllegalArgumentException("Vertex " + batch.removeU[i] + " out of range");
+            }
+        }
+    }
+
+    private static int blockCount(int vertexCount) {
+        return (vertexCount + GraphSnapshot.BLOCK_SIZE - 1) >>> GraphSnapshot.BLOCK_SHIFT;
+    }
+
+    private static GraphSnapshot.Block emptyBlock() {
+        return EMPTY_BLOCK;
+    }
+}
@@ -0,0 +1,81 @@
+package graph.reorder;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCCResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bijective vertex relabelling produced by {@link VertexReordering}.
+ * Keeps both directions so results computed on the relabelled graph can be mapped back.
+ */
+public class Permutation {
+    private final int[] newIdOf;
+    private final int[] oldIdOf;
+
+    public Permutation(int[] oldIdOf) {
+        this.oldIdOf = oldIdOf;
+        this.newIdOf = new int[oldIdOf.length];
+        Arrays.fill(newIdOf, -1);
+        for (int newId = 0; newId < oldIdOf.length; newId++) {
+            int oldId = oldIdOf[newId];
+            if (oldId < 0 || oldId >= oldIdOf.length || newIdOf[oldId] != -1) {
+                throw new IllegalArgumentException("Not a permutation: duplicate or invalid id " + oldId);
+            }
+            newIdOf[oldId] = newId;
+        }
+    }
+
+    public int size() { return oldIdOf.length; }
+    public int toNew(int originalId) { return newIdOf[originalId]; }
+    public int toOriginal(int newId) { return oldIdOf[newId]; }
+
+    public List<Integer> toOriginal(List<Integer> newIds) {
+        List<Integer> mapped = new ArrayList<>(newIds.size());
+        for (int v : newIds) {
+            mapped.add(oldIdOf[v]);
+        }
+        return mapped;
+    }
+
+    /** Re-indexes a per-vertex array computed on the relabelled graph by original vertex id. */
+    public int[] toOriginalIndex(int[] valuesByNewId) {
+        int[] mapped = new int[valuesByNewId.length];
+        for (int newId = 0; newId < valuesByNewId.length; newId++) {
+            mapped[oldIdOf[newId]] = valuesByNewId[newId];
+        }
+        return mapped;
+    }
+
+    /** Like {@link #toOriginalIndex(int[])} but also translates the stored vertex ids (-1 stays -1). */
+    public int[] toOriginalVertexArray(int[] verticesByNewId) {
+        int[] mapped = new int[verticesByNewId.length];
+        for (int newId = 0; newId < verticesByNewId.length; newId++) {
+            int v = verticesByNewId[newId];
+            mapped[oldIdOf[newId]] = v == -1 ? -1 : oldIdOf[v];
+        }
+        return mapped;
+    }
+
+    // Component ids are unchanged, so the condensation graph is shared as-is
+    public SCCResult toOriginal(SCCResult result) {
+        List<List<Integer>> sccs = new ArrayList<>(result.getSccs().size());
+        for (List<Integer> scc : result.getSccs()) {
+            sccs.add(toOriginal(scc));
+        }
+        return new SCCResult(sccs, result.getCondensationGraph(), result.getMetrics(), result.getStatus());
+    }
+
+    public ShortestPathResult toOriginal(ShortestPathResult result) {
+        return new ShortestPathResult(toOriginalIndex(result.getDistances()),
+                toOriginalVertexArray(result.getPredecessors()), result.getMetrics(), result.getStatus());
+    }
+
+    public CriticalPathResult toOriginal(CriticalPathResult result) {
+        return new CriticalPathResult(toOriginal(result.getCriticalPath()), result.getMaxDistance(),
+                toOriginalIndex(result.getDistances()), toOriginalVertexArray(result.getPredecessors()),
+                result.getMetrics(), result.getStatus());
+    }
+}
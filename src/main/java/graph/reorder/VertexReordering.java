@@ -0,0 +1,167 @@
+package graph.reorder;
+
+import graph.model.CSRGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.KahnsAlgorithm;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Relabels vertices so that neighbours get nearby ids, which keeps the per-vertex arrays
+ * touched by the traversal engines in fewer cache lines.
+ */
+public class VertexReordering {
+
+    public enum Strategy {
+        /** Breadth-first discovery order over the undirected view. */
+        BFS,
+        /** Reverse Cuthill-McKee: BFS from a minimum-degree vertex, neighbours by ascending degree, reversed. */
+        REVERSE_CUTHILL_MCKEE,
+        /** Highest total degree first, so hubs share the hot cache lines. */
+        DEGREE,
+        /** Topological order; DAGs only, every edge then points to a higher id. */
+        TOPOLOGICAL
+    }
+
+    public Permutation compute(Graph graph, Strategy strategy) {
+        switch (strategy) {
+            case BFS:
+                return new Permutation(bfsOrder(graph, false));
+            case REVERSE_CUTHILL_MCKEE:
+                return new Permutation(reverse(bfsOrder(graph, true)));
+            case DEGREE:
+                return new Permutation(degreeOrder(graph));
+            case TOPOLOGICAL:
+                return new Permutation(topologicalOrder(graph));
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    /**
+     * Builds the relabelled graph. Edges are emitted sorted by new source then new target,
+     * so adjacency lists are scanned in ascending memory order as well.
+     */
+    public Graph apply(Graph graph, Permutation permutation) {
+        List<Edge> edges = new ArrayList<>(graph.getEdges().size());
+        for (Edge edge : graph.getEdges()) {
+            edges.add(new Edge(permutation.toNew(edge.getU()), permutation.toNew(edge.getV()), edge.getW()));
+        }
+        edges.sort(Comparator.comparingInt(Edge::getU).thenComparingInt(Edge::getV));
+
+        Graph relabelled = new Graph(graph.getVertexCount(), edges, graph.isDirected());
+        if (graph.getVertexCount() > 0) {
+            relabelled.setSource(permutation.toNew(graph.getSource()));
+        }
+        relabelled.setWeightModel(graph.getWeightModel());
+        return relabelled;
+    }
+
+    private static int[] bfsOrder(Graph graph, boolean cuthillMcKee) {
+        int n = graph.getVertexCount();
+        CSRGraph undirected = CSRGraph.from(new Graph(n, graph.getEdges(), false));
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int size = 0;
+
+        // Component roots: ascending id for BFS, ascending degree for Cuthill-McKee
+        int[] roots = identity(n);
+        if (cuthillMcKee) {
+            roots = sortByDegree(roots, undirected);
+        }
+        int[] neighbours = new int[0];
+
+        for (int root : roots) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            int head = size;
+            order[size++] = root;
+            while (head < size) {
+                int u = order[head++];
+                int start = undirected.edgeStart(u);
+                int degree = undirected.edgeEnd(u) - start;
+                if (neighbours.length < degree) {
+                    neighbours = new int[Math.max(degree, neighbours.length * 2)];
+                }
+                int count = 0;
+                for (int e = start; e < start + degree; e++) {
+                    int v = undirected.target(e);
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        neighbours[count++] = v;
+                    }
+                }
+                if (cuthillMcKee && count > 1) {
+                    int[] sorted = sortByDegree(Arrays.copyOf(neighbours, count), undirected);
+                    System.arraycopy(sorted, 0, neighbours, 0, count);
+                }
+                System.arraycopy(neighbours, 0, order, size, count);
+                size += count;
+            }
+        }
+        return order;
+    }
+
+    private static int[] degreeOrder(Graph graph) {
+        int n = graph.getVertexCount();
+        long[] keys = new long[n];
+        int[] degree = new int[n];
+        for (Edge edge : graph.getEdges()) {
+            degree[edge.getU()]++;
+            degree[edge.getV()]++;
+        }
+        // Descending degree, ties by ascending id
+        for (int v = 0; v < n; v++) {
+            keys[v] = ((long) (Integer.MAX_VALUE - degree[v]) << 32) | v;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private static int[] topologicalOrder(Graph graph) {
+        List<Integer> topo = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        int[] order = new int[topo.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = topo.get(i);
+        }
+        return order;
+    }
+
+    private static int[] sortByDegree(int[] vertices, CSRGraph graph) {
+        long[] keys = new long[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            keys[i] = ((long) graph.outDegree(vertices[i]) << 32) | vertices[i];
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[vertices.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    private static int[] identity(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    private static int[] reverse(int[] order) {
+        int[] reversed = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            reversed[i] = order[order.length - 1 - i];
+        }
+        return reversed;
+    }
+}
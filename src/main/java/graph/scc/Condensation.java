@@ -0,0 +1,100 @@
+package graph.scc;
+
+import graph.model.AdjacencyGraph;
+import graph.model.Edge;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+import java.util.*;
+
+/** Condensation DAG construction shared by the {@link SCCAlgorithm} engines. */
+final class Condensation {
+    private Condensation() {
+    }
+
+    static int[] componentIndex(int vertexCount, List<List<Integer>> sccs) {
+        // Map each vertex to its SCC index, -1 for vertices a stopped search never assigned
+        int[] sccIndex = new int[vertexCount];
+        Arrays.fill(sccIndex, -1);
+        for (int i = 0; i < sccs.size(); i++) {
+            for (int vertex : sccs.get(i)) {
+                sccIndex[vertex] = i;
+            }
+        }
+        return sccIndex;
+    }
+
+    /** Groups vertices by component id, each component listing its vertices in ascending order. */
+    static List<List<Integer>> components(int[] componentOf, int componentCount) {
+        List<List<Integer>> sccs = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            sccs.add(new ArrayList<>());
+        }
+        for (int v = 0; v < componentOf.length; v++) {
+            if (componentOf[v] != -1) {
+                sccs.get(componentOf[v]).add(v);
+            }
+        }
+        return sccs;
+    }
+
+    /**
+     * The first edge between two components supplies the condensation edge weight. Stops with the
+     * edges found so far once {@code budget} runs out; the caller reports the budget's status.
+     */
+    static Graph of(Graph originalGraph, int[] sccIndex, int componentCount, AnalysisBudget budget) {
+        Set<Long> edges = new HashSet<>();
+        List<Edge> condensationEdges = new ArrayList<>();
+        long scanned = 0;
+
+        for (Edge edge : originalGraph.getEdges()) {
+            if (budget.check(++scanned)) {
+                break;
+            }
+            int uScc = sccIndex[edge.getU()];
+            int vScc = sccIndex[edge.getV()];
+
+            if (uScc != vScc && uScc != -1 && vScc != -1 && edges.add(edgeKey(uScc, vScc))) {
+                condensationEdges.add(new Edge(uScc, vScc, edge.getW()));
+            }
+        }
+
+        return new Graph(componentCount, condensationEdges, true);
+    }
+
+    static Graph of(AdjacencyGraph originalGraph, int[] sccIndex, int componentCount, AnalysisBudget budget) {
+        int n = originalGraph.getVertexCount();
+        Set<Long> edges = new HashSet<>();
+        List<Edge> condensationEdges = new ArrayList<>();
+        EdgeCursor cursor = originalGraph.newCursor();
+        long scanned = 0;
+
+        scan:
+        for (int u = 0; u < n; u++) {
+            // Vertices and edges share one counter so long edgeless runs still poll
+            if (budget.check(++scanned)) {
+                break;
+            }
+            int uScc = sccIndex[u];
+            if (uScc == -1) {
+                continue;
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (budget.check(++scanned)) {
+                    break scan;
+                }
+                int vScc = sccIndex[cursor.target()];
+                if (uScc != vScc && vScc != -1 && edges.add(edgeKey(uScc, vScc))) {
+                    condensationEdges.add(new Edge(uScc, vScc, cursor.weight()));
+                }
+            }
+        }
+
+        return new Graph(componentCount, condensationEdges, true);
+    }
+
+    private static long edgeKey(int u, int v) {
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+}
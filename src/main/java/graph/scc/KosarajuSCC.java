@@ -0,0 +1,199 @@
+package graph.scc;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+import java.util.Arrays;
+
+/**
+ * Kosaraju's two-pass algorithm. The first pass takes DFS finishing order over the reverse CSR; the
+ * second sweeps the forward graph in decreasing finishing order, and each sweep is one component.
+ * Because the first pass runs on the transpose, components come out sinks-first like Tarjan's. Neither
+ * pass keeps low links, and the second needs no DFS order at all, so its inner loop is a single
+ * component check per edge; the price is the reverse CSR (4 bytes per vertex plus 8 per edge).
+ */
+public class KosarajuSCC implements SCCAlgorithm {
+    private boolean stopped;
+    private AnalysisBudget budget;
+    private Metrics metrics;
+
+    public KosarajuSCC() {
+        this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    @Override
+    public KosarajuSCC withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    @Override
+    public SCCResult findSCCs(Graph graph) {
+        metrics.startTimer();
+        metrics.startPhase("SCC detection");
+        metrics.describePhase(graph.getVertexCount(), graph.getEdges().size());
+        try {
+            metrics.startPhase("adjacency build");
+            CSRGraph csr;
+            try {
+                csr = CSRGraph.from(graph);
+            } finally {
+                metrics.endPhase();
+            }
+            int[] componentOf = new int[graph.getVertexCount()];
+            int componentCount = findComponents(csr, componentOf);
+            metrics.startPhase("condensation");
+            try {
+                return new SCCResult(Condensation.components(componentOf, componentCount),
+                        Condensation.of(graph, componentOf, componentCount, budget), metrics,
+                        budget.getStatus());
+            } finally {
+                metrics.endPhase();
+            }
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
+        }
+    }
+
+    @Override
+    public SCCResult findSCCs(AdjacencyGraph graph) {
+        metrics.startTimer();
+        metrics.startPhase("SCC detection");
+        metrics.describePhase(graph);
+        try {
+            int[] componentOf = new int[graph.getVertexCount()];
+            int componentCount = findComponents(graph, componentOf);
+            metrics.startPhase("condensation");
+            try {
+                return new SCCResult(Condensation.components(componentOf, componentCount),
+                        Condensation.of(graph, componentOf, componentCount, budget), metrics,
+                        budget.getStatus());
+            } finally {
+                metrics.endPhase();
+            }
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
+        }
+    }
+
+    private int findComponents(AdjacencyGraph graph, int[] componentOf) {
+        int n = graph.getVertexCount();
+        metrics.startPhase("reverse build");
+        CSRGraph reverse;
+        try {
+            reverse = CSRGraph.reverseOf(graph);
+        } finally {
+            metrics.endPhase();
+        }
+
+        stopped = false;
+        Arrays.fill(componentOf, -1);
+
+        int[] order;
+        int[] stack;
+        long edgeTraversals = 0;
+        metrics.startPhase("finishing order");
+        try {
+            order = new int[n];
+            stack = new int[n];
+            int[] position = new int[n];
+            boolean[] visited = new boolean[n];
+            int finished = 0;
+            pass:
+            for (int s = 0; s < n; s++) {
+                if (budget.check(s)) {
+                    stopped = true;
+                    break;
+                }
+                if (visited[s]) {
+                    continue;
+                }
+                int depth = 0;
+                stack[0] = s;
+                position[0] = reverse.edgeStart(s);
+                visited[s] = true;
+                while (depth >= 0) {
+                    int v = stack[depth];
+                    if (position[depth] < reverse.edgeEnd(v)) {
+                        int w = reverse.target(position[depth]++);
+                        if (budget.check(++edgeTraversals)) {
+                            stopped = true;
+                            break pass;
+                        }
+                        if (!visited[w]) {
+                            visited[w] = true;
+                            depth++;
+                            stack[depth] = w;
+                            position[depth] = reverse.edgeStart(w);
+                        }
+                    } else {
+                        order[finished++] = v;
+                        depth--;
+                    }
+                }
+            }
+        } finally {
+            metrics.endPhase();
+        }
+
+        // Second pass: any traversal order will do, so a plain work stack replaces the DFS frames
+        int componentCount = 0;
+        metrics.startPhase("assignment");
+        try {
+            EdgeCursor cursor = graph.newCursor();
+            for (int i = stopped ? -1 : n - 1; i >= 0; i--) {
+                // Between sweeps no component is half-assigned, so stopping here keeps every listed
+                // one whole
+                if (budget.check(n - 1 - i)) {
+                    stopped = true;
+                    break;
+                }
+                int s = order[i];
+                if (componentOf[s] != -1) {
+                    continue;
+                }
+                int size = 0;
+                stack[size++] = s;
+                componentOf[s] = componentCount;
+                sweep:
+                while (size > 0) {
+                    int v = stack[--size];
+                    cursor.reset(v);
+                    while (cursor.next()) {
+                        if (budget.check(++edgeTraversals)) {
+                            stopped = true;
+                            break sweep;
+                        }
+                        int w = cursor.target();
+                        if (componentOf[w] == -1) {
+                            componentOf[w] = componentCount;
+                            stack[size++] = w;
+                        }
+                    }
+                }
+                if (stopped) {
+                    // Drop the component that was only partly swept
+                    for (int v = 0; v < n; v++) {
+                        if (componentOf[v] == componentCount) {
+                            componentOf[v] = -1;
+                        }
+                    }
+                    break;
+                }
+                componentCount++;
+            }
+        } finally {
+            metrics.endPhase();
+        }
+
+        metrics.addOperations("DFS visits", 2L * n);
+        metrics.addOperations("Edge traversals", edgeTraversals);
+        return componentCount;
+    }
+}
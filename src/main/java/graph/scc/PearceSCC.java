@@ -0,0 +1,210 @@
+package graph.scc;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+import java.util.*;
+
+/**
+ * Pearce's space-efficient variant of Tarjan's algorithm ("A space-efficient algorithm for finding
+ * strongly connected components", 2016). A single {@code rindex} int per vertex doubles as DFS index,
+ * low link and, once the vertex is finished, component id; component ids count down from n - 1 so they
+ * always compare above any live index. The DFS call stack and the component stack share one array of
+ * n ints, growing from opposite ends, and root flags live in a bitset: about 8 bytes per vertex against
+ * Tarjan's 17. Both still keep one edge cursor per DFS level.
+ */
+public class PearceSCC implements SCCAlgorithm {
+    private boolean stopped;
+    private AnalysisBudget budget;
+    private Metrics metrics;
+
+    public PearceSCC() {
+        this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    @Override
+    public PearceSCC withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    @Override
+    public SCCResult findSCCs(Graph graph) {
+        metrics.startTimer();
+        metrics.startPhase("SCC detection");
+        metrics.describePhase(graph.getVertexCount(), graph.getEdges().size());
+        try {
+            metrics.startPhase("adjacency build");
+            CSRGraph csr;
+            try {
+                csr = CSRGraph.from(graph);
+            } finally {
+                metrics.endPhase();
+            }
+            int[] componentOf = findComponents(csr);
+            int componentCount = componentCount(componentOf);
+            metrics.startPhase("condensation");
+            try {
+                return new SCCResult(Condensation.components(componentOf, componentCount),
+                        Condensation.of(graph, componentOf, componentCount, budget), metrics,
+                        budget.getStatus());
+            } finally {
+                metrics.endPhase();
+            }
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
+        }
+    }
+
+    @Override
+    public SCCResult findSCCs(AdjacencyGraph graph) {
+        metrics.startTimer();
+        metrics.startPhase("SCC detection");
+        metrics.describePhase(graph);
+        try {
+            int[] componentOf = findComponents(graph);
+            int componentCount = componentCount(componentOf);
+            metrics.startPhase("condensation");
+            try {
+                return new SCCResult(Condensation.components(componentOf, componentCount),
+                        Condensation.of(graph, componentOf, componentCount, budget), metrics,
+                        budget.getStatus());
+            } finally {
+                metrics.endPhase();
+            }
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
+        }
+    }
+
+    /** Returns the component of each vertex, numbered in completion order (sinks first). */
+    private int[] findComponents(AdjacencyGraph graph) {
+        metrics.startPhase("traversal");
+        try {
+            int n = graph.getVertexCount();
+            int[] rindex = new int[n];
+            int[] stacks = new int[n];
+            long[] root = new long[(n + 63) >>> 6];
+            EdgeCursor[] cursors = new EdgeCursor[16];
+            int index = 1;
+            int component = n - 1;
+            long edgeTraversals = 0;
+            stopped = false;
+            int depth = -1;
+            int top = n;
+
+            search:
+            for (int s = 0; s < n; s++) {
+                // Both stacks are empty between roots
+                if (budget.check(s)) {
+                    stopped = true;
+                    break;
+                }
+                if (rindex[s] != 0) {
+                    continue;
+                }
+                // Call stack in stacks[0..depth], component stack in stacks[top..n)
+                depth = 0;
+                top = n;
+                stacks[0] = s;
+                cursors = ensureCursor(cursors, 0, graph);
+                rindex[s] = index++;
+                root[s >>> 6] |= 1L << s;
+                cursors[0].reset(s);
+
+                while (depth >= 0) {
+                    int v = stacks[depth];
+                    EdgeCursor cursor = cursors[depth];
+                    if (cursor.next()) {
+                        if (budget.check(++edgeTraversals)) {
+                            stopped = true;
+                            break search;
+                        }
+                        int w = cursor.target();
+                        if (rindex[w] == 0) {
+                            depth++;
+                            stacks[depth] = w;
+                            cursors = ensureCursor(cursors, depth, graph);
+                            rindex[w] = index++;
+                            root[w >>> 6] |= 1L << w;
+                            cursors[depth].reset(w);
+                        } else if (rindex[w] < rindex[v]) {
+                            rindex[v] = rindex[w];
+                            root[v >>> 6] &= ~(1L << v);
+                        }
+                        continue;
+                    }
+
+                    if ((root[v >>> 6] & (1L << v)) != 0) {
+                        index--;
+                        while (top < n && rindex[v] <= rindex[stacks[top]]) {
+                            rindex[stacks[top++]] = component;
+                            index--;
+                        }
+                        rindex[v] = component--;
+                    } else {
+                        stacks[--top] = v;
+                    }
+
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = stacks[depth];
+                        if (rindex[v] < rindex[parent]) {
+                            rindex[parent] = rindex[v];
+                            root[parent >>> 6] &= ~(1L << parent);
+                        }
+                    }
+                }
+            }
+
+            if (stopped) {
+                // Vertices still on either stack, or never reached, belong to no finished component
+                for (int i = 0; i <= depth; i++) {
+                    rindex[stacks[i]] = n;
+                }
+                for (int i = top; i < n; i++) {
+                    rindex[stacks[i]] = n;
+                }
+                for (int v = 0; v < n; v++) {
+                    if (rindex[v] == 0) {
+                        rindex[v] = n;
+                    }
+                }
+            }
+
+            // Renumber n - 1, n - 2, ... to 0, 1, ... in place; unfinished vertices become -1
+            for (int v = 0; v < n; v++) {
+                rindex[v] = n - 1 - rindex[v];
+            }
+            metrics.addOperations("DFS visits", n);
+            metrics.addOperations("Edge traversals", edgeTraversals);
+            return rindex;
+        } finally {
+            metrics.endPhase();
+        }
+    }
+
+    private static int componentCount(int[] componentOf) {
+        int max = -1;
+        for (int c : componentOf) {
+            max = Math.max(max, c);
+        }
+        return max + 1;
+    }
+
+    private static EdgeCursor[] ensureCursor(EdgeCursor[] cursors, int depth, AdjacencyGraph graph) {
+        if (depth >= cursors.length) {
+            cursors = Arrays.copyOf(cursors, cursors.length * 2);
+        }
+        if (cursors[depth] == null) {
+            cursors[depth] = graph.newCursor();
+        }
+        return cursors;
+    }
+}
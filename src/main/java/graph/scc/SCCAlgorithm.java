@@ -0,0 +1,26 @@
+package graph.scc;
+
+import graph.model.AdjacencyGraph;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+
+/**
+ * Strongly connected component engine. Every implementation returns the same {@link SCCResult} shape:
+ * components are listed sinks-first (reverse topological order of the condensation), so every
+ * condensation edge goes from a higher component index to a lower one, and condensation vertex
+ * {@code i} is component {@code i}. The order of vertices inside one component is engine-specific.
+ * An engine whose {@link AnalysisBudget} runs out returns the components closed so far with a
+ * non-COMPLETE status instead of finishing; if it runs out while the condensation is built, every
+ * component is listed but the condensation may lack edges. The result carries the budget's status.
+ * <p>
+ * The elapsed time in the result's metrics covers the whole call, condensation included; the
+ * {@code traversal} phase (or the engine's equivalent passes) isolates component detection.
+ */
+public interface SCCAlgorithm {
+    SCCResult findSCCs(Graph graph);
+
+    SCCResult findSCCs(AdjacencyGraph graph);
+
+    /** Polls {@code budget} during later runs; returns this engine. */
+    SCCAlgorithm withBudget(AnalysisBudget budget);
+}
@@ -2,21 +2,35 @@ package graph.scc;
 
 import graph.model.Graph;
 import graph.metrics.Metrics;
+import graph.util.AnalysisStatus;
 import java.util.List;
 
+/**
+ * Components and their condensation. When the analysis stopped early ({@link #getStatus()} is not
+ * COMPLETE) only the components already closed are listed, each of them complete, and the condensation
+ * covers just those; vertices not yet assigned appear in no component.
+ */
 public class SCCResult {
     private final List<List<Integer>> sccs;
     private final Graph condensationGraph;
     private final Metrics metrics;
+    private final AnalysisStatus status;
 
     public SCCResult(List<List<Integer>> sccs, Graph condensationGraph, Metrics metrics) {
+        this(sccs, condensationGraph, metrics, AnalysisStatus.COMPLETE);
+    }
+
+    public SCCResult(List<List<Integer>> sccs, Graph condensationGraph, Metrics metrics, AnalysisStatus status) {
         this.sccs = sccs;
         this.condensationGraph = condensationGraph;
         this.metrics = metrics;
+        this.status = status;
     }
 
     // Getters
     public List<List<Integer>> getSccs() { return sccs; }
     public Graph getCondensationGraph() { return condensationGraph; }
     public Metrics getMetrics() { return metrics; }
+    public AnalysisStatus getStatus() { return status; }
+    public boolean isComplete() { return status == AnalysisStatus.COMPLETE; }
 }
\ No newline at end of file
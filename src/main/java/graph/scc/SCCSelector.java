@@ -0,0 +1,91 @@
+package graph.scc;
+
+import graph.model.AdjacencyGraph;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+
+/**
+ * Picks an {@link SCCAlgorithm} per graph from its size, density and the heap still available. Tarjan
+ * and Pearce keep one edge cursor per DFS level, so a deep DFS can cost a cursor per vertex on top of
+ * their arrays, while Kosaraju's frames are plain ints but it needs a reverse CSR. The rules:
+ * <ul>
+ *   <li>{@link TarjanSCC} for graphs under {@value #SMALL_GRAPH} vertices, where the engines are
+ *       indistinguishable and Tarjan keeps the historical vertex order inside components;</li>
+ *   <li>{@link PearceSCC} when its worst case (a cursor per vertex) fits in half the free heap; on
+ *       large graphs it measured as fast as or faster than Tarjan at half the per-vertex arrays;</li>
+ *   <li>{@link KosarajuSCC} when that does not fit but the reverse CSR does, which happens for sparse
+ *       graphs (below roughly 2.4 edges per vertex);</li>
+ *   <li>{@link PearceSCC} again when nothing fits, as the leanest engine in the common case.</li>
+ * </ul>
+ * None of the engines is parallel, so the core count does not enter the choice. Every engine honours
+ * the same result contract, so the choice only affects time and memory.
+ */
+public class SCCSelector implements SCCAlgorithm {
+    static final int SMALL_GRAPH = 1 << 16;
+
+    // Working-set estimates in bytes, on top of the boxed component lists every engine returns
+    private static final long RESULT_BYTES_PER_VERTEX = 20;
+    private static final long CURSOR_BYTES = 32;
+    private static final long PEARCE_BYTES_PER_VERTEX = 8;
+    private static final long KOSARAJU_BYTES_PER_VERTEX = 21;
+    private static final long KOSARAJU_BYTES_PER_EDGE = 8;
+
+    private final long availableBytes;
+    private AnalysisBudget budget;
+    private SCCAlgorithm lastChoice;
+
+    public SCCSelector() {
+        this(-1);
+    }
+
+    /** Uses a fixed memory budget instead of measuring the heap; negative means measure per call. */
+    public SCCSelector(long availableBytes) {
+        this.availableBytes = availableBytes;
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    /** Handed on to whichever engine is chosen. */
+    @Override
+    public SCCSelector withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    @Override
+    public SCCResult findSCCs(Graph graph) {
+        lastChoice = choose(graph.getVertexCount(), graph.isDirected() ? graph.getEdges().size()
+                : 2L * graph.getEdges().size());
+        return lastChoice.withBudget(budget).findSCCs(graph);
+    }
+
+    @Override
+    public SCCResult findSCCs(AdjacencyGraph graph) {
+        lastChoice = choose(graph.getVertexCount(), graph.getEdgeCount());
+        return lastChoice.withBudget(budget).findSCCs(graph);
+    }
+
+    /** A fresh engine suited to a graph of this size. */
+    public SCCAlgorithm choose(int vertexCount, long edgeCount) {
+        if (vertexCount < SMALL_GRAPH) {
+            return new TarjanSCC();
+        }
+        long budget = (availableBytes >= 0 ? availableBytes : freeHeap()) / 2;
+        long base = RESULT_BYTES_PER_VERTEX * vertexCount;
+        if (base + (PEARCE_BYTES_PER_VERTEX + CURSOR_BYTES) * vertexCount <= budget) {
+            return new PearceSCC();
+        }
+        long kosaraju = KOSARAJU_BYTES_PER_VERTEX * vertexCount + KOSARAJU_BYTES_PER_EDGE * edgeCount;
+        if (base + kosaraju <= budget) {
+            return new KosarajuSCC();
+        }
+        return new PearceSCC();
+    }
+
+    private static long freeHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /** The engine used by the most recent call, or null before the first. */
+    public SCCAlgorithm getLastChoice() { return lastChoice; }
+}
@@ -1,102 +1,192 @@
 package graph.scc;
 
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
 import graph.model.Graph;
 import graph.metrics.Metrics;
+import graph.util.AnalysisBudget;
 import java.util.*;
 
-public class TarjanSCC {
+/**
+ * Tarjan's single-pass algorithm. Fastest of the {@link SCCAlgorithm} engines on graphs that fit
+ * comfortably in memory; needs four arrays per vertex.
+ */
+public class TarjanSCC implements SCCAlgorithm {
     private int index;
     private int[] indices;
     private int[] lowLinks;
     private boolean[] onStack;
-    private Stack<Integer> stack;
+    private int[] stack;
+    private int stackSize;
+    private int[] callStack;
+    private EdgeCursor[] cursors;
     private List<List<Integer>> sccs;
+    private long edgeTraversals;
+    private boolean stopped;
+    private AnalysisBudget budget;
     private Metrics metrics;
 
     public TarjanSCC() {
         this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
     }
 
+    @Override
+    public TarjanSCC withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    @Override
     public SCCResult findSCCs(Graph graph) {
         metrics.startTimer();
-        int n = graph.getVertexCount();
-        indices = new int[n];
-        lowLinks = new int[n];
-        onStack = new boolean[n];
-        stack = new Stack<>();
-        sccs = new ArrayList<>();
-        index = 0;
-
-        Arrays.fill(indices, -1);
-
-        List<List<Integer>> adj = graph.getAdjacencyList();
-
-        for (int i = 0; i < n; i++) {
-            metrics.incrementOperation("DFS visits");
-            if (indices[i] == -1) {
-                strongConnect(i, adj);
+        metrics.startPhase("SCC detection");
+        metrics.describePhase(graph.getVertexCount(), graph.getEdges().size());
+        try {
+            metrics.startPhase("adjacency build");
+            CSRGraph csr;
+            try {
+                csr = CSRGraph.from(graph);
+            } finally {
+                metrics.endPhase();
             }
+            findComponents(csr);
+            metrics.startPhase("condensation");
+            try {
+                int[] componentOf = Condensation.componentIndex(graph.getVertexCount(), sccs);
+                Graph condensation = Condensation.of(graph, componentOf, sccs.size(), budget);
+                return new SCCResult(sccs, condensation, metrics, budget.getStatus());
+            } finally {
+                metrics.endPhase();
+            }
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
         }
-
-        metrics.stopTimer();
-        return new SCCResult(sccs, buildCondensationGraph(graph, sccs), metrics);
     }
 
-    private void strongConnect(int v, List<List<Integer>> adj) {
-        indices[v] = index;
-        lowLinks[v] = index;
-        index++;
-        stack.push(v);
-        onStack[v] = true;
-
-        for (int w : adj.get(v)) {
-            metrics.incrementOperation("Edge traversals");
-            if (indices[w] == -1) {
-                strongConnect(w, adj);
-                lowLinks[v] = Math.min(lowLinks[v], lowLinks[w]);
-            } else if (onStack[w]) {
-                lowLinks[v] = Math.min(lowLinks[v], indices[w]);
+    @Override
+    public SCCResult findSCCs(AdjacencyGraph graph) {
+        metrics.startTimer();
+        metrics.startPhase("SCC detection");
+        metrics.describePhase(graph);
+        try {
+            findComponents(graph);
+            metrics.startPhase("condensation");
+            try {
+                int[] componentOf = Condensation.componentIndex(graph.getVertexCount(), sccs);
+                Graph condensation = Condensation.of(graph, componentOf, sccs.size(), budget);
+                return new SCCResult(sccs, condensation, metrics, budget.getStatus());
+            } finally {
+                metrics.endPhase();
             }
-        }
-
-        if (lowLinks[v] == indices[v]) {
-            List<Integer> scc = new ArrayList<>();
-            int w;
-            do {
-                w = stack.pop();
-                onStack[w] = false;
-                scc.add(w);
-            } while (w != v);
-            sccs.add(scc);
+        } finally {
+            metrics.endPhase();
+            metrics.stopTimer();
         }
     }
 
-    private Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> sccs) {
-        // Map each vertex to its SCC index
-        int[] sccIndex = new int[originalGraph.getVertexCount()];
-        for (int i = 0; i < sccs.size(); i++) {
-            for (int vertex : sccs.get(i)) {
-                sccIndex[vertex] = i;
+    private void findComponents(AdjacencyGraph graph) {
+        metrics.startPhase("traversal");
+        try {
+            int n = graph.getVertexCount();
+            indices = new int[n];
+            lowLinks = new int[n];
+            onStack = new boolean[n];
+            stack = new int[n];
+            stackSize = 0;
+            sccs = new ArrayList<>();
+            index = 0;
+
+            Arrays.fill(indices, -1);
+
+            // One cursor per DFS depth, created lazily and reused across roots
+            callStack = new int[n];
+            cursors = new EdgeCursor[16];
+            edgeTraversals = 0;
+            stopped = false;
+
+            for (int i = 0; i < n && !stopped; i++) {
+                // Vertex count polls the budget too, so root scans over edgeless vertices still stop
+                if (budget.check(i)) {
+                    stopped = true;
+                    break;
+                }
+                if (indices[i] == -1) {
+                    strongConnect(i, graph);
+                }
             }
+
+            metrics.addOperations("DFS visits", n);
+            metrics.addOperations("Edge traversals", edgeTraversals);
+        } finally {
+            metrics.endPhase();
         }
+    }
 
-        // Create edges between SCCs
-        Set<String> edges = new HashSet<>();
-        List<graph.model.Edge> condensationEdges = new ArrayList<>();
+    // Iterative form of the classic recursive strongConnect so deep graphs cannot overflow the stack
+    private void strongConnect(int root, AdjacencyGraph graph) {
+        int depth = 0;
+        callStack[0] = root;
+        visit(root, cursorAt(0, graph));
+
+        while (depth >= 0) {
+            int v = callStack[depth];
+            EdgeCursor cursor = cursors[depth];
+
+            if (cursor.next()) {
+                if (budget.check(++edgeTraversals)) {
+                    // Components already popped are complete; the rest stay unassigned
+                    stopped = true;
+                    return;
+                }
+                int w = cursor.target();
+                if (indices[w] == -1) {
+                    depth++;
+                    callStack[depth] = w;
+                    visit(w, cursorAt(depth, graph));
+                } else if (onStack[w]) {
+                    lowLinks[v] = Math.min(lowLinks[v], indices[w]);
+                }
+                continue;
+            }
 
-        for (graph.model.Edge edge : originalGraph.getEdges()) {
-            int uScc = sccIndex[edge.getU()];
-            int vScc = sccIndex[edge.getV()];
+            if (lowLinks[v] == indices[v]) {
+                List<Integer> scc = new ArrayList<>();
+                int w;
+                do {
+                    w = stack[--stackSize];
+                    onStack[w] = false;
+                    scc.add(w);
+                } while (w != v);
+                sccs.add(scc);
+            }
 
-            if (uScc != vScc) {
-                String edgeKey = uScc + "->" + vScc;
-                if (!edges.contains(edgeKey)) {
-                    edges.add(edgeKey);
-                    condensationEdges.add(new graph.model.Edge(uScc, vScc, edge.getW()));
-                }
+            depth--;
+            if (depth >= 0) {
+                int parent = callStack[depth];
+                lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[v]);
             }
         }
+    }
 
-        return new Graph(sccs.size(), condensationEdges, true);
+    private void visit(int v, EdgeCursor cursor) {
+        indices[v] = index;
+        lowLinks[v] = index;
+        index++;
+        stack[stackSize++] = v;
+        onStack[v] = true;
+        cursor.reset(v);
+    }
+
+    private EdgeCursor cursorAt(int depth, AdjacencyGraph graph) {
+        if (depth >= cursors.length) {
+            cursors = Arrays.copyOf(cursors, cursors.length * 2);
+        }
+        if (cursors[depth] == null) {
+            cursors[depth] = graph.newCursor();
+        }
+        return cursors[depth];
     }
-}
\ No newline at end of file
+}
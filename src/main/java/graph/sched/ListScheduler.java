@@ -0,0 +1,247 @@
+package graph.sched;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.topo.KahnsAlgorithm;
+import graph.util.IndexedMinHeap;
+import java.util.*;
+
+/**
+ * Critical-path list scheduling of a task DAG on a finite set of resources.
+ * Vertices are tasks with the given durations and edges are precedence constraints; with
+ * {@link #withEdgeLags()} an edge's weight is also a minimum delay between the predecessor finishing
+ * and the successor starting. Whenever a resource of some type is free, the ready task of that type
+ * with the largest bottom level (its duration plus the longest remaining chain behind it) starts.
+ * <p>
+ * The simulation is event driven: time jumps from one task completion (or lag expiry) to the next,
+ * and all queues are {@link IndexedMinHeap}s, so a run costs O((V + E) log V). Cyclic inputs are rejected
+ * with {@link graph.topo.CyclicGraphException} while computing priorities.
+ */
+public class ListScheduler {
+    private final int[] capacity;
+    private final int[] taskType;
+    private boolean edgeLags;
+    private Metrics metrics;
+
+    private ListScheduler(int[] capacity, int[] taskType) {
+        for (int c : capacity) {
+            if (c < 0) {
+                throw new IllegalArgumentException("Resource capacities must be non-negative");
+            }
+        }
+        this.capacity = capacity;
+        this.taskType = taskType;
+        this.metrics = new Metrics();
+    }
+
+    /** {@code workers} interchangeable resources; any task can run on any of them. */
+    public static ListScheduler identical(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        return new ListScheduler(new int[]{workers}, null);
+    }
+
+    /**
+     * @param capacity number of resources of each type
+     * @param taskType resource type each task needs, indexed by vertex
+     */
+    public static ListScheduler typed(int[] capacity, int[] taskType) {
+        return new ListScheduler(capacity.clone(), taskType.clone());
+    }
+
+    /** Treat edge weights as minimum delays between a task finishing and its successor starting. */
+    public ListScheduler withEdgeLags() {
+        this.edgeLags = true;
+        return this;
+    }
+
+    public ScheduleResult schedule(Graph dag, int[] durations) {
+        return schedule(CSRGraph.from(dag), durations);
+    }
+
+    public ScheduleResult schedule(AdjacencyGraph dag, int[] durations) {
+        metrics.startTimer();
+        try {
+            int n = dag.getVertexCount();
+            if (durations.length != n) {
+                throw new IllegalArgumentException("Expected " + n + " durations but got " + durations.length);
+            }
+            int[] type = taskType != null ? taskType : new int[n];
+            if (type.length != n) {
+                throw new IllegalArgumentException("Expected " + n + " task types but got " + type.length);
+            }
+            int types = capacity.length;
+            int[] tasksOfType = new int[types];
+            int[] local = new int[n];
+            for (int v = 0; v < n; v++) {
+                if (durations[v] < 0) {
+                    throw new IllegalArgumentException("Task " + v + " has a negative duration");
+                }
+                if (type[v] < 0 || type[v] >= types) {
+                    throw new IllegalArgumentException("Task " + v + " needs unknown resource type " + type[v]);
+                }
+                local[v] = tasksOfType[type[v]]++;
+            }
+            for (int t = 0; t < types; t++) {
+                if (tasksOfType[t] > 0 && capacity[t] == 0) {
+                    throw new IllegalArgumentException("No resources of type " + t + " for " + tasksOfType[t]
+                            + " tasks");
+                }
+            }
+
+            // Kahn throws CyclicGraphException on a cyclic input, so each phase closes in its own finally
+            metrics.startPhase("priorities");
+            long[] bottomLevel;
+            try {
+                List<Integer> order = new KahnsAlgorithm().topologicalSort(dag).getTopologicalOrder();
+                bottomLevel = bottomLevels(dag, order, durations);
+            } finally {
+                metrics.endPhase();
+            }
+
+            // Resources are numbered globally; each type owns a contiguous range and a stack of free ids
+            int[] firstResource = new int[types + 1];
+            for (int t = 0; t < types; t++) {
+                firstResource[t + 1] = firstResource[t] + capacity[t];
+            }
+            long[] start = new long[n];
+            long[] finish = new long[n];
+            int[] resource = new int[n];
+            long makespan = 0;
+            long events = 0;
+
+            metrics.startPhase("simulation");
+            try {
+                int[][] free = new int[types][];
+                int[] freeCount = new int[types];
+                for (int t = 0; t < types; t++) {
+                    free[t] = new int[capacity[t]];
+                    for (int r = capacity[t] - 1; r >= 0; r--) {
+                        free[t][freeCount[t]++] = firstResource[t] + r;
+                    }
+                }
+                int[][] byLocal = new int[types][];
+                for (int t = 0; t < types; t++) {
+                    byLocal[t] = new int[tasksOfType[t]];
+                }
+                for (int v = 0; v < n; v++) {
+                    byLocal[type[v]][local[v]] = v;
+                }
+                IndexedMinHeap[] ready = new IndexedMinHeap[types];
+                for (int t = 0; t < types; t++) {
+                    ready[t] = new IndexedMinHeap(tasksOfType[t]);
+                }
+                IndexedMinHeap running = new IndexedMinHeap(n);
+                IndexedMinHeap waiting = new IndexedMinHeap(n);
+
+                int[] remaining = new int[n];
+                EdgeCursor cursor = dag.newCursor();
+                for (int u = 0; u < n; u++) {
+                    cursor.reset(u);
+                    while (cursor.next()) {
+                        remaining[cursor.target()]++;
+                    }
+                }
+                long[] earliest = new long[n];
+                for (int v = 0; v < n; v++) {
+                    if (remaining[v] == 0) {
+                        ready[type[v]].insert(local[v], -bottomLevel[v]);
+                    }
+                }
+
+                long now = 0;
+                int scheduled = 0;
+                while (scheduled < n) {
+                    // Start the most critical ready tasks on every free resource
+                    for (int t = 0; t < types; t++) {
+                        while (freeCount[t] > 0 && !ready[t].isEmpty()) {
+                            int v = byLocal[t][ready[t].poll()];
+                            resource[v] = free[t][--freeCount[t]];
+                            start[v] = now;
+                            finish[v] = now + durations[v];
+                            running.insert(v, finish[v]);
+                            scheduled++;
+                        }
+                    }
+                    if (running.isEmpty() && waiting.isEmpty()) {
+                        break;
+                    }
+
+                    // Jump to the next completion or lag expiry and process everything due at that instant
+                    long next = Long.MAX_VALUE;
+                    if (!running.isEmpty()) {
+                        next = running.peekKey();
+                    }
+                    if (!waiting.isEmpty()) {
+                        next = Math.min(next, waiting.peekKey());
+                    }
+                    now = next;
+                    while (!running.isEmpty() && running.peekKey() == now) {
+                        int u = running.poll();
+                        events++;
+                        int t = type[u];
+                        free[t][freeCount[t]++] = resource[u];
+                        cursor.reset(u);
+                        while (cursor.next()) {
+                            int v = cursor.target();
+                            long at = finish[u] + (edgeLags ? Math.max(0, cursor.weight()) : 0);
+                            earliest[v] = Math.max(earliest[v], at);
+                            if (--remaining[v] == 0) {
+                                if (earliest[v] <= now) {
+                                    ready[type[v]].insert(local[v], -bottomLevel[v]);
+                                } else {
+                                    waiting.insert(v, earliest[v]);
+                                }
+                            }
+                        }
+                    }
+                    while (!waiting.isEmpty() && waiting.peekKey() <= now) {
+                        int v = waiting.poll();
+                        events++;
+                        ready[type[v]].insert(local[v], -bottomLevel[v]);
+                    }
+                }
+                // The loop stops once the last task has started, so read the makespan off the finish times
+                for (int v = 0; v < n; v++) {
+                    makespan = Math.max(makespan, finish[v]);
+                }
+            } finally {
+                metrics.endPhase();
+            }
+
+            long criticalPath = 0;
+            long totalWork = 0;
+            for (int v = 0; v < n; v++) {
+                criticalPath = Math.max(criticalPath, bottomLevel[v]);
+                totalWork += durations[v];
+            }
+            metrics.addOperations("Tasks scheduled", n);
+            metrics.addOperations("Events processed", events);
+            return new ScheduleResult(start, finish, resource, makespan, criticalPath, totalWork,
+                    firstResource[types], metrics);
+        } finally {
+            metrics.stopTimer();
+        }
+    }
+
+    /** Duration plus the longest lag-and-duration chain to any sink. */
+    private long[] bottomLevels(AdjacencyGraph dag, List<Integer> order, int[] durations) {
+        long[] bottom = new long[dag.getVertexCount()];
+        EdgeCursor cursor = dag.newCursor();
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int u = order.get(i);
+            long best = 0;
+            cursor.reset(u);
+            while (cursor.next()) {
+                long lag = edgeLags ? Math.max(0, cursor.weight()) : 0;
+                best = Math.max(best, lag + bottom[cursor.target()]);
+            }
+            bottom[u] = durations[u] + best;
+        }
+        return bottom;
+    }
+}
@@ -0,0 +1,43 @@
+package graph.sched;
+
+import graph.metrics.Metrics;
+
+public class ScheduleResult {
+    private final long[] startTimes;
+    private final long[] finishTimes;
+    private final int[] resourceAssignment;
+    private final long makespan;
+    private final long criticalPathLength;
+    private final long totalWork;
+    private final int resourceCount;
+    private final Metrics metrics;
+
+    public ScheduleResult(long[] startTimes, long[] finishTimes, int[] resourceAssignment, long makespan,
+                          long criticalPathLength, long totalWork, int resourceCount, Metrics metrics) {
+        this.startTimes = startTimes;
+        this.finishTimes = finishTimes;
+        this.resourceAssignment = resourceAssignment;
+        this.makespan = makespan;
+        this.criticalPathLength = criticalPathLength;
+        this.totalWork = totalWork;
+        this.resourceCount = resourceCount;
+        this.metrics = metrics;
+    }
+
+    /** Busy fraction of all resources over the makespan. */
+    public double getUtilization() {
+        return makespan == 0 || resourceCount == 0 ? 0 : (double) totalWork / ((double) makespan * resourceCount);
+    }
+
+    // Getters
+    public long[] getStartTimes() { return startTimes; }
+    public long[] getFinishTimes() { return finishTimes; }
+    /** Global resource id per task; type t owns the ids after all resources of types below t. */
+    public int[] getResourceAssignment() { return resourceAssignment; }
+    public long getMakespan() { return makespan; }
+    /** Makespan with unlimited resources, a lower bound on {@link #getMakespan()}. */
+    public long getCriticalPathLength() { return criticalPathLength; }
+    public long getTotalWork() { return totalWork; }
+    public int getResourceCount() { return resourceCount; }
+    public Metrics getMetrics() { return metrics; }
+}
@@ -0,0 +1,153 @@
+package graph.shard;
+
+import graph.io.BinaryEdgeFormat;
+import graph.model.CSRGraph;
+import graph.scc.SCCResult;
+import graph.scc.SCCSelector;
+import graph.util.AnalysisBudget;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * One shard of a {@link ShardedAnalyzer} run, normally in its own JVM. Reads the out-edges of the vertex
+ * range {@code [first, end)} in global ids, finds the SCCs of the edges that stay inside the range and
+ * writes two binary edge files back:
+ * <ul>
+ *   <li>members: {@code (v, representative, 0)} for every vertex of a local SCC with more than one
+ *       vertex, the representative being the component's smallest id;</li>
+ *   <li>edges: the shard's condensed out-edges {@code (representative(u), t, w)}, where {@code t} is a
+ *       representative for targets inside the range and the raw target id otherwise. Parallel edges
+ *       collapse to their lightest weight followed, if it differs, by a second record with the heaviest,
+ *       so the coordinator can keep both.</li>
+ * </ul>
+ * Usage: {@code ShardWorker <input> <first> <end> <members-out> <edges-out>}
+ */
+public final class ShardWorker {
+    private ShardWorker() {}
+
+    public static void main(String[] args) {
+        if (args.length != 5) {
+            System.err.println("Usage: ShardWorker <input> <first> <end> <members-out> <edges-out>");
+            System.exit(2);
+        }
+        try {
+            // A worker process is stopped by its coordinator, so it runs unbudgeted
+            run(Paths.get(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                    Paths.get(args[3]), Paths.get(args[4]), AnalysisBudget.unlimited());
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /** Returns false, writing nothing, if {@code budget} runs out before the local SCCs are complete. */
+    static boolean run(Path input, int first, int end, Path membersOut, Path edgesOut, AnalysisBudget budget)
+            throws IOException {
+        int vertexCount;
+        int[] source;
+        int[] target;
+        int[] weight;
+        try (BinaryEdgeFormat.Reader reader = BinaryEdgeFormat.reader(input)) {
+            vertexCount = reader.getVertexCount();
+            if (reader.getEdgeCount() > Integer.MAX_VALUE) {
+                throw new IOException("Shard has too many edges: " + reader.getEdgeCount());
+            }
+            int m = (int) reader.getEdgeCount();
+            source = new int[m];
+            target = new int[m];
+            weight = new int[m];
+            for (int e = 0; reader.next(); e++) {
+                if (reader.u() < first || reader.u() >= end) {
+                    throw new IOException("Edge source " + reader.u() + " is outside shard ["
+                            + first + ", " + end + ")");
+                }
+                source[e] = reader.u();
+                target[e] = reader.v();
+                weight[e] = reader.w();
+            }
+        }
+
+        int[] representative = localRepresentatives(first, end, source, target, weight, budget);
+        if (representative == null) {
+            return false;
+        }
+
+        try (BinaryEdgeFormat.Writer writer = BinaryEdgeFormat.writer(membersOut, vertexCount)) {
+            for (int v = first; v < end; v++) {
+                if (representative[v - first] != v) {
+                    writer.write(v, representative[v - first], 0);
+                }
+            }
+        }
+
+        Map<Long, Integer> lightest = new HashMap<>();
+        Map<Long, Integer> heaviest = new HashMap<>();
+        for (int e = 0; e < source.length; e++) {
+            int u = representative[source[e] - first];
+            int v = target[e] >= first && target[e] < end ? representative[target[e] - first] : target[e];
+            if (u != v) {
+                long key = ((long) u << 32) | v;
+                lightest.merge(key, weight[e], Math::min);
+                heaviest.merge(key, weight[e], Math::max);
+            }
+        }
+        long[] keys = new long[lightest.size()];
+        int k = 0;
+        for (long key : lightest.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+        try (BinaryEdgeFormat.Writer writer = BinaryEdgeFormat.writer(edgesOut, vertexCount)) {
+            for (long key : keys) {
+                int light = lightest.get(key);
+                int heavy = heaviest.get(key);
+                writer.write((int) (key >>> 32), (int) key, light);
+                if (heavy != light) {
+                    writer.write((int) (key >>> 32), (int) key, heavy);
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Smallest global id of each local vertex's SCC, using only the edges inside the range; null if stopped. */
+    private static int[] localRepresentatives(int first, int end, int[] source, int[] target, int[] weight,
+                                              AnalysisBudget budget) {
+        int size = end - first;
+        int[] offsets = new int[size + 1];
+        for (int e = 0; e < source.length; e++) {
+            if (target[e] >= first && target[e] < end) {
+                offsets[source[e] - first + 1]++;
+            }
+        }
+        for (int v = 0; v < size; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = Arrays.copyOf(offsets, size);
+        int[] targets = new int[offsets[size]];
+        int[] weights = new int[offsets[size]];
+        for (int e = 0; e < source.length; e++) {
+            if (target[e] >= first && target[e] < end) {
+                int slot = next[source[e] - first]++;
+                targets[slot] = target[e] - first;
+                weights[slot] = weight[e];
+            }
+        }
+
+        SCCResult local = new SCCSelector().withBudget(budget)
+                .findSCCs(new CSRGraph(size, offsets, targets, weights));
+        if (!local.isComplete()) {
+            return null;
+        }
+        int[] representative = new int[size];
+        for (List<Integer> scc : local.getSccs()) {
+            int min = Collections.min(scc) + first;
+            for (int v : scc) {
+                representative[v] = min;
+            }
+        }
+        return representative;
+    }
+}
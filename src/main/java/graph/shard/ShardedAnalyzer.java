@@ -0,0 +1,450 @@
+package graph.shard;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.io.BinaryEdgeFormat;
+import graph.metrics.Metrics;
+import graph.model.CSRGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import graph.topo.TopoResult;
+import graph.util.AnalysisBudget;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SCC, condensation, topological order and critical path of a graph split by vertex ranges into shards.
+ * The coordinator writes each shard's out-edges to a binary edge file and starts one {@link ShardWorker}
+ * per shard, as a separate JVM on this machine or, for tests and small inputs, as a thread. Workers
+ * contract their local SCCs and send back the condensed edges; the coordinator then merges SCCs that
+ * cross shard boundaries by running {@link TarjanSCC} on the graph of local components, which has the
+ * same SCCs as the input because every local component is strongly connected.
+ * <p>
+ * All exchange goes through {@link BinaryEdgeFormat} files, and the bytes in each direction are
+ * reported. The in-memory condensation weighs parallel edges between two components by the first one,
+ * an order the shards cannot reproduce, so the exchange keeps the lightest and heaviest weight of every
+ * pair instead: the condensation carries the lightest and the critical path runs over the heaviest. Both
+ * agree with the in-memory analysis unless parallel edges between two components differ in weight; then
+ * condensation weights here may be lower and the critical path may be longer.
+ * <p>
+ * With a {@link #withBudget budget} the coordinator stops waiting once it runs out and kills worker
+ * processes (thread workers poll it themselves). A run stopped before the merge has finished reports no
+ * components; after it, topological order and critical path stop as their engines do.
+ */
+public class ShardedAnalyzer {
+    public enum Launch { PROCESSES, THREADS }
+
+    private static final long WORKER_POLL_MILLIS = 20;
+
+    private final Launch launch;
+    private final int shards;
+    private final Path workDir;
+    private final List<String> jvmOptions = new ArrayList<>();
+    private AnalysisBudget budget = AnalysisBudget.unlimited();
+    private Metrics metrics;
+
+    private ShardedAnalyzer(Launch launch, int shards, Path workDir) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.launch = launch;
+        this.shards = shards;
+        this.workDir = workDir;
+        this.metrics = new Metrics();
+    }
+
+    /** One worker JVM per shard, started with this JVM's java binary and class path. */
+    public static ShardedAnalyzer processes(int shards, Path workDir) {
+        return new ShardedAnalyzer(Launch.PROCESSES, shards, workDir);
+    }
+
+    /** Workers run as threads of this JVM; the exchange still goes through files. */
+    public static ShardedAnalyzer threads(int shards, Path workDir) {
+        return new ShardedAnalyzer(Launch.THREADS, shards, workDir);
+    }
+
+    /** Extra worker JVM options, such as {@code -Xmx4g}. */
+    public ShardedAnalyzer withJvmOptions(String... options) {
+        jvmOptions.addAll(Arrays.asList(options));
+        return this;
+    }
+
+    public ShardedAnalyzer withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public ShardedResult analyze(Graph graph) throws IOException, InterruptedException {
+        Path edgeFile = Files.createTempFile(workDir, "graph", ".bin");
+        try {
+            BinaryEdgeFormat.write(graph, edgeFile);
+            return analyze(edgeFile);
+        } finally {
+            Files.deleteIfExists(edgeFile);
+        }
+    }
+
+    public ShardedResult analyze(Path edgeFile) throws IOException, InterruptedException {
+        metrics.startTimer();
+        List<Path> files = new ArrayList<>();
+        try {
+            metrics.startPhase("partition");
+            Partition partition;
+            try {
+                partition = partition(edgeFile, files);
+            } finally {
+                metrics.endPhase();
+            }
+            if (partition == null) {
+                return stopped(0, 0, 0);
+            }
+
+            metrics.startPhase("workers");
+            boolean workersDone;
+            try {
+                workersDone = runWorkers(partition, files);
+            } finally {
+                metrics.endPhase();
+            }
+            if (!workersDone) {
+                return stopped(partition.bytesSent, 0, partition.boundaryEdges);
+            }
+
+            metrics.startPhase("merge");
+            Merge merge;
+            try {
+                merge = merge(partition, files);
+            } finally {
+                metrics.endPhase();
+            }
+            if (merge.sccs == null) {
+                return stopped(partition.bytesSent, merge.bytesReceived, partition.boundaryEdges);
+            }
+
+            TopoResult topo = new KahnsAlgorithm().withBudget(budget).topologicalSort(merge.condensation);
+            CriticalPathResult critical = merge.condensation.getVertexCount() == 0
+                    ? new CriticalPathResult(new ArrayList<>(), 0, new int[0], new int[0], metrics)
+                    : topo.isComplete()
+                    ? new DAGShortestPath().withBudget(budget)
+                            .findCriticalPath(merge.heaviest, topo.getTopologicalOrder())
+                    : new CriticalPathResult(new ArrayList<>(), 0, new int[0], new int[0], metrics, topo.getStatus());
+
+            metrics.addOperations("Bytes to workers", partition.bytesSent);
+            metrics.addOperations("Bytes from workers", merge.bytesReceived);
+            metrics.addOperations("Boundary edges", partition.boundaryEdges);
+            metrics.addOperations("Local components", merge.localComponents);
+
+            SCCResult scc = new SCCResult(merge.sccs, merge.condensation, metrics);
+            return new ShardedResult(scc, topo, critical, shards, partition.bytesSent, merge.bytesReceived,
+                    partition.boundaryEdges, metrics);
+        } finally {
+            metrics.stopTimer();
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private ShardedResult stopped(long bytesSent, long bytesReceived, long boundaryEdges) {
+        SCCResult scc = new SCCResult(new ArrayList<>(), new Graph(0, new ArrayList<>(), true), metrics,
+                budget.getStatus());
+        TopoResult topo = new TopoResult(new ArrayList<>(), metrics, budget.getStatus());
+        CriticalPathResult critical = new CriticalPathResult(new ArrayList<>(), 0, new int[0], new int[0], metrics,
+                budget.getStatus());
+        return new ShardedResult(scc, topo, critical, shards, bytesSent, bytesReceived, boundaryEdges, metrics);
+    }
+
+    private static final class Partition {
+        int vertexCount;
+        int[] first;
+        long bytesSent;
+        long boundaryEdges;
+    }
+
+    // Shard s owns [first[s], first[s + 1]); each shard gets an input, members and edges file; null if stopped
+    private Partition partition(Path edgeFile, List<Path> files) throws IOException {
+        Partition partition = new Partition();
+        try (BinaryEdgeFormat.Reader reader = BinaryEdgeFormat.reader(edgeFile)) {
+            int n = reader.getVertexCount();
+            partition.vertexCount = n;
+            partition.first = new int[shards + 1];
+            for (int s = 0; s <= shards; s++) {
+                partition.first[s] = (int) ((long) n * s / shards);
+            }
+
+            BinaryEdgeFormat.Writer[] writers = new BinaryEdgeFormat.Writer[shards];
+            try {
+                for (int s = 0; s < shards; s++) {
+                    Path input = Files.createTempFile(workDir, "shard-" + s + "-in", ".bin");
+                    files.add(input);
+                    files.add(Files.createTempFile(workDir, "shard-" + s + "-members", ".bin"));
+                    files.add(Files.createTempFile(workDir, "shard-" + s + "-edges", ".bin"));
+                    writers[s] = BinaryEdgeFormat.writer(input, n);
+                }
+                long edges = 0;
+                while (reader.next()) {
+                    if (budget.check(++edges)) {
+                        return null;
+                    }
+                    int s = shardOf(partition.first, reader.u());
+                    if (reader.v() < partition.first[s] || reader.v() >= partition.first[s + 1]) {
+                        partition.boundaryEdges++;
+                    }
+                    writers[s].write(reader.u(), reader.v(), reader.w());
+                }
+            } finally {
+                for (BinaryEdgeFormat.Writer writer : writers) {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+            }
+        }
+        for (int s = 0; s < shards; s++) {
+            partition.bytesSent += Files.size(files.get(3 * s));
+        }
+        return partition;
+    }
+
+    private int shardOf(int[] first, int vertex) {
+        int s = (int) ((long) vertex * shards / Math.max(1, first[shards]));
+        while (vertex < first[s]) {
+            s--;
+        }
+        while (vertex >= first[s + 1]) {
+            s++;
+        }
+        return s;
+    }
+
+    /** Returns false if the budget ran out before every worker finished. */
+    private boolean runWorkers(Partition partition, List<Path> files) throws IOException, InterruptedException {
+        if (launch == Launch.PROCESSES) {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            List<Process> processes = new ArrayList<>();
+            List<Path> logs = new ArrayList<>();
+            try {
+                for (int s = 0; s < shards; s++) {
+                    List<String> command = new ArrayList<>();
+                    command.add(java);
+                    command.addAll(jvmOptions);
+                    command.add("-cp");
+                    command.add(workerClassPath());
+                    command.add(ShardWorker.class.getName());
+                    command.addAll(workerArguments(partition, files, s));
+                    Path log = Files.createTempFile(workDir, "shard-" + s, ".log");
+                    files.add(log);
+                    logs.add(log);
+                    processes.add(new ProcessBuilder(command).redirectErrorStream(true)
+                            .redirectOutput(log.toFile()).start());
+                }
+                for (int s = 0; s < shards; s++) {
+                    Process process = processes.get(s);
+                    while (!process.waitFor(WORKER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (budget.isExhausted()) {
+                            return false;
+                        }
+                    }
+                    int exit = process.exitValue();
+                    if (exit != 0) {
+                        throw new IOException("Shard " + s + " worker exited with code " + exit + ": "
+                                + String.join("\n", Files.readAllLines(logs.get(s))));
+                    }
+                }
+            } finally {
+                for (Process process : processes) {
+                    process.destroyForcibly();
+                }
+            }
+            return true;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(shards,
+                Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int s = 0; s < shards; s++) {
+                int shard = s;
+                futures.add(pool.submit(() -> ShardWorker.run(files.get(3 * shard), partition.first[shard],
+                        partition.first[shard + 1], files.get(3 * shard + 1), files.get(3 * shard + 2), budget)));
+            }
+            boolean complete = true;
+            for (Future<Boolean> future : futures) {
+                complete &= future.get();
+            }
+            return complete;
+        } catch (ExecutionException e) {
+            throw new IOException("Shard worker failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Launchers such as exec:java load the project from a child class loader, not from java.class.path
+    private static String workerClassPath() {
+        List<String> entries = new ArrayList<>();
+        for (ClassLoader loader = ShardWorker.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    try {
+                        entries.add(Paths.get(url.toURI()).toString());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        // Not a local file; the worker cannot use it anyway
+                    }
+                }
+            }
+        }
+        entries.add(System.getProperty("java.class.path"));
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static List<String> workerArguments(Partition partition, List<Path> files, int s) {
+        return Arrays.asList(files.get(3 * s).toString(), Integer.toString(partition.first[s]),
+                Integer.toString(partition.first[s + 1]), files.get(3 * s + 1).toString(),
+                files.get(3 * s + 2).toString());
+    }
+
+    private static final class Merge {
+        /** Null if the budget ran out before the components were known. */
+        List<List<Integer>> sccs;
+        /** Condensation with the lightest weight per component pair, and the same edges with the heaviest. */
+        Graph condensation;
+        Graph heaviest;
+        long bytesReceived;
+        int localComponents;
+    }
+
+    private Merge merge(Partition partition, List<Path> files) throws IOException {
+        int n = partition.vertexCount;
+        Merge merge = new Merge();
+
+        // Local representative of every vertex, then a dense id per local component
+        int[] representative = new int[n];
+        for (int v = 0; v < n; v++) {
+            representative[v] = v;
+        }
+        for (int s = 0; s < shards; s++) {
+            try (BinaryEdgeFormat.Reader reader = BinaryEdgeFormat.reader(files.get(3 * s + 1))) {
+                while (reader.next()) {
+                    representative[reader.u()] = reader.v();
+                }
+                merge.bytesReceived += reader.getBytesRead();
+            }
+        }
+        int[] localId = new int[n];
+        Arrays.fill(localId, -1);
+        int localComponents = 0;
+        for (int v = 0; v < n; v++) {
+            if (localId[representative[v]] == -1) {
+                localId[representative[v]] = localComponents++;
+            }
+        }
+        merge.localComponents = localComponents;
+
+        // Graph of local components; edges crossing shards are resolved to their target's component here
+        Map<Long, Integer> summaryEdges = new HashMap<>();
+        Map<Long, Integer> summaryHeaviest = new HashMap<>();
+        long read = 0;
+        for (int s = 0; s < shards; s++) {
+            try (BinaryEdgeFormat.Reader reader = BinaryEdgeFormat.reader(files.get(3 * s + 2))) {
+                while (reader.next()) {
+                    if (budget.check(++read)) {
+                        return merge;
+                    }
+                    int a = localId[reader.u()];
+                    int b = localId[representative[reader.v()]];
+                    if (a != b) {
+                        long key = ((long) a << 32) | b;
+                        summaryEdges.merge(key, reader.w(), Math::min);
+                        summaryHeaviest.merge(key, reader.w(), Math::max);
+                    }
+                }
+                merge.bytesReceived += reader.getBytesRead();
+            }
+        }
+        long[] keys = sortedKeys(summaryEdges);
+        int[] offsets = new int[localComponents + 1];
+        int[] targets = new int[keys.length];
+        int[] weights = new int[keys.length];
+        int[] heavyWeights = new int[keys.length];
+        for (int e = 0; e < keys.length; e++) {
+            offsets[(int) (keys[e] >>> 32) + 1]++;
+            targets[e] = (int) keys[e];
+            weights[e] = summaryEdges.get(keys[e]);
+            heavyWeights[e] = summaryHeaviest.get(keys[e]);
+        }
+        for (int c = 0; c < localComponents; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        SCCResult global = new TarjanSCC().withBudget(budget)
+                .findSCCs(new CSRGraph(localComponents, offsets, targets, weights));
+        if (!global.isComplete()) {
+            return merge;
+        }
+        int[] componentOf = new int[localComponents];
+        List<List<Integer>> summarySccs = global.getSccs();
+        for (int c = 0; c < summarySccs.size(); c++) {
+            for (int local : summarySccs.get(c)) {
+                componentOf[local] = c;
+            }
+        }
+
+        Map<Long, Integer> condensed = new HashMap<>();
+        Map<Long, Integer> condensedHeaviest = new HashMap<>();
+        for (int e = 0; e < keys.length; e++) {
+            int a = componentOf[(int) (keys[e] >>> 32)];
+            int b = componentOf[targets[e]];
+            if (a != b) {
+                long key = ((long) a << 32) | b;
+                condensed.merge(key, weights[e], Math::min);
+                condensedHeaviest.merge(key, heavyWeights[e], Math::max);
+            }
+        }
+        List<Edge> edges = new ArrayList<>(condensed.size());
+        List<Edge> heavyEdges = new ArrayList<>(condensed.size());
+        for (long key : sortedKeys(condensed)) {
+            edges.add(new Edge((int) (key >>> 32), (int) key, condensed.get(key)));
+            heavyEdges.add(new Edge((int) (key >>> 32), (int) key, condensedHeaviest.get(key)));
+        }
+        merge.condensation = new Graph(summarySccs.size(), edges, true);
+        merge.heaviest = new Graph(summarySccs.size(), heavyEdges, true);
+
+        List<List<Integer>> sccs = new ArrayList<>(summarySccs.size());
+        for (int c = 0; c < summarySccs.size(); c++) {
+            sccs.add(new ArrayList<>());
+        }
+        for (int v = 0; v < n; v++) {
+            sccs.get(componentOf[localId[representative[v]]]).add(v);
+        }
+        merge.sccs = sccs;
+        return merge;
+    }
+
+    private static long[] sortedKeys(Map<Long, Integer> edges) {
+        long[] keys = new long[edges.size()];
+        int k = 0;
+        for (long key : edges.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    public Metrics getMetrics() { return metrics; }
+}
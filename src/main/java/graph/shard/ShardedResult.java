@@ -0,0 +1,52 @@
+package graph.shard;
+
+import graph.dagsp.CriticalPathResult;
+import graph.metrics.Metrics;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+
+/**
+ * Global results of a {@link ShardedAnalyzer} run plus its communication volume: bytes of binary edge
+ * files written for the workers and read back from them, and the number of edges whose endpoints lie
+ * in different shards.
+ */
+public class ShardedResult {
+    private final SCCResult sccResult;
+    private final TopoResult topoResult;
+    private final CriticalPathResult criticalPath;
+    private final int shardCount;
+    private final long bytesToWorkers;
+    private final long bytesFromWorkers;
+    private final long boundaryEdges;
+    private final Metrics metrics;
+
+    public ShardedResult(SCCResult sccResult, TopoResult topoResult, CriticalPathResult criticalPath,
+                         int shardCount, long bytesToWorkers, long bytesFromWorkers, long boundaryEdges,
+                         Metrics metrics) {
+        this.sccResult = sccResult;
+        this.topoResult = topoResult;
+        this.criticalPath = criticalPath;
+        this.shardCount = shardCount;
+        this.bytesToWorkers = bytesToWorkers;
+        this.bytesFromWorkers = bytesFromWorkers;
+        this.boundaryEdges = boundaryEdges;
+        this.metrics = metrics;
+    }
+
+    public long getCommunicationBytes() { return bytesToWorkers + bytesFromWorkers; }
+
+    /** False if the analyzer's budget ran out in any stage. */
+    public boolean isComplete() {
+        return sccResult.isComplete() && topoResult.isComplete() && criticalPath.isComplete();
+    }
+
+    // Getters
+    public SCCResult getSccResult() { return sccResult; }
+    public TopoResult getTopoResult() { return topoResult; }
+    public CriticalPathResult getCriticalPath() { return criticalPath; }
+    public int getShardCount() { return shardCount; }
+    public long getBytesToWorkers() { return bytesToWorkers; }
+    public long getBytesFromWorkers() { return bytesFromWorkers; }
+    public long getBoundaryEdges() { return boundaryEdges; }
+    public Metrics getMetrics() { return metrics; }
+}
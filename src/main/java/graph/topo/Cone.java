@@ -0,0 +1,50 @@
+package graph.topo;
+
+import java.util.Arrays;
+
+/**
+ * A set of vertices reached from one or more seeds, stored as a bitset of one bit per vertex.
+ * Seeds are members of their own cone.
+ */
+public class Cone {
+    private final long[] words;
+    private final int vertexCount;
+    private final int size;
+
+    Cone(long[] words, int vertexCount) {
+        this.words = words;
+        this.vertexCount = vertexCount;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
+
+    public boolean contains(int vertex) {
+        return (words[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    /** Members in ascending order; index {@code i} of the array is vertex {@code i} of an induced subgraph. */
+    public int[] toArray() {
+        int[] vertices = new int[size];
+        int k = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                vertices[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return vertices;
+    }
+
+    /** Copy of the underlying bitset, bit {@code v % 64} of word {@code v / 64} for vertex v. */
+    public long[] toBitset() {
+        return Arrays.copyOf(words, words.length);
+    }
+
+    // Getters
+    public int size() { return size; }
+    public int getVertexCount() { return vertexCount; }
+}
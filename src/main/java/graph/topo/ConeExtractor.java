@@ -0,0 +1,269 @@
+package graph.topo;
+
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Ancestor and descendant cones ("everything downstream of this job") over a CSR and its reverse,
+ * both built once per extractor. Single queries expand a level-synchronous frontier; once a frontier
+ * covers more than one vertex per 64, it is walked through a bitset so vertices are visited in id order.
+ * {@link #cones} answers many seeds at once: 64 seeds share one {@code long} per vertex, so a single
+ * traversal propagates all of their reach bits word-parallel, and batches of 64 run concurrently.
+ */
+public class ConeExtractor {
+    public enum Direction { DESCENDANTS, ANCESTORS }
+
+    private static final int SEEDS_PER_WORD = 64;
+
+    private final Graph graph;
+    private final CSRGraph forward;
+    private final int parallelism;
+    private CSRGraph reverse;
+    private Metrics metrics;
+
+    public ConeExtractor(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ConeExtractor(Graph graph, int parallelism) {
+        this(graph, CSRGraph.from(graph), parallelism);
+    }
+
+    public ConeExtractor(AdjacencyGraph graph, int parallelism) {
+        this(null, CSRGraph.copyOf(graph), parallelism);
+    }
+
+    private ConeExtractor(Graph graph, CSRGraph forward, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.graph = graph;
+        this.forward = forward;
+        this.parallelism = parallelism;
+        this.metrics = new Metrics();
+    }
+
+    public Cone descendants(int... seeds) {
+        return cone(Direction.DESCENDANTS, seeds);
+    }
+
+    public Cone ancestors(int... seeds) {
+        return cone(Direction.ANCESTORS, seeds);
+    }
+
+    /** Union of the cones of all seeds. */
+    public Cone cone(Direction direction, int... seeds) {
+        metrics.startTimer();
+        CSRGraph csr = adjacency(direction);
+        int n = csr.getVertexCount();
+        int words = (n + 63) >>> 6;
+        long[] visited = new long[words];
+        long[] frontierBits = new long[words];
+        int[] frontier = new int[Math.max(1, n)];
+        int[] next = new int[Math.max(1, n)];
+        int frontierSize = 0;
+        for (int seed : seeds) {
+            if ((visited[seed >>> 6] & (1L << seed)) == 0) {
+                visited[seed >>> 6] |= 1L << seed;
+                frontier[frontierSize++] = seed;
+            }
+        }
+
+        long edgeTraversals = 0;
+        long denseLevels = 0;
+        while (frontierSize > 0) {
+            int nextSize = 0;
+            if (frontierSize > words) {
+                // Dense frontier: walk it in id order through a bitset for sequential CSR access
+                denseLevels++;
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+                }
+                for (int w = 0; w < words; w++) {
+                    long word = frontierBits[w];
+                    frontierBits[w] = 0;
+                    while (word != 0) {
+                        int u = (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        edgeTraversals += csr.edgeEnd(u) - csr.edgeStart(u);
+                        nextSize = expand(csr, u, visited, next, nextSize);
+                    }
+                }
+            } else {
+                for (int i = 0; i < frontierSize; i++) {
+                    int u = frontier[i];
+                    edgeTraversals += csr.edgeEnd(u) - csr.edgeStart(u);
+                    nextSize = expand(csr, u, visited, next, nextSize);
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+
+        metrics.addOperations("Edge traversals", edgeTraversals);
+        metrics.addOperations("Dense frontier levels", denseLevels);
+        metrics.stopTimer();
+        return new Cone(visited, n);
+    }
+
+    private static int expand(CSRGraph csr, int u, long[] visited, int[] next, int nextSize) {
+        for (int e = csr.edgeStart(u); e < csr.edgeEnd(u); e++) {
+            int v = csr.target(e);
+            long mask = 1L << v;
+            if ((visited[v >>> 6] & mask) == 0) {
+                visited[v >>> 6] |= mask;
+                next[nextSize++] = v;
+            }
+        }
+        return nextSize;
+    }
+
+    /** One cone per seed, computed 64 seeds per traversal with batches in parallel. */
+    public Cone[] cones(Direction direction, int[] seeds) {
+        metrics.startTimer();
+        CSRGraph csr = adjacency(direction);
+        Cone[] cones = new Cone[seeds.length];
+        int batches = (seeds.length + SEEDS_PER_WORD - 1) / SEEDS_PER_WORD;
+        LongAdder edgeTraversals = new LongAdder();
+
+        if (parallelism == 1 || batches <= 1) {
+            for (int b = 0; b < batches; b++) {
+                coneBatch(csr, seeds, b, cones, edgeTraversals);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, batches).parallel().forEach(b ->
+                        coneBatch(csr, seeds, b, cones, edgeTraversals))).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        metrics.addOperations("Edge traversals", edgeTraversals.sum());
+        metrics.addOperations("Seed batches", batches);
+        metrics.stopTimer();
+        return cones;
+    }
+
+    private static void coneBatch(CSRGraph csr, int[] seeds, int batch, Cone[] cones, LongAdder edgeTraversals) {
+        int n = csr.getVertexCount();
+        int first = batch * SEEDS_PER_WORD;
+        int count = Math.min(SEEDS_PER_WORD, seeds.length - first);
+        long[] reach = new long[n];
+        long[] pending = new long[n];
+        int[] queue = new int[Math.max(1, n)];
+        int head = 0;
+        int queued = 0;
+
+        for (int i = 0; i < count; i++) {
+            int seed = seeds[first + i];
+            if (pending[seed] == 0) {
+                queue[(head + queued++) % queue.length] = seed;
+            }
+            reach[seed] |= 1L << i;
+            pending[seed] |= 1L << i;
+        }
+
+        // Propagate only the bits a vertex has newly gained; each vertex sits in the ring at most once
+        long traversals = 0;
+        while (queued > 0) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            queued--;
+            long bits = pending[u];
+            pending[u] = 0;
+            for (int e = csr.edgeStart(u); e < csr.edgeEnd(u); e++) {
+                int v = csr.target(e);
+                long gained = bits & ~reach[v];
+                traversals++;
+                if (gained != 0) {
+                    reach[v] |= gained;
+                    if (pending[v] == 0) {
+                        queue[(head + queued++) % queue.length] = v;
+                    }
+                    pending[v] |= gained;
+                }
+            }
+        }
+        edgeTraversals.add(traversals);
+
+        int words = (n + 63) >>> 6;
+        long[][] bitsets = new long[count][words];
+        for (int v = 0; v < n; v++) {
+            long bits = reach[v];
+            while (bits != 0) {
+                int i = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                bitsets[i][v >>> 6] |= 1L << v;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            cones[first + i] = new Cone(bitsets[i], n);
+        }
+    }
+
+    /**
+     * The subgraph induced by the cone's vertices, renumbered densely in ascending original id;
+     * {@link Cone#toArray()} maps new ids back. Out-edges keep their original relative order. An
+     * undirected input gives an undirected subgraph listing each edge once, from its lower endpoint.
+     */
+    public Graph inducedSubgraph(Cone cone) {
+        int[] members = cone.toArray();
+        int[] newId = new int[forward.getVertexCount()];
+        Arrays.fill(newId, -1);
+        for (int i = 0; i < members.length; i++) {
+            newId[members[i]] = i;
+        }
+        boolean directed = graph == null || graph.isDirected();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < members.length; i++) {
+            int u = members[i];
+            // The CSR of an undirected graph holds every edge in both rows, and a self-loop twice in one
+            boolean loopMirror = false;
+            for (int e = forward.edgeStart(u); e < forward.edgeEnd(u); e++) {
+                int v = newId[forward.target(e)];
+                if (v == -1 || (!directed && v < i)) {
+                    continue;
+                }
+                if (!directed && v == i) {
+                    loopMirror = !loopMirror;
+                    if (!loopMirror) {
+                        continue;
+                    }
+                }
+                edges.add(new Edge(i, v, forward.weight(e)));
+            }
+        }
+        Graph subgraph = new Graph(members.length, edges, directed);
+        if (graph != null) {
+            int source = graph.getSource();
+            if (source >= 0 && source < newId.length && newId[source] != -1) {
+                subgraph.setSource(newId[source]);
+            }
+            subgraph.setWeightModel(graph.getWeightModel());
+        }
+        return subgraph;
+    }
+
+    private CSRGraph adjacency(Direction direction) {
+        if (direction == Direction.DESCENDANTS) {
+            return forward;
+        }
+        if (reverse == null) {
+            reverse = CSRGraph.reverseOf(forward);
+        }
+        return reverse;
+    }
+
+    public Metrics getMetrics() { return metrics; }
+}
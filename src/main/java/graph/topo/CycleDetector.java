@@ -0,0 +1,282 @@
+package graph.topo;
+
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import java.util.*;
+
+/**
+ * Cycle validation and witness extraction for dependency graphs.
+ */
+public class CycleDetector {
+    private static final byte WHITE = 0;
+    private static final byte GREY = 1;
+    private static final byte BLACK = 2;
+
+    public boolean isDAG(Graph graph) {
+        return isDAG(CSRGraph.from(graph));
+    }
+
+    /** Iterative colour DFS that stops at the first back edge instead of ordering the whole graph. */
+    public boolean isDAG(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        byte[] colour = new byte[n];
+        int[] callStack = new int[n];
+        EdgeCursor[] cursors = new EdgeCursor[16];
+
+        for (int root = 0; root < n; root++) {
+            if (colour[root] != WHITE) {
+                continue;
+            }
+            int depth = 0;
+            callStack[0] = root;
+            colour[root] = GREY;
+            cursors[0] = cursors[0] == null ? graph.newCursor() : cursors[0];
+            cursors[0].reset(root);
+
+            while (depth >= 0) {
+                EdgeCursor cursor = cursors[depth];
+                if (cursor.next()) {
+                    int w = cursor.target();
+                    if (colour[w] == GREY) {
+                        return false;
+                    }
+                    if (colour[w] == WHITE) {
+                        colour[w] = GREY;
+                        depth++;
+                        if (depth == cursors.length) {
+                            cursors = Arrays.copyOf(cursors, depth * 2);
+                        }
+                        if (cursors[depth] == null) {
+                            cursors[depth] = graph.newCursor();
+                        }
+                        callStack[depth] = w;
+                        cursors[depth].reset(w);
+                    }
+                } else {
+                    colour[callStack[depth]] = BLACK;
+                    depth--;
+                }
+            }
+        }
+        return true;
+    }
+
+    public List<List<Integer>> findCycles(Graph graph, int maxCycles) {
+        return findCycles(CSRGraph.from(graph), maxCycles);
+    }
+
+    /**
+     * Returns up to {@code maxCycles} distinct short cycles. Kahn peeling removes everything
+     * that cannot reach or be reached from a cycle, then each search is a BFS for the shortest
+     * cycle through a not yet covered core vertex, so the cost is O(maxCycles * (V + E)).
+     */
+    public List<List<Integer>> findCycles(AdjacencyGraph graph, int maxCycles) {
+        List<List<Integer>> cycles = new ArrayList<>();
+        if (maxCycles <= 0) {
+            return cycles;
+        }
+        int n = graph.getVertexCount();
+        boolean[] core = cycleCore(graph);
+        boolean[] covered = new boolean[n];
+        int[] parent = new int[n];
+        int[] seen = new int[n];
+        int[] queue = new int[n];
+        int stamp = 0;
+        int attempts = 2 * maxCycles;
+        EdgeCursor cursor = graph.newCursor();
+
+        for (int start = 0; start < n && cycles.size() < maxCycles && attempts > 0; start++) {
+            if (!core[start] || covered[start]) {
+                continue;
+            }
+            attempts--;
+            stamp++;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            seen[start] = stamp;
+            int last = -1;
+
+            search:
+            while (head < tail) {
+                int u = queue[head++];
+                cursor.reset(u);
+                while (cursor.next()) {
+                    int v = cursor.target();
+                    if (v == start) {
+                        last = u;
+                        break search;
+                    }
+                    if (core[v] && seen[v] != stamp) {
+                        seen[v] = stamp;
+                        parent[v] = u;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            if (last != -1) {
+                List<Integer> cycle = new ArrayList<>();
+                for (int v = last; v != start; v = parent[v]) {
+                    cycle.add(v);
+                }
+                cycle.add(start);
+                Collections.reverse(cycle);
+                for (int v : cycle) {
+                    covered[v] = true;
+                }
+                cycles.add(cycle);
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Extracts one cycle from the vertices Kahn's algorithm left unordered (in-degree still positive).
+     * Every such vertex has an unordered predecessor, so walking predecessors must revisit a vertex.
+     */
+    static List<Integer> witnessCycle(AdjacencyGraph graph, int[] residualInDegree) {
+        int n = graph.getVertexCount();
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+        EdgeCursor cursor = graph.newCursor();
+        int start = -1;
+        for (int u = 0; u < n; u++) {
+            if (residualInDegree[u] == 0) {
+                continue;
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (residualInDegree[v] > 0 && pred[v] == -1) {
+                    pred[v] = u;
+                }
+            }
+            if (start == -1) {
+                start = u;
+            }
+        }
+        if (start == -1) {
+            return Collections.emptyList();
+        }
+
+        boolean[] visited = new boolean[n];
+        int v = start;
+        while (!visited[v]) {
+            visited[v] = true;
+            v = pred[v];
+        }
+        // v is the first repeated vertex; collect the loop walking predecessors, then flip to edge order
+        List<Integer> cycle = new ArrayList<>();
+        int u = v;
+        do {
+            cycle.add(u);
+            u = pred[u];
+        } while (u != v);
+        Collections.reverse(cycle);
+        return cycle;
+    }
+
+    // Peels sources (Kahn) and sinks (Kahn on the reverse) so only vertices between cycles remain
+    private static boolean[] cycleCore(AdjacencyGraph graph) {
+        int n = graph.getVertexCount();
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        EdgeCursor cursor = graph.newCursor();
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.next()) {
+                inDegree[cursor.target()]++;
+                outDegree[u]++;
+            }
+        }
+
+        boolean[] removed = new boolean[n];
+        int[] queue = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                removed[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            cursor.reset(queue[head]);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (--inDegree[v] == 0 && !removed[v]) {
+                    removed[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        // Sinks of the residual graph: a vertex whose residual successors are all removed
+        int[] residualOut = new int[n];
+        int[] predOffsets = new int[n + 1];
+        int[] preds = reversedResidual(graph, removed, residualOut, predOffsets);
+        tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (!removed[v] && residualOut[v] == 0) {
+                removed[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head];
+            for (int e = predOffsets[v]; e < predOffsets[v + 1]; e++) {
+                int u = preds[e];
+                if (--residualOut[u] == 0 && !removed[u]) {
+                    removed[u] = true;
+                    queue[tail++] = u;
+                }
+            }
+        }
+
+        boolean[] core = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            core[v] = !removed[v];
+        }
+        return core;
+    }
+
+    // Predecessor lists of the residual subgraph in CSR form
+    private static int[] reversedResidual(AdjacencyGraph graph, boolean[] removed,
+                                          int[] residualOut, int[] predOffsets) {
+        int n = graph.getVertexCount();
+        EdgeCursor cursor = graph.newCursor();
+        for (int u = 0; u < n; u++) {
+            if (removed[u]) {
+                continue;
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (!removed[v]) {
+                    residualOut[u]++;
+                    predOffsets[v + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            predOffsets[v + 1] += predOffsets[v];
+        }
+        int[] next = Arrays.copyOf(predOffsets, n);
+        int[] preds = new int[predOffsets[n]];
+        for (int u = 0; u < n; u++) {
+            if (removed[u]) {
+                continue;
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (!removed[v]) {
+                    preds[next[v]++] = u;
+                }
+            }
+        }
+        return preds;
+    }
+}
@@ -0,0 +1,34 @@
+package graph.topo;
+
+import java.util.List;
+
+/**
+ * Thrown when a topological order is requested for a graph that contains a cycle.
+ * Carries one concrete cycle so callers do not need a separate SCC pass to explain the failure.
+ */
+public class CyclicGraphException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> cycle;
+    private final int residualVertexCount;
+
+    public CyclicGraphException(List<Integer> cycle, int residualVertexCount) {
+        super("Graph has cycles, topological sort not possible (cycle: " + describe(cycle) + ")");
+        this.cycle = cycle;
+        this.residualVertexCount = residualVertexCount;
+    }
+
+    /** Vertices of the witness cycle in edge order; the last vertex has an edge back to the first. */
+    public List<Integer> getCycle() { return cycle; }
+
+    /** Number of vertices Kahn's algorithm could not order. */
+    public int getResidualVertexCount() { return residualVertexCount; }
+
+    private static String describe(List<Integer> cycle) {
+        StringBuilder sb = new StringBuilder();
+        for (int v : cycle) {
+            sb.append(v).append(" -> ");
+        }
+        return sb.append(cycle.isEmpty() ? "?" : cycle.get(0)).toString();
+    }
+}
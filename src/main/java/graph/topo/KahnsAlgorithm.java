@@ -1,64 +1,145 @@
 package graph.topo;
 
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
 import graph.model.Graph;
 import graph.metrics.Metrics;
+import graph.util.AnalysisBudget;
 import java.util.*;
 
 public class KahnsAlgorithm {
+    private AnalysisBudget budget;
     private Metrics metrics;
 
     public KahnsAlgorithm() {
         this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
     }
 
-    public TopoResult topologicalSort(Graph graph) {
-        metrics.startTimer();
-
-        int n = graph.getVertexCount();
-        List<List<Integer>> adj = graph.getAdjacencyList();
-        int[] inDegree = new int[n];
+    /** Stops early with a valid order prefix once {@code budget} runs out. */
+    public KahnsAlgorithm withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
 
-        // Calculate in-degrees
-        for (int u = 0; u < n; u++) {
-            for (int v : adj.get(u)) {
-                metrics.incrementOperation("Edge processing");
-                inDegree[v]++;
+    public TopoResult topologicalSort(Graph graph) {
+        metrics.startPhase("topological sort");
+        metrics.describePhase(graph.getVertexCount(), graph.getEdges().size());
+        try {
+            metrics.startPhase("adjacency build");
+            CSRGraph csr;
+            try {
+                csr = CSRGraph.from(graph);
+            } finally {
+                metrics.endPhase();
             }
+            return sort(csr);
+        } finally {
+            metrics.endPhase();
         }
+    }
 
-        // Initialize queue with vertices having 0 in-degree
-        Queue<Integer> queue = new LinkedList<>();
-        for (int i = 0; i < n; i++) {
-            if (inDegree[i] == 0) {
-                metrics.incrementOperation("Queue operations");
-                queue.offer(i);
-            }
+    public TopoResult topologicalSort(AdjacencyGraph graph) {
+        metrics.startPhase("topological sort");
+        metrics.describePhase(graph);
+        try {
+            return sort(graph);
+        } finally {
+            metrics.endPhase();
         }
+    }
+
+    private TopoResult sort(AdjacencyGraph graph) {
+        metrics.startTimer();
+        try {
+            int n = graph.getVertexCount();
+            EdgeCursor cursor = graph.newCursor();
+            int[] inDegree = new int[n];
+            long edgeProcessing = 0;
+            long queueOperations = 0;
+            boolean stopped = false;
 
-        List<Integer> topoOrder = new ArrayList<>();
-        int visited = 0;
+            metrics.startPhase("in-degree count");
+            try {
+                // Calculate in-degrees
+                count:
+                for (int u = 0; u < n; u++) {
+                    if (budget.check(u)) {
+                        stopped = true;
+                        break;
+                    }
+                    cursor.reset(u);
+                    while (cursor.next()) {
+                        if (budget.check(++edgeProcessing)) {
+                            stopped = true;
+                            break count;
+                        }
+                        inDegree[cursor.target()]++;
+                    }
+                }
+            } finally {
+                metrics.endPhase();
+            }
+
+            // Initialize queue with vertices having 0 in-degree; every vertex enters at most once
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
+            for (int i = 0; i < n && !stopped; i++) {
+                if (budget.check(i)) {
+                    stopped = true;
+                    break;
+                }
+                if (inDegree[i] == 0) {
+                    queueOperations++;
+                    queue[tail++] = i;
+                }
+            }
 
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
-            metrics.incrementOperation("Queue operations");
-            topoOrder.add(u);
+            List<Integer> topoOrder = new ArrayList<>(n);
+            metrics.startPhase("queue processing");
+            try {
+                processing:
+                while (head < tail && !stopped) {
+                    // Vertices without out-edges never reach the edge poll
+                    if (budget.check(head)) {
+                        stopped = true;
+                        break;
+                    }
+                    int u = queue[head++];
+                    queueOperations++;
+                    topoOrder.add(u);
 
-            for (int v : adj.get(u)) {
-                metrics.incrementOperation("Edge processing");
-                inDegree[v]--;
-                if (inDegree[v] == 0) {
-                    queue.offer(v);
+                    cursor.reset(u);
+                    while (cursor.next()) {
+                        if (budget.check(++edgeProcessing)) {
+                            stopped = true;
+                            break processing;
+                        }
+                        int v = cursor.target();
+                        inDegree[v]--;
+                        if (inDegree[v] == 0) {
+                            queue[tail++] = v;
+                        }
+                    }
                 }
+            } finally {
+                metrics.endPhase();
             }
-            visited++;
-        }
+            metrics.addOperations("Edge processing", edgeProcessing);
+            metrics.addOperations("Queue operations", queueOperations);
 
-        metrics.stopTimer();
+            if (stopped) {
+                return new TopoResult(topoOrder, metrics, budget.getStatus());
+            }
+            if (head != n) {
+                throw new CyclicGraphException(CycleDetector.witnessCycle(graph, inDegree), n - head);
+            }
 
-        if (visited != n) {
-            throw new IllegalArgumentException("Graph has cycles, topological sort not possible");
+            return new TopoResult(topoOrder, metrics);
+        } finally {
+            metrics.stopTimer();
         }
-
-        return new TopoResult(topoOrder, metrics);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package graph.topo;
+
+import graph.dagsp.DAGShortestPath;
+import graph.metrics.Metrics;
+import graph.model.AdjacencyGraph;
+import graph.model.CSRGraph;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+import graph.util.IndexedMinHeap;
+import java.util.*;
+
+/**
+ * Kahn's algorithm with a priority heap instead of a FIFO queue: whenever several vertices are ready,
+ * the one with the highest priority is emitted first, ties going to the smaller id. With no priorities
+ * this is the lexicographically smallest topological order, which is handy for deterministic output.
+ * Priorities are a plain array, so any per-vertex score can be plugged in; {@link #criticalFirst}
+ * uses bottom levels so the task with the longest remaining critical path is dispatched first.
+ */
+public class PriorityTopologicalSort {
+    private AnalysisBudget budget;
+    private Metrics metrics;
+
+    public PriorityTopologicalSort() {
+        this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    /** Stops early with a valid order prefix once {@code budget} runs out. */
+    public PriorityTopologicalSort withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    /** Lexicographically smallest topological order. */
+    public TopoResult topologicalSort(Graph graph) {
+        return topologicalSort(CSRGraph.from(graph), null);
+    }
+
+    public TopoResult topologicalSort(AdjacencyGraph graph) {
+        return topologicalSort(graph, null);
+    }
+
+    public TopoResult topologicalSort(Graph graph, int[] priority) {
+        return topologicalSort(CSRGraph.from(graph), priority);
+    }
+
+    /**
+     * @param priority per-vertex score, larger is dispatched first; {@code null} orders by id alone
+     */
+    public TopoResult topologicalSort(AdjacencyGraph graph, int[] priority) {
+        metrics.startTimer();
+        int n = graph.getVertexCount();
+        if (priority != null && priority.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " priorities but got " + priority.length);
+        }
+        EdgeCursor cursor = graph.newCursor();
+        int[] inDegree = new int[n];
+        long edgeProcessing = 0;
+        long heapOperations = 0;
+        boolean stopped = false;
+
+        count:
+        for (int u = 0; u < n; u++) {
+            if (budget.check(u)) {
+                stopped = true;
+                break;
+            }
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (budget.check(++edgeProcessing)) {
+                    stopped = true;
+                    break count;
+                }
+                inDegree[cursor.target()]++;
+            }
+        }
+
+        IndexedMinHeap ready = new IndexedMinHeap(n);
+        for (int v = 0; v < n && !stopped; v++) {
+            if (budget.check(v)) {
+                stopped = true;
+                break;
+            }
+            if (inDegree[v] == 0) {
+                ready.insert(v, key(priority, v));
+                heapOperations++;
+            }
+        }
+
+        List<Integer> topoOrder = new ArrayList<>(n);
+        processing:
+        while (!ready.isEmpty() && !stopped) {
+            // Vertices without out-edges never reach the edge poll
+            if (budget.check(topoOrder.size())) {
+                stopped = true;
+                break;
+            }
+            int u = ready.poll();
+            heapOperations++;
+            topoOrder.add(u);
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                if (budget.check(++edgeProcessing)) {
+                    stopped = true;
+                    break processing;
+                }
+                int v = cursor.target();
+                if (--inDegree[v] == 0) {
+                    ready.insert(v, key(priority, v));
+                    heapOperations++;
+                }
+            }
+        }
+
+        metrics.addOperations("Edge processing", edgeProcessing);
+        metrics.addOperations("Heap operations", heapOperations);
+        metrics.stopTimer();
+
+        if (stopped) {
+            return new TopoResult(topoOrder, metrics, budget.getStatus());
+        }
+        if (topoOrder.size() != n) {
+            throw new CyclicGraphException(CycleDetector.witnessCycle(graph, inDegree), n - topoOrder.size());
+        }
+        return new TopoResult(topoOrder, metrics);
+    }
+
+    public TopoResult criticalFirst(Graph graph) {
+        return criticalFirst(CSRGraph.from(graph));
+    }
+
+    /** Orders ready vertices by bottom level (longest remaining path to a sink), largest first. */
+    public TopoResult criticalFirst(AdjacencyGraph graph) {
+        TopoResult fifo = new KahnsAlgorithm().withBudget(budget).topologicalSort(graph);
+        if (!fifo.isComplete()) {
+            return fifo;
+        }
+        List<Integer> order = fifo.getTopologicalOrder();
+        int[] bottomLevels = new DAGShortestPath().computeBottomLevels(graph, order);
+        return topologicalSort(graph, bottomLevels);
+    }
+
+    // Min-heap key: negate so larger priorities come out first
+    private static long key(int[] priority, int v) {
+        return priority == null ? 0 : -(long) priority[v];
+    }
+}
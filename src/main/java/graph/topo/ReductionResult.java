@@ -0,0 +1,46 @@
+package graph.topo;
+
+import graph.metrics.Metrics;
+import graph.model.Graph;
+import graph.util.AnalysisStatus;
+
+/** A reduced DAG; when the reduction stopped early ({@link #getStatus()}) some implied edges remain. */
+public class ReductionResult {
+    private final Graph reducedGraph;
+    private final int originalEdgeCount;
+    private final int reducedEdgeCount;
+    private final TransitiveReduction.Mode mode;
+    private final Metrics metrics;
+    private final AnalysisStatus status;
+
+    public ReductionResult(Graph reducedGraph, int originalEdgeCount, int reducedEdgeCount,
+                           TransitiveReduction.Mode mode, Metrics metrics) {
+        this(reducedGraph, originalEdgeCount, reducedEdgeCount, mode, metrics, AnalysisStatus.COMPLETE);
+    }
+
+    public ReductionResult(Graph reducedGraph, int originalEdgeCount, int reducedEdgeCount,
+                           TransitiveReduction.Mode mode, Metrics metrics, AnalysisStatus status) {
+        this.reducedGraph = reducedGraph;
+        this.originalEdgeCount = originalEdgeCount;
+        this.reducedEdgeCount = reducedEdgeCount;
+        this.mode = mode;
+        this.metrics = metrics;
+        this.status = status;
+    }
+
+    public int getRemovedEdgeCount() { return originalEdgeCount - reducedEdgeCount; }
+
+    /** Fraction of the original edges that were removed. */
+    public double getReductionRatio() {
+        return originalEdgeCount == 0 ? 0 : (double) getRemovedEdgeCount() / originalEdgeCount;
+    }
+
+    // Getters
+    public Graph getReducedGraph() { return reducedGraph; }
+    public int getOriginalEdgeCount() { return originalEdgeCount; }
+    public int getReducedEdgeCount() { return reducedEdgeCount; }
+    public TransitiveReduction.Mode getMode() { return mode; }
+    public Metrics getMetrics() { return metrics; }
+    public AnalysisStatus getStatus() { return status; }
+    public boolean isComplete() { return status == AnalysisStatus.COMPLETE; }
+}
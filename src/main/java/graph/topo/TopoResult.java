@@ -1,18 +1,28 @@
 package graph.topo;
 
 import graph.metrics.Metrics;
+import graph.util.AnalysisStatus;
 import java.util.List;
 
+/** A topological order; when the sort stopped early ({@link #getStatus()}) it is a valid prefix of one. */
 public class TopoResult {
     private final List<Integer> topologicalOrder;
     private final Metrics metrics;
+    private final AnalysisStatus status;
 
     public TopoResult(List<Integer> topologicalOrder, Metrics metrics) {
+        this(topologicalOrder, metrics, AnalysisStatus.COMPLETE);
+    }
+
+    public TopoResult(List<Integer> topologicalOrder, Metrics metrics, AnalysisStatus status) {
         this.topologicalOrder = topologicalOrder;
         this.metrics = metrics;
+        this.status = status;
     }
 
     // Getters
     public List<Integer> getTopologicalOrder() { return topologicalOrder; }
     public Metrics getMetrics() { return metrics; }
+    public AnalysisStatus getStatus() { return status; }
+    public boolean isComplete() { return status == AnalysisStatus.COMPLETE; }
 }
\ No newline at end of file
@@ -0,0 +1,267 @@
+package graph.topo;
+
+import graph.metrics.Metrics;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.util.AnalysisBudget;
+import graph.util.AnalysisStatus;
+import java.util.*;
+
+/**
+ * Removes edges of a DAG that are implied by longer paths, typically applied to the condensation
+ * graph before ordering or reachability queries. Reachability is tracked with one bitset per vertex,
+ * filled in reverse topological order, so each union handles 64 vertices per word; memory is
+ * {@code n * n / 8} bytes, which suits condensations rather than raw graphs with millions of vertices.
+ * <p>
+ * {@link Mode#REACHABILITY} yields the unique minimal DAG with the same reachability but may shorten
+ * longest paths, because a heavy direct edge can be dropped in favour of a light detour.
+ * {@link Mode#LONGEST_PATH_SAFE} only drops an edge when some other path between its endpoints is at
+ * least as long, so critical-path lengths and per-vertex longest distances are unchanged.
+ * <p>
+ * With a {@link #withBudget budget}, vertices not yet processed when it runs out keep all their
+ * out-edges. The result is then less reduced but still has the same reachability and longest paths.
+ */
+public class TransitiveReduction {
+    public enum Mode { REACHABILITY, LONGEST_PATH_SAFE }
+
+    private final Mode mode;
+    private AnalysisBudget budget;
+    private Metrics metrics;
+
+    public TransitiveReduction() {
+        this(Mode.LONGEST_PATH_SAFE);
+    }
+
+    public TransitiveReduction(Mode mode) {
+        this.mode = mode;
+        this.metrics = new Metrics();
+        this.budget = AnalysisBudget.unlimited();
+    }
+
+    public TransitiveReduction withBudget(AnalysisBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public ReductionResult reduce(Graph dag) {
+        TopoResult topo = new KahnsAlgorithm().withBudget(budget).topologicalSort(dag);
+        if (!topo.isComplete()) {
+            return new ReductionResult(dag, dag.getEdges().size(), dag.getEdges().size(), mode, metrics,
+                    topo.getStatus());
+        }
+        return reduce(dag, topo.getTopologicalOrder());
+    }
+
+    public ReductionResult reduce(Graph dag, List<Integer> topologicalOrder) {
+        if (!dag.isDirected()) {
+            throw new IllegalArgumentException("Transitive reduction requires a directed acyclic graph");
+        }
+        metrics.startTimer();
+        int n = dag.getVertexCount();
+        List<Edge> edges = dag.getEdges();
+        int m = edges.size();
+        int[] order = new int[n];
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = topologicalOrder.get(i);
+            rank[order[i]] = i;
+        }
+
+        // Out-edges per vertex, sorted by target rank so a successor reached through an earlier one is redundant
+        int[] outStart = new int[n + 1];
+        for (Edge edge : edges) {
+            outStart[edge.getU() + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            outStart[u + 1] += outStart[u];
+        }
+        long[] keys = new long[m];
+        int[] fill = Arrays.copyOf(outStart, n);
+        for (int e = 0; e < m; e++) {
+            Edge edge = edges.get(e);
+            keys[fill[edge.getU()]++] = ((long) rank[edge.getV()] << 32) | e;
+        }
+        for (int u = 0; u < n; u++) {
+            Arrays.sort(keys, outStart[u], outStart[u + 1]);
+        }
+
+        LongestPaths longestPaths = mode == Mode.LONGEST_PATH_SAFE ? new LongestPaths(dag, order, rank) : null;
+        int words = (n + 63) >>> 6;
+        long[][] reach = new long[n][];
+        boolean[] keep = new boolean[m];
+        long wordOperations = 0;
+        long steps = 0;
+        int stoppedAt = -1;
+
+        vertices:
+        for (int i = n - 1; i >= 0; i--) {
+            if (budget.check(steps++)) {
+                stoppedAt = i;
+                break;
+            }
+            int u = order[i];
+            long[] reachable = new long[words];
+            int from = outStart[u];
+            int to = outStart[u + 1];
+            if (longestPaths != null && from < to && !longestPaths.sweepFrom(u, (int) (keys[to - 1] >>> 32), budget)) {
+                stoppedAt = i;
+                break;
+            }
+
+            for (int k = from; k < to; ) {
+                if (budget.check(steps++)) {
+                    stoppedAt = i;
+                    break vertices;
+                }
+                int v = edges.get((int) keys[k]).getV();
+                // Group parallel edges to the same target and pick the one to keep
+                int best = (int) keys[k];
+                int end = k + 1;
+                while (end < to && (int) (keys[end] >>> 32) == rank[v]) {
+                    int e = (int) keys[end];
+                    if (mode == Mode.LONGEST_PATH_SAFE && edges.get(e).getW() > edges.get(best).getW()) {
+                        best = e;
+                    }
+                    end++;
+                }
+                k = end;
+
+                boolean implied = (reachable[v >>> 6] & (1L << v)) != 0;
+                if (!implied) {
+                    keep[best] = true;
+                    long[] successorReach = reach[v];
+                    for (int w = 0; w < words; w++) {
+                        reachable[w] |= successorReach[w];
+                    }
+                    wordOperations += words;
+                    reachable[v >>> 6] |= 1L << v;
+                } else if (longestPaths != null && longestPaths.detour(u, v) < edges.get(best).getW()) {
+                    keep[best] = true;
+                }
+            }
+            reach[u] = reachable;
+        }
+        // Vertices the budget cut off keep every out-edge
+        for (int i = 0; i <= stoppedAt; i++) {
+            for (int k = outStart[order[i]]; k < outStart[order[i] + 1]; k++) {
+                keep[(int) keys[k]] = true;
+            }
+        }
+
+        List<Edge> kept = new ArrayList<>();
+        for (int e = 0; e < m; e++) {
+            if (keep[e]) {
+                Edge edge = edges.get(e);
+                kept.add(new Edge(edge.getU(), edge.getV(), edge.getW()));
+            }
+        }
+        Graph reduced = new Graph(n, kept, true);
+        reduced.setSource(dag.getSource());
+        reduced.setWeightModel(dag.getWeightModel());
+
+        metrics.addOperations("Edge processing", m);
+        metrics.addOperations("Bitset word operations", wordOperations);
+        if (longestPaths != null) {
+            metrics.addOperations("Edge relaxation", longestPaths.relaxations);
+        }
+        metrics.stopTimer();
+        return new ReductionResult(reduced, m, kept.size(), mode, metrics,
+                stoppedAt == -1 ? AnalysisStatus.COMPLETE : budget.getStatus());
+    }
+
+    /**
+     * Longest distances from one vertex, limited to the rank window its out-edges span, used to
+     * test whether a redundant edge is matched by a detour of at least the same length.
+     */
+    private static final class LongestPaths {
+        private final int[] order;
+        private final int[] rank;
+        private final int[] outStart;
+        private final int[] outTarget;
+        private final int[] outWeight;
+        private final int[] inStart;
+        private final int[] inSource;
+        private final int[] inWeight;
+        private final long[] dist;
+        private final int[] stamp;
+        private int current;
+        private long relaxations;
+
+        LongestPaths(Graph dag, int[] order, int[] rank) {
+            int n = dag.getVertexCount();
+            List<Edge> edges = dag.getEdges();
+            int m = edges.size();
+            this.order = order;
+            this.rank = rank;
+            this.outStart = new int[n + 1];
+            this.inStart = new int[n + 1];
+            for (Edge edge : edges) {
+                outStart[edge.getU() + 1]++;
+                inStart[edge.getV() + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                outStart[v + 1] += outStart[v];
+                inStart[v + 1] += inStart[v];
+            }
+            this.outTarget = new int[m];
+            this.outWeight = new int[m];
+            this.inSource = new int[m];
+            this.inWeight = new int[m];
+            int[] outFill = Arrays.copyOf(outStart, n);
+            int[] inFill = Arrays.copyOf(inStart, n);
+            for (Edge edge : edges) {
+                int o = outFill[edge.getU()]++;
+                outTarget[o] = edge.getV();
+                outWeight[o] = edge.getW();
+                int in = inFill[edge.getV()]++;
+                inSource[in] = edge.getU();
+                inWeight[in] = edge.getW();
+            }
+            this.dist = new long[n];
+            this.stamp = new int[n];
+        }
+
+        /**
+         * Longest path lengths from {@code u} to every vertex with rank up to {@code maxRank}; false if
+         * {@code budget} ran out first.
+         */
+        boolean sweepFrom(int u, int maxRank, AnalysisBudget budget) {
+            current++;
+            stamp[u] = current;
+            dist[u] = 0;
+            for (int r = rank[u]; r <= maxRank; r++) {
+                int x = order[r];
+                if (stamp[x] != current) {
+                    continue;
+                }
+                for (int k = outStart[x]; k < outStart[x + 1]; k++) {
+                    int y = outTarget[k];
+                    if (rank[y] > maxRank) {
+                        continue;
+                    }
+                    if (budget.check(++relaxations)) {
+                        return false;
+                    }
+                    long candidate = dist[x] + outWeight[k];
+                    if (stamp[y] != current || candidate > dist[y]) {
+                        stamp[y] = current;
+                        dist[y] = candidate;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /** Longest {@code u -> v} path with at least two edges, from the last sweep; {@code Long.MIN_VALUE} if none. */
+        long detour(int u, int v) {
+            long best = Long.MIN_VALUE;
+            for (int k = inStart[v]; k < inStart[v + 1]; k++) {
+                int p = inSource[k];
+                if (p != u && stamp[p] == current) {
+                    best = Math.max(best, dist[p] + inWeight[k]);
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package graph.util;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Time limit and cooperative cancellation shared by the engines working on one request. Engines poll
+ * {@link #check(long)} with their running edge count, and loops that visit vertices without edges with
+ * a running vertex count, so the clock and the cancellation flag are read only once every
+ * {@value #CHECK_INTERVAL} steps and the hot loops keep a single mask test. Interrupting
+ * the worker thread counts as cancellation; engines that fork work wait through {@link #await(Future)}
+ * so an interrupt of the request thread reaches their pool threads too. Once exhausted, a budget stays
+ * exhausted, so later stages of the same request stop at their first check.
+ */
+public final class AnalysisBudget {
+    public static final int CHECK_INTERVAL = 1 << 12;
+    private static final long CHECK_MASK = CHECK_INTERVAL - 1;
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+    private volatile AnalysisStatus stopReason;
+
+    private AnalysisBudget(boolean hasDeadline, long deadlineNanos) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /** No deadline; only {@link #cancel()} or an interrupt stops the work. */
+    public static AnalysisBudget unlimited() {
+        return new AnalysisBudget(false, 0);
+    }
+
+    /** Expires {@code timeout} from now. */
+    public static AnalysisBudget withTimeout(Duration timeout) {
+        return new AnalysisBudget(true, System.nanoTime() + timeout.toNanos());
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /** Cheap poll for hot loops: only consults the clock when {@code work} is a multiple of the interval. */
+    public boolean check(long work) {
+        return (work & CHECK_MASK) == 0 && isExhausted();
+    }
+
+    public boolean isExhausted() {
+        if (stopReason != null) {
+            return true;
+        }
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            stopReason = AnalysisStatus.CANCELLED;
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            stopReason = AnalysisStatus.TIMED_OUT;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Waits for {@code task}, forked by the calling thread onto pool threads that poll this budget. Pool
+     * threads cannot see the caller's interrupt, so an interrupt while waiting cancels the budget instead;
+     * the task still runs to its next check, since returning earlier would leave it writing shared state,
+     * and the caller's interrupt flag is restored afterwards. Failures of the task are rethrown unwrapped.
+     */
+    public void await(Future<?> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    task.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    cancel();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** {@link AnalysisStatus#COMPLETE} until an engine has observed the budget running out. */
+    public AnalysisStatus getStatus() {
+        AnalysisStatus reason = stopReason;
+        return reason == null ? AnalysisStatus.COMPLETE : reason;
+    }
+}
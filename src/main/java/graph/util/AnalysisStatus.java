@@ -0,0 +1,8 @@
+package graph.util;
+
+/** How an analysis ended. Anything but {@link #COMPLETE} means the result is partial. */
+public enum AnalysisStatus {
+    COMPLETE,
+    TIMED_OUT,
+    CANCELLED
+}
@@ -0,0 +1,128 @@
+package graph.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap over the ids {@code 0..capacity-1} with a {@code long} key per id, stored in primitive
+ * arrays. Each id's heap position is tracked, so keys can be changed in O(log n) and membership is O(1).
+ * Equal keys are ordered by the smaller id, which makes poll order fully deterministic.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public void insert(int id, long key) {
+        if (position[id] != -1) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    /** Changes the key of an id already in the heap, in either direction. */
+    public void update(int id, long key) {
+        int i = position[id];
+        if (i == -1) {
+            throw new IllegalArgumentException("Id " + id + " is not in the heap");
+        }
+        long old = keys[id];
+        keys[id] = key;
+        if (key < old) {
+            siftUp(i);
+        } else {
+            siftDown(i);
+        }
+    }
+
+    /** Removes and returns the id with the smallest key. */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public long peekKey() {
+        return keys[peek()];
+    }
+
+    public long keyOf(int id) { return keys[id]; }
+
+    public boolean contains(int id) { return position[id] != -1; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(id, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], id)) {
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
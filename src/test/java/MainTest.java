@@ -0,0 +1,44 @@
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.TarjanSCC;
+import graph.util.AnalysisBudget;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class MainTest {
+
+    private static String analyze(Graph graph, boolean reduce) {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            Main.runCompleteAnalysis(graph, null, new TarjanSCC(), reduce, "fifo",
+                    AnalysisBudget.unlimited(), new LinkedHashMap<>());
+        } finally {
+            System.setOut(stdout);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testReduceKeepsShortestPathsExact() {
+        // 0 -> 2 directly costs 1; the detour through 1 costs 10, so the reduction drops the direct edge
+        Graph graph = new Graph(3, List.of(new Edge(0, 1, 5), new Edge(1, 2, 5), new Edge(0, 2, 1)), true);
+        graph.setSource(0);
+
+        String reduced = analyze(graph, true);
+        String full = analyze(graph, false);
+
+        assertTrue(reduced.contains("Transitive reduction: removed 1 of 3 edges"));
+        // Components are listed sinks-first: vertex 2 is component 0
+        assertTrue(reduced.contains("To component 0: 1"));
+        assertTrue(full.contains("To component 0: 1"));
+        assertTrue(reduced.contains("Critical path length: 10"));
+        assertTrue(full.contains("Critical path length: 10"));
+    }
+}
@@ -0,0 +1,259 @@
+package graph;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.ParallelDAGShortestPath;
+import graph.dagsp.ShortestPathResult;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.ConnectedComponents;
+import graph.scc.KosarajuSCC;
+import graph.scc.PearceSCC;
+import graph.scc.SCCAlgorithm;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import graph.topo.PriorityTopologicalSort;
+import graph.topo.ReductionResult;
+import graph.topo.TopoResult;
+import graph.topo.TransitiveReduction;
+import graph.util.AnalysisBudget;
+import graph.util.AnalysisStatus;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class AnalysisBudgetTest {
+
+    private static AnalysisBudget expired() {
+        return AnalysisBudget.withTimeout(Duration.ZERO);
+    }
+
+    @Test
+    public void testUnlimitedBudgetCompletes() {
+        Graph graph = TestGraphs.randomGraph(5_000, 20_000, 1, 9, 1);
+        SCCResult plain = new TarjanSCC().findSCCs(graph);
+        SCCResult budgeted = new TarjanSCC().withBudget(AnalysisBudget.unlimited()).findSCCs(graph);
+        assertEquals(AnalysisStatus.COMPLETE, budgeted.getStatus());
+        assertEquals(plain.getSccs(), budgeted.getSccs());
+    }
+
+    @Test
+    public void testSCCEnginesReturnOnlyCompleteComponents() {
+        Graph graph = TestGraphs.randomGraph(20_000, 60_000, 1, 9, 2);
+        Set<Set<Integer>> exact = new HashSet<>();
+        for (List<Integer> scc : new TarjanSCC().findSCCs(graph).getSccs()) {
+            exact.add(new HashSet<>(scc));
+        }
+
+        for (SCCAlgorithm engine : new SCCAlgorithm[]{new TarjanSCC(), new PearceSCC(), new KosarajuSCC()}) {
+            SCCResult result = engine.withBudget(expired()).findSCCs(graph);
+            assertEquals(AnalysisStatus.TIMED_OUT, result.getStatus());
+            assertTrue(result.getSccs().size() < exact.size());
+            for (List<Integer> scc : result.getSccs()) {
+                assertTrue(exact.contains(new HashSet<>(scc)));
+            }
+            assertEquals(result.getSccs().size(), result.getCondensationGraph().getVertexCount());
+        }
+    }
+
+    @Test
+    public void testCancelledTopologicalSortReturnsValidPrefix() {
+        Graph graph = TestGraphs.randomDAG(20_000, 80_000, 1, 9, 3);
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        budget.cancel();
+
+        for (TopoResult result : new TopoResult[]{new KahnsAlgorithm().withBudget(budget).topologicalSort(graph),
+                new PriorityTopologicalSort().withBudget(budget).topologicalSort(graph)}) {
+            assertEquals(AnalysisStatus.CANCELLED, result.getStatus());
+            assertTrue(result.getTopologicalOrder().size() < graph.getVertexCount());
+
+            Set<Integer> emitted = new HashSet<>(result.getTopologicalOrder());
+            for (Edge edge : graph.getEdges()) {
+                if (emitted.contains(edge.getV())) {
+                    assertTrue(emitted.contains(edge.getU()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTimedOutPathsAreBounds() {
+        Graph random = TestGraphs.randomDAG(20_000, 100_000, 1, 9, 4);
+        // A spine from vertex 0 makes every edge reachable from the source
+        List<Edge> edges = new ArrayList<>(random.getEdges());
+        for (int v = 1; v < 20_000; v++) {
+            edges.add(new Edge(v - 1, v, 5));
+        }
+        Graph graph = new Graph(20_000, edges, true);
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        ShortestPathResult exact = new DAGShortestPath().findShortestPaths(graph, order, 0);
+        CriticalPathResult exactCritical = new DAGShortestPath().findCriticalPath(graph, order);
+
+        ShortestPathResult partial = new DAGShortestPath().withBudget(expired())
+                .findShortestPaths(graph, order, 0);
+        assertEquals(AnalysisStatus.TIMED_OUT, partial.getStatus());
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            assertTrue(partial.getDistances()[v] >= exact.getDistances()[v]);
+        }
+
+        CriticalPathResult critical = new DAGShortestPath().withBudget(expired()).findCriticalPath(graph, order);
+        assertFalse(critical.isComplete());
+        assertTrue(critical.getMaxDistance() <= exactCritical.getMaxDistance());
+        // The anytime path is a real path whose weight is the reported length
+        Map<Long, Integer> best = new HashMap<>();
+        for (Edge edge : graph.getEdges()) {
+            best.merge(((long) edge.getU() << 32) | edge.getV(), edge.getW(), Math::max);
+        }
+        List<Integer> path = critical.getCriticalPath();
+        int length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Integer w = best.get(((long) path.get(i - 1) << 32) | path.get(i));
+            assertNotNull(w);
+            length += w;
+        }
+        assertEquals(critical.getMaxDistance(), length);
+    }
+
+    @Test
+    public void testVertexOnlyLoopsPoll() {
+        Graph graph = new Graph(20_000, new ArrayList<>(), true);
+        List<Integer> order = new ArrayList<>();
+        for (int v = 0; v < 20_000; v++) {
+            order.add(v);
+        }
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        budget.cancel();
+
+        SCCResult scc = new TarjanSCC().withBudget(budget).findSCCs(graph);
+        assertEquals(AnalysisStatus.CANCELLED, scc.getStatus());
+        assertTrue(scc.getSccs().size() < graph.getVertexCount());
+        assertFalse(new KahnsAlgorithm().withBudget(budget).topologicalSort(graph).isComplete());
+        assertFalse(new DAGShortestPath().withBudget(budget).findShortestPaths(graph, order, 0).isComplete());
+    }
+
+    @Test
+    public void testCancelledConnectedComponentsListsNone() {
+        Random random = new Random(6);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            edges.add(new Edge(random.nextInt(20_000), random.nextInt(20_000), 1));
+        }
+        Graph graph = new Graph(20_000, edges, false);
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        budget.cancel();
+
+        SCCResult result = new ConnectedComponents(4).withBudget(budget).findComponents(graph);
+        assertEquals(AnalysisStatus.CANCELLED, result.getStatus());
+        assertTrue(result.getSccs().isEmpty());
+        assertEquals(AnalysisStatus.COMPLETE,
+                new ConnectedComponents(4).withBudget(AnalysisBudget.unlimited()).findComponents(graph).getStatus());
+    }
+
+    @Test
+    public void testTimedOutParallelPathsAreBounds() {
+        Graph graph = TestGraphs.randomDAG(20_000, 100_000, 1, 9, 7);
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        ShortestPathResult exact = new DAGShortestPath().findShortestPaths(graph, order, 0);
+
+        ShortestPathResult partial = new ParallelDAGShortestPath(4).withBudget(expired())
+                .findShortestPaths(graph, order, 0);
+        assertEquals(AnalysisStatus.TIMED_OUT, partial.getStatus());
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            assertTrue(partial.getDistances()[v] >= exact.getDistances()[v]);
+        }
+        assertFalse(new ParallelDAGShortestPath(4).withBudget(expired()).findCriticalPath(graph, order).isComplete());
+    }
+
+    @Test
+    public void testStoppedReductionKeepsUnprocessedEdges() {
+        Graph graph = TestGraphs.randomDAG(2_000, 10_000, 1, 9, 8);
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        budget.cancel();
+
+        ReductionResult stopped = new TransitiveReduction().withBudget(budget).reduce(graph, order);
+        assertEquals(AnalysisStatus.CANCELLED, stopped.getStatus());
+        assertEquals(graph.getEdges().size(), stopped.getReducedEdgeCount());
+        assertFalse(new TransitiveReduction().withBudget(budget).reduce(graph).isComplete());
+
+        ReductionResult full = new TransitiveReduction().withBudget(AnalysisBudget.unlimited()).reduce(graph, order);
+        assertTrue(full.isComplete());
+        assertTrue(full.getRemovedEdgeCount() > 0);
+    }
+
+    @Test
+    public void testInterruptReachesPoolThreads() {
+        Random random = new Random(9);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            edges.add(new Edge(random.nextInt(50_000), random.nextInt(50_000), 1));
+        }
+        Graph undirected = new Graph(50_000, edges, false);
+        Graph dag = TestGraphs.randomDAG(20_000, 100_000, 1, 9, 10);
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(dag).getTopologicalOrder();
+
+        Thread.currentThread().interrupt();
+        try {
+            SCCResult components = new ConnectedComponents(4).withBudget(AnalysisBudget.unlimited())
+                    .findComponents(undirected);
+            assertEquals(AnalysisStatus.CANCELLED, components.getStatus());
+            assertTrue(Thread.currentThread().isInterrupted());
+
+            ShortestPathResult paths = new ParallelDAGShortestPath(4).withBudget(AnalysisBudget.unlimited())
+                    .findShortestPaths(dag, order, 0);
+            assertEquals(AnalysisStatus.CANCELLED, paths.getStatus());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testInterruptWhileAwaitingStopsPoolTask() throws Exception {
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Thread caller = Thread.currentThread();
+        Thread interrupter = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            caller.interrupt();
+        });
+        interrupter.start();
+        try {
+            // Spins on a pool thread until the budget runs out, which only the caller's interrupt causes
+            budget.await(pool.submit(() -> {
+                long work = 1;
+                while (!budget.check(work++)) {
+                    Thread.onSpinWait();
+                }
+            }));
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertEquals(AnalysisStatus.CANCELLED, budget.getStatus());
+        } finally {
+            interrupter.join();
+            Thread.interrupted();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testInterruptCountsAsCancellation() {
+        Graph graph = TestGraphs.randomGraph(10_000, 40_000, 1, 9, 5);
+        Thread.currentThread().interrupt();
+        try {
+            AnalysisBudget budget = AnalysisBudget.unlimited();
+            SCCResult result = new PearceSCC().withBudget(budget).findSCCs(graph);
+            assertEquals(AnalysisStatus.CANCELLED, result.getStatus());
+            assertEquals(AnalysisStatus.CANCELLED, budget.getStatus());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
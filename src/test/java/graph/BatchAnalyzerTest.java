@@ -0,0 +1,71 @@
+package graph;
+
+import graph.batch.BatchAnalyzer;
+import graph.batch.BatchReport;
+import graph.io.BinaryEdgeFormat;
+import graph.model.Edge;
+import graph.model.Graph;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class BatchAnalyzerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testBatchDirectoryStreamsSummaries() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Path dir = folder.newFolder("district").toPath();
+        for (int i = 0; i < 12; i++) {
+            List<Edge> edges = new ArrayList<>();
+            for (int v = 0; v < 9; v++) {
+                edges.add(new Edge(v, v + 1, i + 1));
+            }
+            mapper.writeValue(dir.resolve(String.format("g%02d.json", i)).toFile(), new Graph(10, edges, true));
+        }
+        BinaryEdgeFormat.write(new Graph(3, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 0, 1), new Edge(1, 2, 4)), true), dir.resolve("cycle.bin"));
+        Files.write(dir.resolve("broken.json"), "{not json".getBytes(StandardCharsets.UTF_8));
+
+        Path output = folder.getRoot().toPath().resolve("out.jsonl");
+        List<Path> inputs = BatchAnalyzer.resolveInputs(dir);
+        assertEquals(14, inputs.size());
+
+        BatchReport report = new BatchAnalyzer(4, 2).run(inputs, output);
+        assertEquals(13, report.getGraphsAnalyzed());
+        assertEquals(1, report.getGraphsFailed());
+        assertEquals(12 * 9 + 3, report.getTotalEdges());
+        assertTrue(report.getGraphsPerSecond() > 0);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(14, lines.size());
+        Map<String, JsonNode> byFile = new HashMap<>();
+        for (String line : lines) {
+            JsonNode node = mapper.readTree(line);
+            byFile.put(Path.of(node.get("file").asText()).getFileName().toString(), node);
+        }
+        assertEquals(27, byFile.get("g02.json").get("criticalPathLength").asInt());
+        assertEquals(2, byFile.get("cycle.bin").get("sccCount").asInt());
+        assertTrue(byFile.get("broken.json").has("error"));
+    }
+
+    @Test
+    public void testManifestResolvesRelativePaths() throws Exception {
+        Path dir = folder.newFolder("manifest").toPath();
+        Path manifest = dir.resolve("graphs.txt");
+        Files.write(manifest, Arrays.asList("# nightly run", "a.json", "", "sub/b.bin"), StandardCharsets.UTF_8);
+
+        List<Path> inputs = BatchAnalyzer.resolveInputs(manifest);
+        assertEquals(Arrays.asList(dir.toAbsolutePath().resolve("a.json"),
+                dir.toAbsolutePath().resolve("sub/b.bin")), inputs);
+    }
+}
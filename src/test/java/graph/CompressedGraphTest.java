@@ -0,0 +1,68 @@
+package graph;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.CompressedGraph;
+import graph.model.EdgeCursor;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import org.junit.Test;
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class CompressedGraphTest {
+
+    @Test
+    public void testCursorDecodesSortedNeighboursAndSignedWeights() {
+        Graph graph = new Graph(300, Arrays.asList(
+                new Edge(5, 299, -7),
+                new Edge(5, 0, 3),
+                new Edge(5, 6, Integer.MAX_VALUE),
+                new Edge(5, 6, Integer.MIN_VALUE),
+                new Edge(200, 4, 1)
+        ), true);
+        CompressedGraph compressed = CompressedGraph.from(graph);
+
+        EdgeCursor cursor = compressed.newCursor();
+        cursor.reset(5);
+        int[][] expected = {{0, 3}, {6, Integer.MIN_VALUE}, {6, Integer.MAX_VALUE}, {299, -7}};
+        for (int[] edge : expected) {
+            assertTrue(cursor.next());
+            assertEquals(edge[0], cursor.target());
+            assertEquals(edge[1], cursor.weight());
+        }
+        assertFalse(cursor.next());
+        assertEquals(4, compressed.outDegree(5));
+        assertEquals(1, compressed.outDegree(200));
+        assertEquals(0, compressed.outDegree(7));
+        assertEquals(5, compressed.getEdgeCount());
+    }
+
+    @Test
+    public void testEnginesOnCompressedGraphMatchHeapGraph() {
+        Random random = new Random(3);
+        List<Edge> edges = new ArrayList<>();
+        for (int u = 0; u < 500; u++) {
+            for (int k = 0; k < 4; k++) {
+                int v = Math.min(499, u + 1 + random.nextInt(8));
+                if (v != u) {
+                    edges.add(new Edge(u, v, random.nextInt(20)));
+                }
+            }
+        }
+        Graph graph = new Graph(500, edges, true);
+        CompressedGraph compressed = CompressedGraph.from(graph);
+        assertTrue("Clustered ids should compress", compressed.getCompressedBytes() < compressed.getUncompressedBytes() / 2);
+
+        assertEquals(500, new TarjanSCC().findSCCs(compressed).getSccs().size());
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(compressed).getTopologicalOrder();
+        List<Integer> expectedOrder = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        assertArrayEquals(pathFinder.findShortestPaths(graph, expectedOrder, 0).getDistances(),
+                pathFinder.findShortestPaths(compressed, order, 0).getDistances());
+        assertEquals(pathFinder.findCriticalPath(graph, expectedOrder).getMaxDistance(),
+                pathFinder.findCriticalPath(compressed, order).getMaxDistance());
+    }
+}
@@ -0,0 +1,89 @@
+package graph;
+
+import graph.model.CSRGraph;
+import graph.model.ConcurrentGraphBuilder;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import static org.junit.Assert.*;
+
+public class ConcurrentGraphBuilderTest {
+
+    private static long key(int u, int v) {
+        return ((long) u << 32) | v;
+    }
+
+    @Test
+    public void testConcurrentIngestFreezesToDedupedCSR() throws Exception {
+        int n = 5000;
+        int producers = 4;
+        int perProducer = 60_000;
+        ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder(n, true, 4);
+        Map<Long, Integer> expected = new TreeMap<>();
+
+        // Generate deterministic edges up front so the expected graph is known
+        int[][][] batches = new int[producers][perProducer][];
+        Random random = new Random(7);
+        for (int p = 0; p < producers; p++) {
+            for (int i = 0; i < perProducer; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(40); // few targets so duplicates are common
+                int w = random.nextInt(100) - 50;
+                batches[p][i] = new int[]{u, v, w};
+                expected.merge(key(u, v), w, Math::min);
+            }
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int[][] batch = batches[p];
+            Thread thread = new Thread(() -> {
+                for (int[] edge : batch) {
+                    builder.addEdge(edge[0], edge[1], edge[2]);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CSRGraph graph = builder.freeze();
+        assertEquals(n, graph.getVertexCount());
+        assertEquals(expected.size(), graph.getEdgeCount());
+        assertEquals(producers * perProducer, builder.getMetrics().getOperationCount("Edges ingested"));
+        for (int u = 0; u < n; u++) {
+            int previous = -1;
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                assertTrue(graph.target(e) > previous);
+                previous = graph.target(e);
+                assertEquals(expected.get(key(u, graph.target(e))), Integer.valueOf(graph.weight(e)));
+            }
+        }
+    }
+
+    @Test
+    public void testUndirectedMirrorsEdges() {
+        ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder(3, false, 2);
+        builder.addEdge(0, 1, 4);
+        builder.addEdge(1, 2, 6);
+        builder.addEdge(1, 0, 2); // Same undirected edge, lighter
+
+        CSRGraph graph = builder.freeze();
+        assertEquals(4, graph.getEdgeCount());
+        assertEquals(1, graph.outDegree(0));
+        assertEquals(2, graph.weight(graph.edgeStart(0)));
+        assertEquals(2, graph.outDegree(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterFreezeFails() {
+        ConcurrentGraphBuilder builder = new ConcurrentGraphBuilder(2, true);
+        builder.freeze();
+        builder.addEdge(0, 1, 1);
+    }
+}
@@ -0,0 +1,143 @@
+package graph;
+
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.Cone;
+import graph.topo.ConeExtractor;
+import org.junit.Test;
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class ConeExtractorTest {
+
+    private static Set<Integer> reachable(Graph graph, boolean reverse, int... seeds) {
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            adjacency.add(new ArrayList<>());
+        }
+        for (Edge edge : graph.getEdges()) {
+            if (reverse) {
+                adjacency.get(edge.getV()).add(edge.getU());
+            } else {
+                adjacency.get(edge.getU()).add(edge.getV());
+            }
+        }
+        Set<Integer> seen = new TreeSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int seed : seeds) {
+            if (seen.add(seed)) {
+                stack.push(seed);
+            }
+        }
+        while (!stack.isEmpty()) {
+            for (int v : adjacency.get(stack.pop())) {
+                if (seen.add(v)) {
+                    stack.push(v);
+                }
+            }
+        }
+        return seen;
+    }
+
+    private static Set<Integer> members(Cone cone) {
+        Set<Integer> set = new TreeSet<>();
+        for (int v : cone.toArray()) {
+            set.add(v);
+        }
+        return set;
+    }
+
+    @Test
+    public void testSmallDescendantsAndAncestors() {
+        List<Edge> edges = Arrays.asList(new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(3, 2, 1), new Edge(2, 4, 1));
+        ConeExtractor extractor = new ConeExtractor(new Graph(6, edges, true), 1);
+
+        assertArrayEquals(new int[]{1, 2, 4}, extractor.descendants(1).toArray());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, extractor.ancestors(2).toArray());
+        assertArrayEquals(new int[]{5}, extractor.descendants(5).toArray());
+        Cone union = extractor.descendants(0, 3);
+        assertEquals(5, union.size());
+        assertFalse(union.contains(5));
+    }
+
+    @Test
+    public void testUnionConesMatchNaiveTraversal() {
+        // Dense enough that frontiers switch to the bitset walk
+        Graph graph = TestGraphs.randomGraph(3000, 9000, 0, 8, 11);
+        ConeExtractor extractor = new ConeExtractor(graph, 1);
+        int[][] seedSets = {{0}, {17, 2999}, {5, 5, 6, 7}};
+        for (int[] seeds : seedSets) {
+            assertEquals(reachable(graph, false, seeds), members(extractor.descendants(seeds)));
+            assertEquals(reachable(graph, true, seeds), members(extractor.ancestors(seeds)));
+        }
+    }
+
+    @Test
+    public void testPerSeedConesAcrossBatches() {
+        Graph graph = TestGraphs.randomGraph(500, 700, 0, 8, 3);
+        int[] seeds = new int[150];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = (i * 7) % 500;
+        }
+        seeds[100] = seeds[3];
+
+        for (int parallelism : new int[]{1, 3}) {
+            ConeExtractor extractor = new ConeExtractor(graph, parallelism);
+            Cone[] down = extractor.cones(ConeExtractor.Direction.DESCENDANTS, seeds);
+            Cone[] up = extractor.cones(ConeExtractor.Direction.ANCESTORS, seeds);
+            for (int i = 0; i < seeds.length; i++) {
+                assertEquals(reachable(graph, false, seeds[i]), members(down[i]));
+                assertEquals(reachable(graph, true, seeds[i]), members(up[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testInducedSubgraph() {
+        List<Edge> edges = Arrays.asList(new Edge(0, 2, 4), new Edge(2, 3, 1), new Edge(2, 5, 6),
+                new Edge(1, 3, 2), new Edge(3, 5, 2));
+        Graph graph = new Graph(6, edges, true);
+        graph.setSource(2);
+        ConeExtractor extractor = new ConeExtractor(graph, 1);
+
+        Cone cone = extractor.descendants(2);
+        int[] original = cone.toArray();
+        assertArrayEquals(new int[]{2, 3, 5}, original);
+
+        Graph subgraph = extractor.inducedSubgraph(cone);
+        assertEquals(3, subgraph.getVertexCount());
+        assertEquals(0, subgraph.getSource());
+        assertEquals(3, subgraph.getEdges().size());
+        for (Edge edge : subgraph.getEdges()) {
+            int u = original[edge.getU()];
+            int v = original[edge.getV()];
+            assertTrue(edges.stream().anyMatch(e -> e.getU() == u && e.getV() == v && e.getW() == edge.getW()));
+        }
+    }
+
+    @Test
+    public void testUndirectedSubgraphListsEachEdgeOnce() {
+        // Path 0 - 1 - 2 with a self-loop on 1, plus vertex 3 outside the cone
+        Graph graph = new Graph(4, Arrays.asList(
+                new Edge(0, 1, 4), new Edge(2, 1, 6), new Edge(1, 1, 2)
+        ), false);
+        ConeExtractor extractor = new ConeExtractor(graph, 1);
+
+        Graph subgraph = extractor.inducedSubgraph(extractor.descendants(0));
+        assertFalse(subgraph.isDirected());
+        assertEquals(3, subgraph.getVertexCount());
+        assertEquals(3, subgraph.getEdges().size());
+        Set<List<Integer>> edges = new HashSet<>();
+        for (Edge edge : subgraph.getEdges()) {
+            assertTrue(edge.getU() <= edge.getV());
+            edges.add(Arrays.asList(edge.getU(), edge.getV(), edge.getW()));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(Arrays.asList(0, 1, 4), Arrays.asList(1, 2, 6),
+                Arrays.asList(1, 1, 2))), edges);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositiveParallelism() {
+        new ConeExtractor(new Graph(1, new ArrayList<>(), true), 0);
+    }
+}
@@ -1,11 +1,23 @@
 package graph;
 
+import graph.dagsp.ChainContraction;
+import graph.dagsp.ContractedGraph;
+import graph.dagsp.CriticalPathResult;
 import graph.dagsp.DAGShortestPath;
+import graph.dagsp.Distribution;
+import graph.dagsp.MonteCarloCriticalPath;
+import graph.dagsp.ParallelDAGShortestPath;
+import graph.dagsp.PointToPointQuery;
+import graph.dagsp.ScenarioBatch;
+import graph.dagsp.ShortestPathResult;
 import graph.topo.KahnsAlgorithm;
 import graph.model.Graph;
 import graph.model.Edge;
 import org.junit.Test;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import static org.junit.Assert.*;
 
 public class DAGShortestPathTest {
@@ -76,4 +88,253 @@ public class DAGShortestPathTest {
         // The longest is 9
         assertEquals(9, result.getMaxDistance());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPointToPointMatchesFullSweep() {
+        Graph graph = TestGraphs.randomDAG(300, 900, 1, 10, 5);
+        var order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        PointToPointQuery query = new PointToPointQuery(graph, order);
+
+        Random random = new Random(9);
+        for (int i = 0; i < 40; i++) {
+            int source = random.nextInt(300);
+            int target = random.nextInt(300);
+            int[] expected = pathFinder.findShortestPaths(graph, order, source).getDistances();
+
+            var result = query.shortestPath(source, target);
+            assertEquals(expected[target], result.getDistance());
+            assertEquals(expected[target] != Integer.MAX_VALUE, result.isReachable());
+            if (result.isReachable()) {
+                assertEquals(Integer.valueOf(source), result.getPath().get(0));
+                assertEquals(Integer.valueOf(target), result.getPath().get(result.getPath().size() - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testPointToPointPrunesToCone() {
+        // Two long independent chains joined only at the end: 0..49 and 50..99, both into 100
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 0; v < 49; v++) {
+            edges.add(new Edge(v, v + 1, 1));
+            edges.add(new Edge(v + 50, v + 51, 2));
+        }
+        edges.add(new Edge(49, 100, 1));
+        edges.add(new Edge(99, 100, 1));
+        Graph graph = new Graph(101, edges, true);
+        var order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        PointToPointQuery query = new PointToPointQuery(graph, order);
+
+        var shortest = query.shortestPath(40, 100);
+        assertEquals(10, shortest.getDistance());
+        assertEquals(11, shortest.getVerticesProcessed());
+        assertEquals(99, query.longestPath(50, 100).getDistance());
+        assertFalse(query.shortestPath(100, 0).isReachable());
+        assertFalse(query.shortestPath(10, 60).isReachable());
+    }
+
+    @Test
+    public void testMonteCarloWithFixedDurationsMatchesCriticalPath() {
+        Graph graph = new Graph(5, Arrays.asList(
+                new Edge(0, 1, 3),
+                new Edge(0, 2, 2),
+                new Edge(1, 3, 4),
+                new Edge(2, 3, 1),
+                new Edge(3, 4, 5)
+        ), true);
+        var order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        int expected = new DAGShortestPath().findCriticalPath(graph, order).getMaxDistance();
+
+        var result = new MonteCarloCriticalPath(graph, order).simulate(100, 1);
+
+        assertEquals(expected, result.getPercentile(0), 1e-9);
+        assertEquals(expected, result.getPercentile(100), 1e-9);
+        assertArrayEquals(new double[]{1, 0, 1, 0, 1}, result.getEdgeCriticality(), 1e-9);
+        assertEquals(0.0, result.getVertexCriticality()[2], 1e-9);
+    }
+
+    @Test
+    public void testMonteCarloCriticalityAndDeterminism() {
+        // Two competing branches with identical ranges: each should be critical about half the time
+        Graph graph = new Graph(4, Arrays.asList(
+                new Edge(0, 1, 5),
+                new Edge(0, 2, 5),
+                new Edge(1, 3, 0),
+                new Edge(2, 3, 0)
+        ), true);
+        var order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        List<Distribution> durations = Arrays.asList(
+                Distribution.uniform(0, 10), Distribution.triangular(0, 5, 10),
+                Distribution.fixed(0), Distribution.fixed(0));
+
+        var sequential = new MonteCarloCriticalPath(graph, order, durations, 1).simulate(5000, 42);
+        var parallel = new MonteCarloCriticalPath(graph, order, durations, 4).simulate(5000, 42);
+
+        assertArrayEquals(sequential.getCompletionTimes(), parallel.getCompletionTimes(), 0.0);
+        double[] criticality = parallel.getEdgeCriticality();
+        assertEquals(1.0, criticality[0] + criticality[1], 1e-9);
+        assertEquals(0.5, criticality[0], 0.05);
+        assertTrue(parallel.getPercentile(50) <= parallel.getPercentile(95));
+        assertTrue(parallel.getPercentile(95) <= 10.0);
+        assertEquals(1.0, parallel.getVertexCriticality()[0], 1e-9);
+    }
+
+    @Test
+    public void testScenarioBatchMatchesIndividualRuns() {
+        Graph base = TestGraphs.randomDAG(200, 700, 1, 10, 11);
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(base).getTopologicalOrder();
+        Random random = new Random(3);
+        int[][] weights = new int[70][base.getEdges().size()];
+        for (int[] row : weights) {
+            for (int e = 0; e < row.length; e++) {
+                row[e] = random.nextInt(20) - 2;
+            }
+        }
+
+        ScenarioBatch batch = new ScenarioBatch(base, order, 4);
+        ShortestPathResult[] shortest = batch.shortestPaths(weights, order.get(0));
+        CriticalPathResult[] critical = batch.criticalPaths(weights);
+
+        for (int s = 0; s < weights.length; s++) {
+            List<Edge> edges = new ArrayList<>();
+            for (int e = 0; e < weights[s].length; e++) {
+                Edge edge = base.getEdges().get(e);
+                edges.add(new Edge(edge.getU(), edge.getV(), weights[s][e]));
+            }
+            Graph scenario = new Graph(200, edges, true);
+            DAGShortestPath pathFinder = new DAGShortestPath();
+            ShortestPathResult expectedShortest = pathFinder.findShortestPaths(scenario, order, order.get(0));
+            CriticalPathResult expectedCritical = pathFinder.findCriticalPath(scenario, order);
+
+            assertArrayEquals(expectedShortest.getDistances(), shortest[s].getDistances());
+            assertArrayEquals(expectedShortest.getPredecessors(), shortest[s].getPredecessors());
+            assertEquals(expectedCritical.getMaxDistance(), critical[s].getMaxDistance());
+            assertEquals(expectedCritical.getCriticalPath(), critical[s].getCriticalPath());
+        }
+    }
+
+    @Test
+    public void testScenarioBatchRejectsOversizedMatrix() {
+        Graph base = TestGraphs.randomDAG(2000, 50000, 1, 10, 13);
+        var order = new KahnsAlgorithm().topologicalSort(base).getTopologicalOrder();
+        // 50,000 edges x 50,000 scenarios wraps around int; rows share one array to keep the test small
+        int[] row = new int[base.getEdges().size()];
+        int[][] weights = new int[50000][];
+        Arrays.fill(weights, row);
+
+        try {
+            new ScenarioBatch(base, order, 1).criticalPaths(weights);
+            fail("Expected the oversized scenario matrix to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("50000 scenarios"));
+        }
+    }
+
+    // Random DAG whose edges are subdivided into chains of 0..5 extra vertices
+    private static Graph chainedDAG(int anchors, int m, long seed) {
+        Random random = new Random(seed);
+        List<Edge> edges = new ArrayList<>();
+        int next = anchors;
+        for (Edge edge : TestGraphs.randomDAG(anchors, m, 1, 10, seed).getEdges()) {
+            int from = edge.getU();
+            for (int k = random.nextInt(6); k > 0; k--) {
+                edges.add(new Edge(from, next, random.nextInt(7) - 1));
+                from = next++;
+            }
+            edges.add(new Edge(from, edge.getV(), edge.getW()));
+        }
+        return new Graph(next, edges, true);
+    }
+
+    @Test
+    public void testChainContractionMatchesFullSweep() {
+        Graph graph = chainedDAG(60, 150, 17);
+        var order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        var expected = pathFinder.findShortestPaths(graph, order, 0);
+        var expectedCritical = pathFinder.findCriticalPath(graph, order);
+
+        ContractedGraph contracted = new ChainContraction().contract(graph, 0);
+        Graph small = contracted.getGraph();
+        assertTrue(small.getVertexCount() < graph.getVertexCount() / 2);
+        var smallOrder = new KahnsAlgorithm().topologicalSort(small).getTopologicalOrder();
+        var shortest = pathFinder.findShortestPaths(small, smallOrder, contracted.getContractedVertex(0));
+        var critical = pathFinder.findCriticalPath(small, smallOrder);
+
+        assertArrayEquals(expected.getDistances(), contracted.expandDistances(shortest.getDistances()));
+        assertEquals(expectedCritical.getMaxDistance(), contracted.expand(critical).getMaxDistance());
+        assertArrayEquals(expectedCritical.getDistances(), contracted.expand(critical).getDistances());
+
+        int[] dist = expected.getDistances();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            List<Integer> path = contracted.path(shortest.getDistances(), shortest.getPredecessors(), v);
+            if (dist[v] == Integer.MAX_VALUE) {
+                assertTrue(path.isEmpty());
+                continue;
+            }
+            assertEquals(Integer.valueOf(0), path.get(0));
+            assertEquals(Integer.valueOf(v), path.get(path.size() - 1));
+            assertEquals(dist[v], pathWeight(graph, path));
+        }
+    }
+
+    private static int pathWeight(Graph graph, List<Integer> path) {
+        int total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            int u = path.get(i - 1);
+            int v = path.get(i);
+            int best = Integer.MAX_VALUE;
+            for (Edge edge : graph.getEdges()) {
+                if (edge.getU() == u && edge.getV() == v) {
+                    best = Math.min(best, edge.getW());
+                }
+            }
+            assertNotEquals("missing edge " + u + "->" + v, Integer.MAX_VALUE, best);
+            total += best;
+        }
+        return total;
+    }
+
+    @Test
+    public void testParallelLevelsMatchSequential() {
+        // Wide layers (above the parallel threshold) with few distinct weights so ties are common
+        int width = 3000;
+        int layers = 5;
+        Random random = new Random(13);
+        List<Edge> edges = new ArrayList<>();
+        for (int l = 1; l < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                int v = l * width + i;
+                for (int k = 0; k < 3; k++) {
+                    int u = (l - 1) * width + random.nextInt(width);
+                    edges.add(new Edge(u, v, random.nextInt(3)));
+                }
+            }
+        }
+        for (int i = 1; i < width; i++) {
+            edges.add(new Edge(0, i, random.nextInt(3))); // Single root
+        }
+        Graph graph = new Graph(width * layers, edges, true);
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+
+        DAGShortestPath sequential = new DAGShortestPath();
+        ParallelDAGShortestPath parallel = new ParallelDAGShortestPath(4);
+        ShortestPathResult expected = sequential.findShortestPaths(graph, order, 0);
+        ShortestPathResult actual = parallel.findShortestPaths(graph, order, 0);
+        assertArrayEquals(expected.getDistances(), actual.getDistances());
+        assertArrayEquals(expected.getPredecessors(), actual.getPredecessors());
+        assertTrue(actual.getMetrics().getOperationCount("Parallel levels") > 0);
+
+        CriticalPathResult expectedCritical = sequential.findCriticalPath(graph, order);
+        CriticalPathResult actualCritical = parallel.findCriticalPath(graph, order);
+        assertEquals(expectedCritical.getMaxDistance(), actualCritical.getMaxDistance());
+        assertEquals(expectedCritical.getCriticalPath(), actualCritical.getCriticalPath());
+        assertArrayEquals(expectedCritical.getPredecessors(), actualCritical.getPredecessors());
+
+        Graph small = TestGraphs.randomDAG(300, 900, 1, 10, 2);
+        List<Integer> smallOrder = new KahnsAlgorithm().topologicalSort(small).getTopologicalOrder();
+        assertArrayEquals(sequential.findShortestPaths(small, smallOrder, 5).getPredecessors(),
+                parallel.findShortestPaths(small, smallOrder, 5).getPredecessors());
+    }
+}
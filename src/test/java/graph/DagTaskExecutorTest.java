@@ -0,0 +1,104 @@
+package graph;
+
+import graph.exec.DagTaskExecutor;
+import graph.exec.ExecutionReport;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.CyclicGraphException;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.junit.Assert.*;
+
+public class DagTaskExecutorTest {
+
+    private static void assertDependenciesRespected(Graph graph, DagTaskExecutor executor) throws Exception {
+        int n = graph.getVertexCount();
+        AtomicInteger clock = new AtomicInteger();
+        AtomicIntegerArray started = new AtomicIntegerArray(n);
+        AtomicIntegerArray finished = new AtomicIntegerArray(n);
+
+        ExecutionReport report = executor.execute(graph, v -> {
+            started.set(v, clock.incrementAndGet());
+            finished.set(v, clock.incrementAndGet());
+        });
+
+        assertEquals(n, report.getTaskCount());
+        for (Edge edge : graph.getEdges()) {
+            assertTrue(finished.get(edge.getU()) < started.get(edge.getV()));
+        }
+        assertTrue(report.getTasksPerSecond() > 0);
+        assertTrue(report.getMeanSchedulingOverheadNanos() >= 0);
+    }
+
+    @Test
+    public void testWorkStealingRespectsDependencies() throws Exception {
+        assertDependenciesRespected(TestGraphs.randomDAG(2000, 8000, 1, 1, 3), DagTaskExecutor.workStealing(4));
+    }
+
+    @Test(timeout = 30_000)
+    public void testExecuteFromAnotherForkJoinPool() throws Exception {
+        // A star: the root's successors must run on the executor's pool, not on the caller's
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 1; v < 50; v++) {
+            edges.add(new Edge(0, v, 1));
+        }
+        Graph star = new Graph(50, edges, true);
+        ForkJoinPool outer = new ForkJoinPool(1);
+        try {
+            ExecutionReport report = outer.submit(() ->
+                    DagTaskExecutor.workStealing(2).execute(star, v -> { })).get(20, TimeUnit.SECONDS);
+            assertEquals(50, report.getTaskCount());
+        } finally {
+            outer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsRespectDependencies() throws Exception {
+        if (DagTaskExecutor.isVirtualThreadSupported()) {
+            assertDependenciesRespected(TestGraphs.randomDAG(500, 2000, 1, 1, 4), DagTaskExecutor.virtualThreads());
+        }
+    }
+
+    @Test
+    public void testCyclicGraphRejectedBeforeRunning() throws Exception {
+        Graph graph = new Graph(4, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(2, 1, 1), new Edge(2, 3, 1)
+        ), true);
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            DagTaskExecutor.workStealing(2).execute(graph, v -> runs.incrementAndGet());
+            fail("Expected cycle to be rejected");
+        } catch (CyclicGraphException e) {
+            assertTrue(e.getCycle().containsAll(Arrays.asList(1, 2)));
+        }
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testFailureStopsSuccessors() throws Exception {
+        // 0 -> 1 -> 2, with 1 failing
+        Graph graph = new Graph(3, Arrays.asList(new Edge(0, 1, 1), new Edge(1, 2, 1)), true);
+        AtomicIntegerArray ran = new AtomicIntegerArray(3);
+        try {
+            DagTaskExecutor.workStealing(2).execute(graph, v -> {
+                ran.set(v, 1);
+                if (v == 1) {
+                    throw new IllegalStateException("boom");
+                }
+            });
+            fail("Expected the task failure to propagate");
+        } catch (ExecutionException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+        assertEquals(1, ran.get(0));
+        assertEquals(0, ran.get(2));
+    }
+}
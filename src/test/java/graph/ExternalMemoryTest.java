@@ -0,0 +1,102 @@
+package graph;
+
+import graph.extmem.ExternalEdgeGraph;
+import graph.extmem.ExternalEdgeSorter;
+import graph.extmem.ExternalMemoryAnalyzer;
+import graph.io.BinaryEdgeFormat;
+import graph.model.CSRGraph;
+import graph.model.Edge;
+import graph.model.EdgeCursor;
+import graph.model.Graph;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class ExternalMemoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExternalSCCMatchesTarjan() throws Exception {
+        Graph graph = TestGraphs.randomGraph(2000, 5000, 1, 9, 7);
+        Path edgeFile = folder.newFile("edges.bin").toPath();
+        BinaryEdgeFormat.write(graph, edgeFile);
+
+        // A tiny budget forces several sorted runs and a multi-pass merge
+        ExternalMemoryAnalyzer analyzer = new ExternalMemoryAnalyzer(1000, folder.getRoot().toPath());
+        var result = analyzer.findSCCs(edgeFile);
+
+        assertEquals(new TarjanSCC().findSCCs(graph).getSccs(), result.getSccs());
+        assertTrue(result.getMetrics().getOperationCount("Sort runs") > 1);
+        assertTrue(result.getMetrics().getOperationCount("I/O bytes read") > 0);
+        assertTrue(result.getMetrics().getOperationCount("I/O bytes written") > 0);
+    }
+
+    @Test
+    public void testExternalTopologicalSortMatchesKahn() throws Exception {
+        Graph graph = TestGraphs.randomDAG(1500, 4000, 1, 9, 11);
+        Path edgeFile = folder.newFile("dag.bin").toPath();
+        BinaryEdgeFormat.write(graph, edgeFile);
+
+        ExternalMemoryAnalyzer analyzer = new ExternalMemoryAnalyzer(64 * 1024, folder.getRoot().toPath());
+        var result = analyzer.topologicalSort(edgeFile);
+
+        assertEquals(new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder(),
+                result.getTopologicalOrder());
+        assertTrue(result.getMetrics().getOperationCount("Block cache misses") > 0);
+    }
+
+    @Test
+    public void testInterleavedCursorsSurviveEviction() throws Exception {
+        Graph graph = TestGraphs.randomGraph(50, 40000, 1, 9, 5);
+        Path edgeFile = folder.newFile("dense.bin").toPath();
+        Path sortedFile = folder.newFile("sorted.bin").toPath();
+        BinaryEdgeFormat.write(graph, edgeFile);
+        long[] offsets = new ExternalEdgeSorter(1 << 20, folder.getRoot().toPath()).sort(edgeFile, sortedFile);
+        CSRGraph expected = CSRGraph.from(graph);
+
+        // A two-block cache with one live cursor per vertex, like a deep DFS stack
+        try (ExternalEdgeGraph external = new ExternalEdgeGraph(sortedFile, offsets, 1)) {
+            int n = graph.getVertexCount();
+            EdgeCursor[] cursors = new EdgeCursor[n];
+            EdgeCursor[] reference = new EdgeCursor[n];
+            for (int u = 0; u < n; u++) {
+                cursors[u] = external.newCursor();
+                cursors[u].reset(u);
+                reference[u] = expected.newCursor();
+                reference[u].reset(u);
+            }
+            boolean advanced = true;
+            while (advanced) {
+                advanced = false;
+                for (int u = 0; u < n; u++) {
+                    boolean more = reference[u].next();
+                    assertEquals(more, cursors[u].next());
+                    if (more) {
+                        assertEquals(reference[u].target(), cursors[u].target());
+                        assertEquals(reference[u].weight(), cursors[u].weight());
+                        advanced = true;
+                    }
+                }
+            }
+            assertTrue(external.getCacheMisses() > 10);
+            // Every edge read is either a hit or a miss, including repeats of the last block
+            assertEquals(graph.getEdges().size(), external.getCacheHits() + external.getCacheMisses());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExternalTopologicalSortWithCycle() throws Exception {
+        Graph graph = new Graph(3, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(2, 0, 1)), true);
+        Path edgeFile = folder.newFile("cycle.bin").toPath();
+        BinaryEdgeFormat.write(graph, edgeFile);
+
+        new ExternalMemoryAnalyzer(4096, folder.getRoot().toPath()).topologicalSort(edgeFile);
+    }
+}
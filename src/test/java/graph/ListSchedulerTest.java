@@ -0,0 +1,130 @@
+package graph;
+
+import graph.metrics.Metrics;
+import graph.metrics.PhaseStats;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.sched.ListScheduler;
+import graph.sched.ScheduleResult;
+import graph.topo.CyclicGraphException;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+public class ListSchedulerTest {
+
+    private static int[] randomDurations(int n, long seed) {
+        Random random = new Random(seed);
+        int[] durations = new int[n];
+        for (int v = 0; v < n; v++) {
+            durations[v] = random.nextInt(10);
+        }
+        return durations;
+    }
+
+    private static void assertFeasible(Graph graph, ScheduleResult result, boolean lags) {
+        long[] start = result.getStartTimes();
+        long[] finish = result.getFinishTimes();
+        for (Edge edge : graph.getEdges()) {
+            long lag = lags ? Math.max(0, edge.getW()) : 0;
+            assertTrue(start[edge.getV()] >= finish[edge.getU()] + lag);
+        }
+        // No resource runs two tasks at once
+        int n = graph.getVertexCount();
+        Integer[] byStart = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            byStart[v] = v;
+        }
+        // Zero-length tasks may share an instant with the next task on the same resource
+        Arrays.sort(byStart, (a, b) -> start[a] != start[b] ? Long.compare(start[a], start[b])
+                : Long.compare(finish[a], finish[b]));
+        long[] busyUntil = new long[result.getResourceCount()];
+        for (int v : byStart) {
+            int r = result.getResourceAssignment()[v];
+            assertTrue(start[v] >= busyUntil[r]);
+            busyUntil[r] = finish[v];
+        }
+        assertTrue(result.getMakespan() >= result.getCriticalPathLength());
+    }
+
+    @Test
+    public void testOneWorkerRunsEverythingBackToBack() {
+        Graph graph = TestGraphs.randomDAG(200, 600, 0, 3, 1);
+        int[] durations = randomDurations(200, 2);
+        ScheduleResult result = ListScheduler.identical(1).schedule(graph, durations);
+
+        assertFeasible(graph, result, false);
+        assertEquals(result.getTotalWork(), result.getMakespan());
+        assertEquals(1.0, result.getUtilization(), 1e-9);
+    }
+
+    @Test
+    public void testEnoughWorkersReachCriticalPath() {
+        Graph graph = TestGraphs.randomDAG(300, 900, 0, 3, 3);
+        int[] durations = randomDurations(300, 4);
+        ScheduleResult limited = ListScheduler.identical(3).schedule(graph, durations);
+        ScheduleResult unlimited = ListScheduler.identical(300).schedule(graph, durations);
+
+        assertFeasible(graph, limited, false);
+        assertFeasible(graph, unlimited, false);
+        assertEquals(unlimited.getCriticalPathLength(), unlimited.getMakespan());
+        assertTrue(limited.getMakespan() >= unlimited.getMakespan());
+    }
+
+    @Test
+    public void testCriticalTaskGoesFirst() {
+        // Two independent chains on one worker: 0 (1) -> 1 (10), and 2 (1) alone
+        Graph graph = new Graph(3, Arrays.asList(new Edge(0, 1, 0)), true);
+        ScheduleResult result = ListScheduler.identical(1).schedule(graph, new int[]{1, 10, 5});
+
+        assertEquals(0, result.getStartTimes()[0]);
+        assertEquals(1, result.getStartTimes()[1]);
+        assertEquals(11, result.getStartTimes()[2]);
+    }
+
+    @Test
+    public void testTypedResourcesAndLags() {
+        Graph graph = TestGraphs.randomDAG(150, 400, 0, 3, 5);
+        int[] durations = randomDurations(150, 6);
+        int[] types = new int[150];
+        for (int v = 0; v < types.length; v++) {
+            types[v] = v % 3;
+        }
+        ScheduleResult result = ListScheduler.typed(new int[]{1, 2, 3}, types)
+                .withEdgeLags().schedule(graph, durations);
+
+        assertFeasible(graph, result, true);
+        for (int v = 0; v < types.length; v++) {
+            int r = result.getResourceAssignment()[v];
+            assertEquals(types[v], r == 0 ? 0 : r < 3 ? 1 : 2);
+        }
+    }
+
+    @Test
+    public void testRejectedGraphLeavesNoPhaseOpen() {
+        ListScheduler scheduler = ListScheduler.identical(2);
+        try {
+            scheduler.schedule(new Graph(2, Arrays.asList(new Edge(0, 1, 0), new Edge(1, 0, 0)), true),
+                    new int[]{1, 1});
+            fail("Expected a cyclic graph to be rejected");
+        } catch (CyclicGraphException expected) {
+            // The failed call still closes its phase and the timer
+        }
+        Metrics metrics = scheduler.schedule(new Graph(2, Arrays.asList(new Edge(0, 1, 0)), true),
+                new int[]{1, 1}).getMetrics();
+
+        List<PhaseStats> phases = metrics.getPhases();
+        assertEquals(3, phases.size());
+        assertEquals("priorities", phases.get(0).getName());
+        assertEquals("priorities", phases.get(1).getName());
+        assertEquals("simulation", phases.get(2).getName());
+    }
+
+    @Test(expected = CyclicGraphException.class)
+    public void testCyclicGraphRejected() {
+        Graph graph = new Graph(2, Arrays.asList(new Edge(0, 1, 0), new Edge(1, 0, 0)), true);
+        ListScheduler.identical(2).schedule(graph, new int[]{1, 1});
+    }
+}
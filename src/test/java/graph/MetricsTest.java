@@ -0,0 +1,129 @@
+package graph;
+
+import graph.dagsp.DAGShortestPath;
+import graph.metrics.Metrics;
+import graph.metrics.PhaseStats;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.TarjanSCC;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class MetricsTest {
+
+    @Test
+    public void testNestedPhasesRecordResources() {
+        Metrics metrics = new Metrics();
+        metrics.startPhase("outer");
+        metrics.startPhase("inner");
+        int[][] garbage = new int[64][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new int[1024];
+        }
+        PhaseStats inner = metrics.endPhase();
+        PhaseStats outer = metrics.endPhase();
+
+        assertEquals("inner", inner.getName());
+        assertEquals(1, outer.getChildren().size());
+        assertSame(inner, outer.getChildren().get(0));
+        assertEquals(1, metrics.getPhases().size());
+        assertTrue(outer.getWallNanos() >= inner.getWallNanos());
+        if (inner.getAllocatedBytes() >= 0) {
+            assertTrue(inner.getAllocatedBytes() >= 64L * 1024 * Integer.BYTES);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndWithoutStartFails() {
+        new Metrics().endPhase();
+    }
+
+    @Test
+    public void testFailedCallLeavesNoPhaseOpen() {
+        Graph graph = new Graph(3, Arrays.asList(new Edge(0, 1, 2), new Edge(1, 2, 3)), true);
+        List<Integer> order = Arrays.asList(0, 1, 2);
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        try {
+            pathFinder.findShortestPaths(graph, order, 7);
+            fail("Expected an out-of-range source to fail");
+        } catch (ArrayIndexOutOfBoundsException expected) {
+            // The failed call still closes its phases
+        }
+        Metrics metrics = pathFinder.findCriticalPath(graph, order).getMetrics();
+
+        List<PhaseStats> phases = metrics.getPhases();
+        assertEquals(2, phases.size());
+        assertEquals("shortest paths", phases.get(0).getName());
+        assertEquals("critical path", phases.get(1).getName());
+        assertEquals(2, phases.get(1).getChildren().size());
+    }
+
+    @Test
+    public void testEnginePhasesAreMachineReadable() throws Exception {
+        Graph graph = new Graph(3, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 0, 1), new Edge(1, 2, 1)
+        ), true);
+        Metrics metrics = new TarjanSCC().findSCCs(graph).getMetrics();
+
+        List<PhaseStats> phases = metrics.getPhases();
+        assertEquals(1, phases.size());
+        assertEquals("SCC detection", phases.get(0).getName());
+        assertEquals(3, phases.get(0).getChildren().size());
+
+        JsonNode json = new ObjectMapper().readTree(metrics.toJson());
+        assertEquals(3, json.get("operations").get("DFS visits").asInt());
+        JsonNode traversal = json.get("phases").get(0).get("children").get(1);
+        assertEquals("traversal", traversal.get("name").asText());
+        assertTrue(traversal.has("cpuNanos"));
+        assertTrue(traversal.has("allocatedBytes"));
+        assertTrue(traversal.has("gcMillis"));
+    }
+
+    @Test
+    public void testPhasesEmitFlightRecorderEvents() throws Exception {
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 0; v < 1_000; v++) {
+            edges.add(new Edge(v, (v + 1) % 1_000, 1));
+        }
+        Graph graph = new Graph(1_000, edges, true);
+
+        Path file = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("graph.Phase");
+            recording.start();
+            new TarjanSCC().findSCCs(graph);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        RecordedEvent traversal = null;
+        try {
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals("graph.Phase")
+                        && event.getString("phase").equals("traversal")) {
+                    traversal = event;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertNotNull(traversal);
+        assertEquals("SCC detection/traversal", traversal.getString("path"));
+        assertEquals(1_000, traversal.getLong("vertexCount"));
+        assertEquals(1_000, traversal.getLong("edgeCount"));
+        assertEquals(-1, traversal.getLong("cacheHits"));
+        assertTrue(traversal.getString("operations").contains("Edge traversals=1000"));
+        assertFalse(traversal.getDuration().isNegative());
+    }
+}
@@ -0,0 +1,86 @@
+package graph;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.model.OffHeapGraph;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class OffHeapGraphTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Graph sampleGraph() {
+        return new Graph(8, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 0, 1), // Cycle 1: 0,1
+                new Edge(2, 3, 1), new Edge(3, 4, 1), new Edge(4, 2, 1), // Cycle 2: 2,3,4
+                new Edge(5, 6, 1),
+                new Edge(0, 2, 1),
+                new Edge(3, 5, 1)
+        ), true);
+    }
+
+    @Test
+    public void testOffHeapSCCMatchesHeapGraph() throws Exception {
+        Graph graph = sampleGraph();
+        var expected = new TarjanSCC().findSCCs(graph);
+
+        try (OffHeapGraph offHeap = OffHeapGraph.from(graph)) {
+            assertEquals(graph.getEdges().size(), offHeap.getEdgeCount());
+            var actual = new TarjanSCC().findSCCs(offHeap);
+            assertEquals(expected.getSccs(), actual.getSccs());
+            assertEquals(expected.getCondensationGraph().getEdges().size(),
+                    actual.getCondensationGraph().getEdges().size());
+        }
+    }
+
+    @Test
+    public void testMemoryMappedPathAnalysis() throws Exception {
+        Graph graph = new Graph(6, Arrays.asList(
+                new Edge(0, 1, 5),
+                new Edge(0, 2, 3),
+                new Edge(1, 3, 6),
+                new Edge(1, 4, 2),
+                new Edge(2, 3, 7),
+                new Edge(2, 4, 4),
+                new Edge(3, 5, 1),
+                new Edge(4, 5, 1)
+        ), true);
+
+        OffHeapGraph.Builder builder = OffHeapGraph.builder(6)
+                .memoryMapped(folder.newFile("graph.bin").toPath());
+        for (Edge edge : graph.getEdges()) {
+            builder.addEdge(edge.getU(), edge.getV(), edge.getW());
+        }
+
+        try (OffHeapGraph offHeap = builder.build()) {
+            assertTrue(offHeap.isMemoryMapped());
+
+            List<Integer> order = new KahnsAlgorithm().topologicalSort(offHeap).getTopologicalOrder();
+            assertEquals(new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder(), order);
+
+            DAGShortestPath pathFinder = new DAGShortestPath();
+            int[] distances = pathFinder.findShortestPaths(offHeap, order, 0).getDistances();
+            assertArrayEquals(new int[]{0, 5, 3, 10, 7, 8}, distances);
+            assertEquals(12, pathFinder.findCriticalPath(offHeap, order).getMaxDistance());
+        }
+    }
+
+    @Test
+    public void testUndirectedEdgesAreMirrored() {
+        Graph graph = new Graph(3, Arrays.asList(new Edge(0, 1, 2), new Edge(1, 2, 4)), false);
+        OffHeapGraph offHeap = OffHeapGraph.from(graph);
+
+        assertEquals(4, offHeap.getEdgeCount());
+        assertEquals(2, offHeap.outDegree(1));
+        assertEquals(1, new TarjanSCC().findSCCs(offHeap).getSccs().size());
+    }
+}
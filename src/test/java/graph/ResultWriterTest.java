@@ -0,0 +1,146 @@
+package graph;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.ShortestPathResult;
+import graph.io.BinaryResultWriter;
+import graph.io.ResultWriter;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import graph.topo.TopoResult;
+import graph.util.AnalysisStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class ResultWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SCCResult sccResult;
+    private TopoResult topoResult;
+    private ShortestPathResult shortest;
+    private CriticalPathResult critical;
+
+    @Before
+    public void analyse() {
+        Graph graph = new Graph(5, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 0, 1), // Cycle: 0,1
+                new Edge(1, 2, -4),
+                new Edge(2, 3, 6)
+                // Vertex 4 is isolated
+        ), true);
+        sccResult = new TarjanSCC().findSCCs(graph);
+        Graph condensation = sccResult.getCondensationGraph();
+        topoResult = new KahnsAlgorithm().topologicalSort(condensation);
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        shortest = pathFinder.findShortestPaths(condensation, topoResult.getTopologicalOrder(), 3);
+        critical = pathFinder.findCriticalPath(condensation, topoResult.getTopologicalOrder());
+    }
+
+    private Path writeAll(ResultWriter.Format format, String name) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(name);
+        try (ResultWriter writer = ResultWriter.open(format, file)) {
+            writer.writeSCCs(sccResult);
+            writer.writeTopologicalOrder(topoResult);
+            writer.writeShortestPaths(shortest, 3);
+            writer.writeCriticalPath(critical);
+        }
+        return file;
+    }
+
+    @Test
+    public void testJsonStreamsAllSections() throws Exception {
+        JsonNode root = new ObjectMapper().readTree(writeAll(ResultWriter.Format.JSON, "out.json").toFile());
+
+        assertEquals(sccResult.getSccs().size(), root.get("sccs").size());
+        assertEquals(topoResult.getTopologicalOrder().size(), root.get("topologicalOrder").size());
+        JsonNode distances = root.get("shortestPaths").get("distances");
+        for (int i = 0; i < shortest.getDistances().length; i++) {
+            if (shortest.getDistances()[i] == Integer.MAX_VALUE) {
+                assertTrue(distances.get(i).isNull());
+            } else {
+                assertEquals(shortest.getDistances()[i], distances.get(i).asInt());
+            }
+        }
+        assertEquals(critical.getMaxDistance(), root.get("criticalPath").get("length").asInt());
+        assertEquals("COMPLETE", root.get("status").asText());
+    }
+
+    @Test
+    public void testCsvRows() throws Exception {
+        List<String> lines = Files.readAllLines(writeAll(ResultWriter.Format.CSV, "out.csv"), StandardCharsets.UTF_8);
+
+        assertEquals("record,key,value", lines.get(0));
+        assertEquals(5, lines.stream().filter(l -> l.startsWith("scc,")).count());
+        assertTrue(lines.contains("source,,3"));
+        assertTrue(lines.contains("distance,3,0"));
+        assertTrue(lines.contains("critical_length,," + critical.getMaxDistance()));
+        assertEquals("status,,COMPLETE", lines.get(lines.size() - 1));
+    }
+
+    /** A complete SCC section followed by a timed-out topological order. */
+    private Path writePartial(ResultWriter.Format format, String name) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(name);
+        TopoResult partial = new TopoResult(topoResult.getTopologicalOrder().subList(0, 1), topoResult.getMetrics(),
+                AnalysisStatus.TIMED_OUT);
+        try (ResultWriter writer = ResultWriter.open(format, file)) {
+            writer.writeSCCs(sccResult);
+            writer.writeTopologicalOrder(partial);
+        }
+        return file;
+    }
+
+    @Test
+    public void testPartialResultsAreMarked() throws Exception {
+        Path json = writePartial(ResultWriter.Format.JSON, "partial.json");
+        Path csv = writePartial(ResultWriter.Format.CSV, "partial.csv");
+        Path binary = writePartial(ResultWriter.Format.BINARY, "partial.bin");
+
+        assertEquals("TIMED_OUT", new ObjectMapper().readTree(json.toFile()).get("status").asText());
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals("status,,TIMED_OUT", lines.get(lines.size() - 1));
+        byte[] bytes = Files.readAllBytes(binary);
+        assertEquals(BinaryResultWriter.TAG_STATUS, bytes[bytes.length - 5]);
+        assertEquals(AnalysisStatus.TIMED_OUT.ordinal(), bytes[bytes.length - 1]);
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws Exception {
+        Path file = writeAll(ResultWriter.Format.BINARY, "out.bin");
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            assertEquals(BinaryResultWriter.MAGIC, in.readInt());
+            assertEquals(BinaryResultWriter.TAG_SCCS, in.readByte());
+            int components = in.readInt();
+            assertEquals(sccResult.getSccs().size(), components);
+            for (List<Integer> scc : sccResult.getSccs()) {
+                assertEquals(scc.size(), in.readInt());
+                for (int vertex : scc) {
+                    assertEquals(vertex, in.readInt());
+                }
+            }
+            assertEquals(BinaryResultWriter.TAG_TOPO, in.readByte());
+            assertEquals(topoResult.getTopologicalOrder().size(), in.readInt());
+            for (int vertex : topoResult.getTopologicalOrder()) {
+                assertEquals(vertex, in.readInt());
+            }
+            assertEquals(BinaryResultWriter.TAG_SHORTEST, in.readByte());
+            assertEquals(3, in.readInt());
+            assertEquals(shortest.getDistances().length, in.readInt());
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package graph;
 
+import graph.model.CSRGraph;
+import graph.scc.ConnectedComponents;
+import graph.scc.KosarajuSCC;
+import graph.scc.PearceSCC;
+import graph.scc.SCCAlgorithm;
+import graph.scc.SCCResult;
+import graph.scc.SCCSelector;
 import graph.scc.TarjanSCC;
 import graph.topo.KahnsAlgorithm;
 import graph.dagsp.DAGShortestPath;
 import graph.model.Graph;
 import graph.model.Edge;
 import org.junit.Test;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import static org.junit.Assert.*;
 
 public class SCCTest {
@@ -226,6 +237,21 @@ public class SCCTest {
         assertEquals(condensationGraph.getVertexCount(), topoResult.getTopologicalOrder().size());
     }
 
+    @Test
+    public void testCondensationKeepsFirstParallelEdge() {
+        // Shortest paths run on the condensation, so the lighter first edge must not be replaced
+        Graph graph = new Graph(3, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 0, 1),
+                new Edge(0, 2, 1), new Edge(1, 2, 10)
+        ), true);
+
+        for (SCCAlgorithm engine : new SCCAlgorithm[]{new TarjanSCC(), new PearceSCC(), new KosarajuSCC()}) {
+            List<Edge> edges = engine.findSCCs(graph).getCondensationGraph().getEdges();
+            assertEquals(1, edges.size());
+            assertEquals(1, edges.get(0).getW());
+        }
+    }
+
     @Test
     public void testPerformanceMetrics() {
         Graph graph = new Graph(4, Arrays.asList(
@@ -243,4 +269,127 @@ public class SCCTest {
         assertTrue("Should record DFS visits", metrics.getOperationCount("DFS visits") > 0);
         assertTrue("Should record edge traversals", metrics.getOperationCount("Edge traversals") > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConnectedComponentsUndirected() {
+        Graph graph = new Graph(7, Arrays.asList(
+                new Edge(3, 1, 1), new Edge(1, 0, 1),
+                new Edge(5, 4, 1),
+                new Edge(2, 6, 1), new Edge(6, 2, 1)
+        ), false);
+
+        var result = new ConnectedComponents().findComponents(graph);
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 3), Arrays.asList(2, 6), Arrays.asList(4, 5)),
+                result.getSccs());
+        assertEquals(3, result.getCondensationGraph().getVertexCount());
+        assertTrue(result.getCondensationGraph().getEdges().isEmpty());
+    }
+
+    @Test
+    public void testParallelConnectedComponentsMatchTarjan() {
+        Random random = new Random(13);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            edges.add(new Edge(random.nextInt(80_000), random.nextInt(80_000), 1));
+        }
+        Graph graph = new Graph(80_000, edges, false);
+
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (List<Integer> scc : new TarjanSCC().findSCCs(graph).getSccs()) {
+            expected.add(new HashSet<>(scc));
+        }
+        Set<Set<Integer>> actual = new HashSet<>();
+        for (List<Integer> component : new ConnectedComponents(4).findComponents(graph).getSccs()) {
+            actual.add(new HashSet<>(component));
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static void assertSameComponents(Graph graph, SCCResult expected, SCCResult actual) {
+        assertEquals(expected.getSccs().size(), actual.getSccs().size());
+        Set<Set<Integer>> expectedSets = new HashSet<>();
+        for (List<Integer> scc : expected.getSccs()) {
+            expectedSets.add(new HashSet<>(scc));
+        }
+        Set<Set<Integer>> actualSets = new HashSet<>();
+        for (List<Integer> scc : actual.getSccs()) {
+            actualSets.add(new HashSet<>(scc));
+        }
+        assertEquals(expectedSets, actualSets);
+
+        // Shared contract: sinks first, so condensation edges run from higher to lower component ids
+        int[] componentOf = new int[graph.getVertexCount()];
+        for (int c = 0; c < actual.getSccs().size(); c++) {
+            for (int v : actual.getSccs().get(c)) {
+                componentOf[v] = c;
+            }
+        }
+        Set<List<Integer>> crossing = new HashSet<>();
+        for (Edge edge : graph.getEdges()) {
+            if (componentOf[edge.getU()] != componentOf[edge.getV()]) {
+                crossing.add(Arrays.asList(componentOf[edge.getU()], componentOf[edge.getV()]));
+            }
+        }
+        Graph condensation = actual.getCondensationGraph();
+        assertEquals(actual.getSccs().size(), condensation.getVertexCount());
+        Set<List<Integer>> condensed = new HashSet<>();
+        for (Edge edge : condensation.getEdges()) {
+            assertTrue(edge.getU() > edge.getV());
+            assertTrue("duplicate condensation edge", condensed.add(Arrays.asList(edge.getU(), edge.getV())));
+        }
+        assertEquals(crossing, condensed);
+    }
+
+    @Test
+    public void testEnginesAgreeOnRandomGraphs() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Random random = new Random(seed);
+            int n = 2_000;
+            List<Edge> edges = new ArrayList<>();
+            for (int i = 0; i < n * seed / 2; i++) {
+                edges.add(new Edge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(5)));
+            }
+            Graph graph = new Graph(n, edges, true);
+            SCCResult expected = new TarjanSCC().findSCCs(graph);
+
+            for (SCCAlgorithm engine : new SCCAlgorithm[]{new PearceSCC(), new KosarajuSCC(), new SCCSelector()}) {
+                assertSameComponents(graph, expected, engine.findSCCs(graph));
+                assertSameComponents(graph, expected, engine.findSCCs(CSRGraph.from(graph)));
+            }
+        }
+    }
+
+    @Test
+    public void testEnginesHandleDeepGraphs() {
+        // A 200k-vertex cycle with chords back down: one component, DFS depth of n
+        int n = 200_000;
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            edges.add(new Edge(v, (v + 1) % n, 1));
+            if (v % 7 == 0) {
+                edges.add(new Edge(v, v / 2, 1));
+            }
+        }
+        Graph graph = new Graph(n, edges, true);
+        for (SCCAlgorithm engine : new SCCAlgorithm[]{new TarjanSCC(), new PearceSCC(), new KosarajuSCC()}) {
+            SCCResult result = engine.findSCCs(graph);
+            assertEquals(1, result.getSccs().size());
+            assertEquals(n, result.getSccs().get(0).size());
+        }
+    }
+
+    @Test
+    public void testSelectorChoosesByBudget() {
+        assertTrue(new SCCSelector(0).choose(1_000, 5_000) instanceof TarjanSCC);
+        assertTrue(new SCCSelector(Long.MAX_VALUE).choose(1_000_000, 50_000_000) instanceof PearceSCC);
+        // 55 bytes per vertex: Pearce's worst case does not fit, a sparse graph's reverse CSR does
+        long budget = 2 * 55L * 1_000_000;
+        assertTrue(new SCCSelector(budget).choose(1_000_000, 1_500_000) instanceof KosarajuSCC);
+        assertTrue(new SCCSelector(budget).choose(1_000_000, 20_000_000) instanceof PearceSCC);
+
+        SCCSelector selector = new SCCSelector();
+        selector.findSCCs(new Graph(3, Arrays.asList(new Edge(0, 1, 1)), true));
+        assertTrue(selector.getLastChoice() instanceof TarjanSCC);
+    }
+}
@@ -0,0 +1,166 @@
+package graph;
+
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.shard.ShardedAnalyzer;
+import graph.shard.ShardedResult;
+import graph.topo.KahnsAlgorithm;
+import graph.util.AnalysisBudget;
+import graph.util.AnalysisStatus;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class ShardedAnalyzerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Set<Set<Integer>> componentSets(SCCResult result) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> scc : result.getSccs()) {
+            sets.add(new HashSet<>(scc));
+        }
+        return sets;
+    }
+
+    /** Condensation edge weights keyed by (smallest vertex of source, smallest vertex of target). */
+    private static Map<List<Integer>, Integer> condensationEdges(SCCResult result) {
+        Map<List<Integer>, Integer> edges = new HashMap<>();
+        for (Edge edge : result.getCondensationGraph().getEdges()) {
+            edges.put(Arrays.asList(Collections.min(result.getSccs().get(edge.getU())),
+                    Collections.min(result.getSccs().get(edge.getV()))), edge.getW());
+        }
+        return edges;
+    }
+
+    /** True if two edges between the same pair of components have different weights. */
+    private static boolean hasUnequalParallelEdges(Graph graph, SCCResult reference) {
+        int[] componentOf = new int[graph.getVertexCount()];
+        for (int c = 0; c < reference.getSccs().size(); c++) {
+            for (int v : reference.getSccs().get(c)) {
+                componentOf[v] = c;
+            }
+        }
+        Map<Long, Integer> weights = new HashMap<>();
+        for (Edge edge : graph.getEdges()) {
+            int a = componentOf[edge.getU()];
+            int b = componentOf[edge.getV()];
+            Integer previous = a == b ? null : weights.putIfAbsent(((long) a << 32) | b, edge.getW());
+            if (previous != null && previous != edge.getW()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertMatchesInMemory(Graph graph, ShardedResult result) {
+        SCCResult reference = new TarjanSCC().findSCCs(graph);
+        assertEquals(componentSets(reference), componentSets(result.getSccResult()));
+
+        // Sinks first, like the in-memory engines
+        for (Edge edge : result.getSccResult().getCondensationGraph().getEdges()) {
+            assertTrue(edge.getU() > edge.getV());
+        }
+        assertEquals(result.getSccResult().getSccs().size(), result.getTopoResult().getTopologicalOrder().size());
+
+        Map<List<Integer>, Integer> expectedEdges = condensationEdges(reference);
+        Map<List<Integer>, Integer> actualEdges = condensationEdges(result.getSccResult());
+        Graph condensation = reference.getCondensationGraph();
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(condensation).getTopologicalOrder();
+        CriticalPathResult expected = new DAGShortestPath().findCriticalPath(condensation, order);
+        if (!hasUnequalParallelEdges(graph, reference)) {
+            assertEquals(expectedEdges, actualEdges);
+            assertEquals(expected.getMaxDistance(), result.getCriticalPath().getMaxDistance());
+            return;
+        }
+        // Otherwise the shards keep the lightest weight and measure the critical path over the heaviest
+        assertEquals(expectedEdges.keySet(), actualEdges.keySet());
+        for (Map.Entry<List<Integer>, Integer> edge : actualEdges.entrySet()) {
+            assertTrue(edge.getValue() <= expectedEdges.get(edge.getKey()));
+        }
+        assertTrue(result.getCriticalPath().getMaxDistance() >= expected.getMaxDistance());
+    }
+
+    @Test
+    public void testThreadShardsMatchInMemoryAnalysis() throws Exception {
+        // Sparse enough that many SCCs span several shards
+        Graph graph = TestGraphs.randomGraph(3_000, 3_600, 1, 9, 21);
+        ShardedResult result = ShardedAnalyzer.threads(4, folder.getRoot().toPath()).analyze(graph);
+
+        assertMatchesInMemory(graph, result);
+        assertEquals(4, result.getShardCount());
+        assertTrue(result.getBoundaryEdges() > 0);
+        assertTrue(result.getBytesToWorkers() >= 3_600L * 12);
+        assertTrue(result.getBytesFromWorkers() > 0);
+        assertEquals(result.getBytesToWorkers() + result.getBytesFromWorkers(), result.getCommunicationBytes());
+    }
+
+    @Test
+    public void testCycleThroughEveryShardIsMerged() throws Exception {
+        List<Edge> edges = new ArrayList<>();
+        // Steps of 37 visit all 200 vertices before closing, hopping between shards on every edge
+        for (int v = 0; v < 200; v++) {
+            edges.add(new Edge(v, (v + 37) % 200, 1));
+        }
+        edges.add(new Edge(3, 200, 7));
+        Graph graph = new Graph(201, edges, true);
+        ShardedResult result = ShardedAnalyzer.threads(4, folder.getRoot().toPath()).analyze(graph);
+
+        assertMatchesInMemory(graph, result);
+        assertEquals(2, result.getSccResult().getSccs().size());
+        assertEquals(7, result.getCriticalPath().getMaxDistance());
+    }
+
+    @Test
+    public void testParallelEdgesKeepLightestAndHeaviest() throws Exception {
+        List<Edge> edges = new ArrayList<>();
+        // Two 3-cycles in different shards joined by three parallel edges, neither extreme first
+        for (int v = 0; v < 3; v++) {
+            edges.add(new Edge(v, (v + 1) % 3, 1));
+            edges.add(new Edge(6 + v, 6 + (v + 1) % 3, 1));
+        }
+        edges.add(new Edge(0, 6, 5));
+        edges.add(new Edge(1, 7, 9));
+        edges.add(new Edge(2, 8, 2));
+        Graph graph = new Graph(9, edges, true);
+        ShardedResult result = ShardedAnalyzer.threads(3, folder.getRoot().toPath()).analyze(graph);
+
+        SCCResult reference = new TarjanSCC().findSCCs(graph);
+        assertEquals(componentSets(reference), componentSets(result.getSccResult()));
+        // In memory the first edge weighs the pair; the shards keep the lightest and the heaviest
+        assertEquals(5, reference.getCondensationGraph().getEdges().get(0).getW());
+        assertEquals(2, result.getSccResult().getCondensationGraph().getEdges().get(0).getW());
+        assertEquals(9, result.getCriticalPath().getMaxDistance());
+    }
+
+    @Test
+    public void testCancelledBudgetStopsShards() throws Exception {
+        Graph graph = TestGraphs.randomGraph(3_000, 10_000, 1, 9, 8);
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        budget.cancel();
+        ShardedResult result = ShardedAnalyzer.threads(4, folder.getRoot().toPath()).withBudget(budget)
+                .analyze(graph);
+
+        assertFalse(result.isComplete());
+        assertEquals(AnalysisStatus.CANCELLED, result.getSccResult().getStatus());
+        assertTrue(result.getSccResult().getSccs().isEmpty());
+        assertTrue(result.getTopoResult().getTopologicalOrder().isEmpty());
+    }
+
+    @Test
+    public void testWorkerProcesses() throws Exception {
+        Graph graph = TestGraphs.randomGraph(1_000, 1_300, 1, 9, 5);
+        ShardedResult result = ShardedAnalyzer.processes(2, folder.getRoot().toPath())
+                .withJvmOptions("-Xmx128m").analyze(graph);
+
+        assertMatchesInMemory(graph, result);
+        assertTrue(result.getMetrics().getOperationCount("Bytes from workers") > 0);
+    }
+}
@@ -0,0 +1,43 @@
+package graph;
+
+import graph.model.Edge;
+import graph.model.Graph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Seeded random graphs shared by the engine tests. */
+final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /**
+     * m directed edges with uniform endpoints, so self-loops and parallel edges occur. Weights are uniform
+     * in [minWeight, maxWeight], as in {@link #randomDAG}.
+     */
+    static Graph randomGraph(int n, int m, int minWeight, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        List<Edge> edges = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            edges.add(new Edge(u, v, minWeight + random.nextInt(maxWeight - minWeight + 1)));
+        }
+        return new Graph(n, edges, true);
+    }
+
+    /** m edges u -> v with u < v, so ascending vertex order is a topological order. */
+    static Graph randomDAG(int n, int m, int minWeight, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        List<Edge> edges = new ArrayList<>(m);
+        while (edges.size() < m) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                edges.add(new Edge(u, v, minWeight + random.nextInt(maxWeight - minWeight + 1)));
+            }
+        }
+        return new Graph(n, edges, true);
+    }
+}
@@ -1,11 +1,23 @@
 package graph;
 
+import graph.dagsp.DAGShortestPath;
+import graph.util.IndexedMinHeap;
+import graph.topo.CycleDetector;
+import graph.topo.CyclicGraphException;
 import graph.topo.KahnsAlgorithm;
+import graph.topo.PriorityTopologicalSort;
+import graph.topo.TransitiveReduction;
 import graph.model.Graph;
 import graph.model.Edge;
 import org.junit.Test;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import static org.junit.Assert.*;
 
 public class TopologicalSortTest {
@@ -55,4 +67,208 @@ public class TopologicalSortTest {
 
         assertEquals(Arrays.asList(0), result.getTopologicalOrder());
     }
-}
\ No newline at end of file
+
+    private static void assertIsCycle(Graph graph, List<Integer> cycle) {
+        Set<Long> edges = new HashSet<>();
+        for (Edge edge : graph.getEdges()) {
+            edges.add(((long) edge.getU() << 32) | edge.getV());
+        }
+        assertFalse(cycle.isEmpty());
+        assertEquals("Cycle vertices should be distinct", cycle.size(), new HashSet<>(cycle).size());
+        for (int i = 0; i < cycle.size(); i++) {
+            long u = cycle.get(i);
+            long v = cycle.get((i + 1) % cycle.size());
+            assertTrue("Missing edge " + u + "->" + v, edges.contains((u << 32) | v));
+        }
+    }
+
+    @Test
+    public void testCycleWitnessReported() {
+        // Cycle 2->3->4->2 hangs off a DAG prefix and feeds vertex 5
+        Graph graph = new Graph(6, Arrays.asList(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(2, 3, 1),
+                new Edge(3, 4, 1),
+                new Edge(4, 2, 1),
+                new Edge(4, 5, 1)
+        ), true);
+
+        try {
+            new KahnsAlgorithm().topologicalSort(graph);
+            fail("Expected a cycle");
+        } catch (CyclicGraphException e) {
+            assertIsCycle(graph, e.getCycle());
+            assertEquals(new HashSet<>(Arrays.asList(2, 3, 4)), new HashSet<>(e.getCycle()));
+            assertEquals(4, e.getResidualVertexCount());
+        }
+    }
+
+    @Test
+    public void testIsDAGStopsAtBackEdge() {
+        CycleDetector detector = new CycleDetector();
+        assertTrue(detector.isDAG(new Graph(4, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(0, 2, 1), new Edge(1, 3, 1), new Edge(2, 3, 1)), true)));
+        assertFalse(detector.isDAG(new Graph(3, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(2, 1, 1)), true)));
+        assertFalse(detector.isDAG(new Graph(1, Arrays.asList(new Edge(0, 0, 1)), true)));
+    }
+
+    @Test
+    public void testFindCyclesBoundedAndShort() {
+        Graph graph = new Graph(9, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 0, 1),                     // 2-cycle
+                new Edge(2, 3, 1), new Edge(3, 4, 1), new Edge(4, 2, 1),  // 3-cycle
+                new Edge(5, 6, 1), new Edge(6, 7, 1), new Edge(7, 8, 1), new Edge(8, 5, 1),
+                new Edge(1, 2, 1), new Edge(4, 5, 1)
+        ), true);
+
+        CycleDetector detector = new CycleDetector();
+        List<List<Integer>> cycles = detector.findCycles(graph, 10);
+        assertEquals(3, cycles.size());
+        for (List<Integer> cycle : cycles) {
+            assertIsCycle(graph, cycle);
+        }
+        assertEquals(2, cycles.get(0).size());
+        assertEquals(1, detector.findCycles(graph, 1).size());
+        assertTrue(detector.findCycles(new Graph(3, Arrays.asList(new Edge(0, 1, 1)), true), 5).isEmpty());
+    }
+
+    @Test
+    public void testTransitiveReductionModes() {
+        Graph graph = new Graph(4, Arrays.asList(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(0, 2, 5), // Implied by 0->1->2 but longer than it
+                new Edge(2, 3, 1),
+                new Edge(0, 3, 1)  // Implied and shorter than 0->1->2->3
+        ), true);
+
+        var reachability = new TransitiveReduction(TransitiveReduction.Mode.REACHABILITY).reduce(graph);
+        assertEquals(3, reachability.getReducedEdgeCount());
+        assertEquals(2, reachability.getRemovedEdgeCount());
+
+        var safe = new TransitiveReduction(TransitiveReduction.Mode.LONGEST_PATH_SAFE).reduce(graph);
+        assertEquals(4, safe.getReducedEdgeCount());
+        assertFalse(safe.getReducedGraph().getEdges().stream().anyMatch(e -> e.getU() == 0 && e.getV() == 3));
+    }
+
+    @Test
+    public void testTransitiveReductionWhenRanksDifferFromIds() {
+        // Sinks-first numbering, as in a condensation: the order is 2, 1, 0
+        Graph graph = new Graph(3, Arrays.asList(
+                new Edge(2, 1, 5),
+                new Edge(1, 0, 5),
+                new Edge(2, 0, 1)  // Implied by 2->1->0 and shorter than it
+        ), true);
+
+        var safe = new TransitiveReduction(TransitiveReduction.Mode.LONGEST_PATH_SAFE).reduce(graph);
+        assertEquals(1, safe.getRemovedEdgeCount());
+        assertFalse(safe.getReducedGraph().getEdges().stream().anyMatch(e -> e.getU() == 2 && e.getV() == 0));
+    }
+
+    @Test
+    public void testTransitiveReductionPreservesReachabilityAndLongestPaths() {
+        Random random = new Random(21);
+        List<Edge> edges = new ArrayList<>();
+        int n = 120;
+        while (edges.size() < 900) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                edges.add(new Edge(u, v, random.nextInt(10) + 1));
+            }
+        }
+        Graph graph = new Graph(n, edges, true);
+        var order = new KahnsAlgorithm().topologicalSort(graph).getTopologicalOrder();
+
+        Graph minimal = new TransitiveReduction(TransitiveReduction.Mode.REACHABILITY)
+                .reduce(graph, order).getReducedGraph();
+        var safe = new TransitiveReduction(TransitiveReduction.Mode.LONGEST_PATH_SAFE).reduce(graph, order);
+        assertTrue(minimal.getEdges().size() <= safe.getReducedEdgeCount());
+        assertTrue(safe.getReducedEdgeCount() < edges.size());
+
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        for (int source = 0; source < n; source += 7) {
+            boolean[] expected = reachable(graph, source);
+            assertArrayEquals(expected, reachable(minimal, source));
+            assertArrayEquals(expected, reachable(safe.getReducedGraph(), source));
+        }
+        assertArrayEquals(pathFinder.findCriticalPath(graph, order).getDistances(),
+                pathFinder.findCriticalPath(safe.getReducedGraph(), order).getDistances());
+
+        // Minimality: dropping any remaining edge must lose reachability
+        for (Edge edge : minimal.getEdges()) {
+            List<Edge> without = new ArrayList<>(minimal.getEdges());
+            without.remove(edge);
+            assertFalse(reachable(new Graph(n, without, true), edge.getU())[edge.getV()]);
+        }
+    }
+
+    private static boolean[] reachable(Graph graph, int source) {
+        var adjacency = graph.getAdjacencyList();
+        boolean[] seen = new boolean[graph.getVertexCount()];
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(source);
+        seen[source] = true;
+        while (!stack.isEmpty()) {
+            for (int v : adjacency.get(stack.pop())) {
+                if (!seen[v]) {
+                    seen[v] = true;
+                    stack.push(v);
+                }
+            }
+        }
+        return seen;
+    }
+
+    @Test
+    public void testIndexedHeapPollsInKeyThenIdOrder() {
+        Random random = new Random(8);
+        IndexedMinHeap heap = new IndexedMinHeap(500);
+        long[] keys = new long[500];
+        for (int id = 0; id < 500; id++) {
+            keys[id] = random.nextInt(50);
+            heap.insert(id, keys[id]);
+        }
+        for (int id = 0; id < 500; id += 3) {
+            keys[id] = random.nextInt(50);
+            heap.update(id, keys[id]);
+        }
+        long previousKey = Long.MIN_VALUE;
+        int previousId = -1;
+        while (!heap.isEmpty()) {
+            int id = heap.poll();
+            assertFalse(heap.contains(id));
+            assertTrue(keys[id] > previousKey || (keys[id] == previousKey && id > previousId));
+            previousKey = keys[id];
+            previousId = id;
+        }
+    }
+
+    @Test
+    public void testPriorityTopologicalOrders() {
+        // 0 -> 3 (short branch), 1 -> 2 -> 4 (long branch), 3 -> 4
+        Graph graph = new Graph(5, Arrays.asList(
+                new Edge(0, 3, 1),
+                new Edge(1, 2, 10),
+                new Edge(2, 4, 10),
+                new Edge(3, 4, 1)
+        ), true);
+        PriorityTopologicalSort sorter = new PriorityTopologicalSort();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), sorter.topologicalSort(graph).getTopologicalOrder());
+        assertEquals(Arrays.asList(1, 2, 0, 3, 4), sorter.criticalFirst(graph).getTopologicalOrder());
+        // Custom priorities: favour vertex 3's branch
+        assertEquals(Arrays.asList(0, 3, 1, 2, 4),
+                sorter.topologicalSort(graph, new int[]{5, 0, 0, 5, 0}).getTopologicalOrder());
+    }
+
+    @Test(expected = CyclicGraphException.class)
+    public void testPriorityTopologicalSortRejectsCycles() {
+        Graph graph = new Graph(3, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(2, 0, 1)
+        ), true);
+        new PriorityTopologicalSort().topologicalSort(graph);
+    }
+}
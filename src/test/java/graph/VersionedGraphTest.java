@@ -0,0 +1,95 @@
+package graph;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.EditBatch;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.model.GraphSnapshot;
+import graph.model.VersionedGraph;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import org.junit.Test;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.*;
+
+public class VersionedGraphTest {
+
+    @Test
+    public void testEditsPublishNewVersionAndShareUntouchedBlocks() {
+        List<Edge> edges = new ArrayList<>();
+        for (int v = 0; v < 999; v++) {
+            edges.add(new Edge(v, v + 1, 1));
+        }
+        VersionedGraph graph = VersionedGraph.from(new Graph(1000, edges, true));
+        GraphSnapshot before = graph.snapshot();
+
+        GraphSnapshot after = graph.apply(new EditBatch()
+                .removeEdge(500, 501)
+                .addEdge(500, 501, 7)
+                .addEdge(999, 0, 1)
+                .addVertices(1)
+                .addEdge(1000, 3, 2));
+
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(1000, before.getVertexCount());
+        assertEquals(1001, after.getVertexCount());
+        assertEquals(999, before.getEdgeCount());
+        assertEquals(1001, after.getEdgeCount());
+        // Blocks 1 (500) and 3 (999) are rebuilt, 0 and 2 are shared
+        assertEquals(2, after.countSharedBlocks(before));
+
+        // The old snapshot still sees a DAG; the new one closed a cycle through 999 -> 0
+        assertEquals(1000, new TarjanSCC().findSCCs(before).getSccs().size());
+        assertEquals(2, new TarjanSCC().findSCCs(after).getSccs().size());
+    }
+
+    @Test
+    public void testReadersSeeConsistentSnapshotsWhileWriterPublishes() throws Exception {
+        final int n = 600;
+        VersionedGraph graph = new VersionedGraph(n);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // Version k holds exactly the chain 0 -> 1 -> ... -> k with unit weights
+        Thread writer = new Thread(() -> {
+            for (int v = 0; v < n - 1; v++) {
+                graph.apply(new EditBatch().addEdge(v, v + 1, 1));
+            }
+            done.set(true);
+        });
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            readers.add(new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        GraphSnapshot snapshot = graph.snapshot();
+                        int k = (int) snapshot.getVersion();
+                        assertEquals(k, snapshot.getEdgeCount());
+                        List<Integer> order = new KahnsAlgorithm().topologicalSort(snapshot).getTopologicalOrder();
+                        int[] dist = new DAGShortestPath().findShortestPaths(snapshot, order, 0).getDistances();
+                        assertEquals(k, dist[k]);
+                        if (k + 1 < n) {
+                            assertEquals(Integer.MAX_VALUE, dist[k + 1]);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        readers.forEach(Thread::start);
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(n - 1, graph.snapshot().getVersion());
+    }
+}
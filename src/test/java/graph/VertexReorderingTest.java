@@ -0,0 +1,102 @@
+package graph;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.reorder.Permutation;
+import graph.reorder.VertexReordering;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnsAlgorithm;
+import graph.util.AnalysisBudget;
+import graph.util.AnalysisStatus;
+import org.junit.Test;
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class VertexReorderingTest {
+
+    private static Graph sampleGraph() {
+        Graph graph = new Graph(8, Arrays.asList(
+                new Edge(5, 1, 1), new Edge(1, 5, 1), // Cycle: 1,5
+                new Edge(7, 3, 1), new Edge(3, 0, 1), new Edge(0, 7, 1), // Cycle: 0,3,7
+                new Edge(2, 6, 1),
+                new Edge(5, 7, 1),
+                new Edge(3, 2, 1)
+        ), true);
+        graph.setSource(5);
+        return graph;
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            sets.add(new HashSet<>(scc));
+        }
+        return sets;
+    }
+
+    @Test
+    public void testSCCsMapBackToOriginalIds() {
+        Graph graph = sampleGraph();
+        VertexReordering reordering = new VertexReordering();
+        Set<Set<Integer>> expected = asSets(new TarjanSCC().findSCCs(graph).getSccs());
+
+        for (VertexReordering.Strategy strategy : Arrays.asList(VertexReordering.Strategy.BFS,
+                VertexReordering.Strategy.REVERSE_CUTHILL_MCKEE, VertexReordering.Strategy.DEGREE)) {
+            Permutation permutation = reordering.compute(graph, strategy);
+            var result = new TarjanSCC().findSCCs(reordering.apply(graph, permutation));
+            assertEquals(strategy.name(), expected, asSets(permutation.toOriginal(result).getSccs()));
+        }
+    }
+
+    @Test
+    public void testTopologicalRelabellingAndPathMapping() {
+        Graph graph = new Graph(6, Arrays.asList(
+                new Edge(3, 1, 5),
+                new Edge(3, 4, 3),
+                new Edge(1, 0, 6),
+                new Edge(1, 2, 2),
+                new Edge(4, 0, 7),
+                new Edge(4, 2, 4),
+                new Edge(0, 5, 1),
+                new Edge(2, 5, 1)
+        ), true);
+        graph.setSource(3);
+
+        VertexReordering reordering = new VertexReordering();
+        Permutation permutation = reordering.compute(graph, VertexReordering.Strategy.TOPOLOGICAL);
+        Graph relabelled = reordering.apply(graph, permutation);
+        for (Edge edge : relabelled.getEdges()) {
+            assertTrue("Edges should point forward", edge.getU() < edge.getV());
+        }
+
+        List<Integer> order = new KahnsAlgorithm().topologicalSort(relabelled).getTopologicalOrder();
+        DAGShortestPath pathFinder = new DAGShortestPath();
+        var shortest = permutation.toOriginal(
+                pathFinder.findShortestPaths(relabelled, order, relabelled.getSource()));
+        assertArrayEquals(new int[]{10, 5, 7, 0, 3, 8}, shortest.getDistances());
+        assertEquals(1, shortest.getPredecessors()[2]);
+
+        var critical = permutation.toOriginal(pathFinder.findCriticalPath(relabelled, order));
+        assertEquals(12, critical.getMaxDistance());
+        assertEquals(Arrays.asList(3, 1, 0, 5), critical.getCriticalPath());
+    }
+
+    @Test
+    public void testMappingKeepsPartialStatus() {
+        Graph graph = sampleGraph();
+        VertexReordering reordering = new VertexReordering();
+        Permutation permutation = reordering.compute(graph, VertexReordering.Strategy.BFS);
+        AnalysisBudget budget = AnalysisBudget.unlimited();
+        budget.cancel();
+
+        SCCResult stopped = new TarjanSCC().withBudget(budget).findSCCs(reordering.apply(graph, permutation));
+        assertEquals(AnalysisStatus.CANCELLED, permutation.toOriginal(stopped).getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPermutationRejectsDuplicates() {
+        new Permutation(new int[]{0, 1, 1});
+    }
+}